@@ -0,0 +1,90 @@
+package com.eventmanager.bench;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.dto.EventoDtos.RestriccionesCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.service.EventoService;
+
+// Alta masiva (EventoService.crearLote) frente a la misma cantidad de crear() sueltos.
+// eventos/s = tamano * 1000 / ms_por_op
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class AltaMasivaBenchmark {
+
+  @Param({"100", "1000"})
+  public int tamano;
+
+  private ConfigurableApplicationContext ctx;
+  private EventoService eventoService;
+  private List<EventoCreate> lote;
+
+  @Setup(Level.Trial)
+  public void arrancar() {
+    ctx = ContextoH2.arrancar("benchalta" + tamano);
+    eventoService = ctx.getBean(EventoService.class);
+    var clientes = ctx.getBean(ClienteRepository.class);
+    List<Long> creadores = new ArrayList<>();
+    for (int i = 0; i < 10; i++) creadores.add(clientes.save(cliente("creador" + i)).getId());
+
+    lote = new ArrayList<>(tamano);
+    for (int i = 0; i < tamano; i++) {
+      lote.add(new EventoCreate(LocalDate.now().plusDays(1 + i % 365), LocalTime.NOON, "Barcelona",
+          new RestriccionesCreate("es", null, 50), List.of("bench"), "Bench " + i, "alta masiva",
+          creadores.get(i % creadores.size())));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void parar() {
+    ctx.close();
+  }
+
+  @Benchmark
+  public List<EventoView> crearLote() {
+    return eventoService.crearLote(lote);
+  }
+
+  @Benchmark
+  public int crearUnoAUno() {
+    for (EventoCreate req : lote) eventoService.crear(req);
+    return lote.size();
+  }
+
+  private static Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Bench");
+    c.setApellidos("Bench");
+    c.setUsername(username);
+    c.setCorreo(username + "@bench.local");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("x");
+    return c;
+  }
+}
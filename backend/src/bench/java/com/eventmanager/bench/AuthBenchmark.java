@@ -0,0 +1,71 @@
+package com.eventmanager.bench;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eventmanager.dto.AuthDtos.AuthResponse;
+import com.eventmanager.dto.AuthDtos.LoginRequest;
+import com.eventmanager.dto.AuthDtos.SignUpRequest;
+import com.eventmanager.service.AuthService;
+
+// AuthService.signUp/login completos (política, consultas, BCrypt en su pool y token) contra H2.
+// Con coste 4 el BCrypt casi no pesa y queda el resto; la diferencia con 10 es lo que cuesta el hash.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class AuthBenchmark {
+  private static final String PASSWORD = "Abc!1234";
+
+  @Param({"4", "10"})
+  public int strength;
+
+  private ConfigurableApplicationContext ctx;
+  private AuthService auth;
+  private final AtomicLong siguiente = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void arrancar() {
+    ctx = ContextoH2.arrancar("benchauth" + strength, "app.auth.bcrypt-strength=" + strength);
+    auth = ctx.getBean(AuthService.class);
+    auth.signUp(alta("existente"));
+  }
+
+  @TearDown(Level.Trial)
+  public void parar() {
+    ctx.close();
+  }
+
+  @Benchmark
+  public AuthResponse signUp() {
+    return auth.signUp(alta("u" + siguiente.incrementAndGet()));
+  }
+
+  @Benchmark
+  public AuthResponse login() {
+    return auth.login(new LoginRequest("existente", PASSWORD));
+  }
+
+  private static SignUpRequest alta(String username) {
+    return new SignUpRequest("Bench", "Bench", username, username + "@bench.local",
+        LocalDate.of(1990, 1, 1), "Barcelona", "es", PASSWORD);
+  }
+}
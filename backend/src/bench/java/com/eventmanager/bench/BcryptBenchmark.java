@@ -0,0 +1,50 @@
+package com.eventmanager.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Coste de un hash/verificación BCrypt según app.auth.bcrypt-strength.
+// Con el tiempo por operación y el nº de CPUs se dimensiona app.auth.hash.hilos/cola:
+// logins/s por nodo ≈ hilos * 1000 / ms_por_matches.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class BcryptBenchmark {
+
+  @Param({"8", "10", "12"})
+  public int strength;
+
+  private BCryptPasswordEncoder enc;
+  private String hash;
+
+  @Setup
+  public void preparar() {
+    enc = new BCryptPasswordEncoder(strength);
+    hash = enc.encode("Abc!1234");
+  }
+
+  @Benchmark
+  public String encode() {
+    return enc.encode("Abc!1234");
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return enc.matches("Abc!1234", hash);
+  }
+}
@@ -0,0 +1,67 @@
+package com.eventmanager.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eventmanager.service.IndiceInvertido;
+
+// Búsqueda en el IndiceInvertido (el motor sin Postgres) con eventos sintéticos: un término poco
+// frecuente, uno muy frecuente, un prefijo corto (expande a muchos términos) y dos términos.
+// En Postgres la misma búsqueda va por el índice GIN de la columna tsvector (IndicesPostgresIT).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class BusquedaTextoBenchmark {
+  private static final String[] TIPOS = {"concierto", "teatro", "exposición", "taller", "cine", "charla",
+      "festival", "mercado", "ruta", "torneo"};
+  private static final String[] TEMAS = {"jazz", "rock", "flamenco", "clásica", "fotografía", "cerámica",
+      "ajedrez", "vino", "cocina", "robótica", "poesía", "astronomía", "yoga", "historia", "cómic"};
+  private static final String[] LUGARES = {"Barcelona", "Girona", "Lleida", "Tarragona", "Madrid", "Valencia",
+      "Sevilla", "Bilbao", "Zaragoza", "Palma"};
+
+  @Param({"100000", "1000000"})
+  public int eventos;
+
+  @Param({"astronomía", "concierto", "co", "jazz barcelona"})
+  public String consulta;
+
+  private IndiceInvertido indice;
+  private List<String> terminos;
+
+  @Setup
+  public void preparar() {
+    var random = new Random(42);
+    indice = new IndiceInvertido();
+    for (int i = 0; i < eventos; i++) {
+      String tipo = TIPOS[random.nextInt(TIPOS.length)];
+      String tema = TEMAS[random.nextInt(TEMAS.length)];
+      // un código por evento: el vocabulario crece con la tabla, como con textos reales
+      String codigo = "ed" + Integer.toString(random.nextInt(Math.max(1, eventos / 10)), 36);
+      indice.anadir(i + 1, tipo + " de " + tema + " " + codigo,
+          "Una propuesta de " + tema + " para todos los públicos. " + TEMAS[random.nextInt(TEMAS.length)],
+          LUGARES[random.nextInt(LUGARES.length)], List.of(tema, tipo));
+    }
+    terminos = IndiceInvertido.terminos(consulta);
+  }
+
+  @Benchmark
+  public List<Long> buscar() {
+    return indice.buscar(terminos, 20);
+  }
+}
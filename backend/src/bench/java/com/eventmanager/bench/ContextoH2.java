@@ -0,0 +1,40 @@
+package com.eventmanager.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eventmanager.ViajesApplication;
+
+// Arranca la aplicación contra una H2 en memoria para los benchmarks (Tomcat en puerto libre,
+// porque SecurityConfig necesita contexto web).
+// Se pasan como argumentos de línea de comandos para que ganen a application.yml; los `extra`
+// ("clave=valor") sustituyen a los de por defecto.
+final class ContextoH2 {
+  private ContextoH2() {}
+
+  static ConfigurableApplicationContext arrancar(String nombreBd, String... extra) {
+    System.setProperty("spring.devtools.restart.enabled", "false");
+    Map<String, String> props = new LinkedHashMap<>();
+    props.put("spring.datasource.url", "jdbc:h2:mem:" + nombreBd + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+    props.put("spring.datasource.driver-class-name", "org.h2.Driver");
+    props.put("spring.datasource.username", "sa");
+    props.put("spring.datasource.password", "");
+    props.put("spring.datasource.hikari.maximum-pool-size", "16");
+    props.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+    props.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+    props.put("spring.jpa.properties.hibernate.type.preferred_json_mapper", "jackson");
+    props.put("spring.sql.init.mode", "never");
+    props.put("server.port", "0");
+    props.put("logging.level.root", "WARN");
+    for (String e : extra) {
+      int igual = e.indexOf('=');
+      props.put(e.substring(0, igual), e.substring(igual + 1));
+    }
+    String[] args = props.entrySet().stream()
+        .map(p -> "--" + p.getKey() + "=" + p.getValue()).toArray(String[]::new);
+    return new SpringApplicationBuilder(ViajesApplication.class).run(args);
+  }
+}
@@ -0,0 +1,115 @@
+package com.eventmanager.bench;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.service.EventoCache;
+import com.eventmanager.service.EventoService;
+
+// GET /api/events a nivel de servicio con 10k y 100k eventos en H2 (3 participantes por evento):
+// - listarSinCache: consulta + participantes por lotes + toView de todos
+// - listarEnCache: lo que cuesta con la caché caliente (si caben: app.cache.eventos.max-vistas)
+// - recorrer: el camino del export NDJSON (cursor + bloques de 500)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class EventoListadoBenchmark {
+  private static final int CLIENTES = 50;
+  private static final int PARTICIPANTES_POR_EVENTO = 3;
+
+  @Param({"10000", "100000"})
+  public int eventos;
+
+  private ConfigurableApplicationContext ctx;
+  private EventoService eventoService;
+  private EventoCache cache;
+
+  @Setup(Level.Trial)
+  public void arrancar() {
+    ctx = ContextoH2.arrancar("benchlistado" + eventos, "app.cache.eventos.max-vistas=" + eventos);
+    eventoService = ctx.getBean(EventoService.class);
+    cache = ctx.getBean(EventoCache.class);
+    sembrar(ctx.getBean(JdbcTemplate.class));
+  }
+
+  @TearDown(Level.Trial)
+  public void parar() {
+    ctx.close();
+  }
+
+  // Vacía la caché antes de cada llamada; solo lo usa listarSinCache
+  @State(Scope.Thread)
+  public static class CacheVacia {
+    @Setup(Level.Invocation)
+    public void vaciar(EventoListadoBenchmark b) {
+      b.cache.invalidarTodo();
+    }
+  }
+
+  @Benchmark
+  public List<EventoView> listarSinCache(CacheVacia vacia) {
+    return eventoService.listar();
+  }
+
+  @Benchmark
+  public List<EventoView> listarEnCache() {
+    return eventoService.listar();
+  }
+
+  @Benchmark
+  public void recorrer(Blackhole bh) {
+    eventoService.recorrer(bh::consume);
+  }
+
+  // Inserción directa por JDBC: con el servicio, sembrar 100k eventos tardaría más que medir
+  private void sembrar(JdbcTemplate jdbc) {
+    List<Object[]> clientes = new ArrayList<>();
+    for (int i = 1; i <= CLIENTES; i++) {
+      clientes.add(new Object[] {i, "Bench", "Bench", "bench" + i, "bench" + i + "@bench.local",
+          Date.valueOf(LocalDate.of(1990, 1, 1)), "x"});
+    }
+    jdbc.batchUpdate("INSERT INTO cliente (id, nombre, apellidos, username, correo, fecha_nacimiento, password_hash) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?)", clientes);
+
+    List<Object[]> filas = new ArrayList<>();
+    List<Object[]> apuntados = new ArrayList<>();
+    for (long id = 1; id <= eventos; id++) {
+      filas.add(new Object[] {id, Date.valueOf(LocalDate.of(2028, 1, 1).plusDays(id % 365)),
+          Time.valueOf(LocalTime.of(20, 0)), "Barcelona", "Evento " + id, "Bench",
+          (id % CLIENTES) + 1, 100, PARTICIPANTES_POR_EVENTO});
+      for (int p = 0; p < PARTICIPANTES_POR_EVENTO; p++) {
+        apuntados.add(new Object[] {((id + p) % CLIENTES) + 1, id});
+      }
+    }
+    jdbc.batchUpdate("INSERT INTO evento (id, fecha, hora, lugar, titulo, descripcion, id_creador, "
+        + "max_personas, num_participantes, tags, version) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ARRAY['bench'], 0)", filas);
+    jdbc.batchUpdate("INSERT INTO evento_cliente (cliente_id, evento_id) VALUES (?, ?)", apuntados);
+  }
+}
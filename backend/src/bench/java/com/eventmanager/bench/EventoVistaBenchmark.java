@@ -0,0 +1,59 @@
+package com.eventmanager.bench;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eventmanager.domain.Evento;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.service.EventoService;
+
+// Coste de EventoService.vista (entidad -> vista) sin base de datos, sobre un Evento en memoria
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class EventoVistaBenchmark {
+
+  @Param({"0", "10", "100"})
+  public int participantes;
+
+  private Evento evento;
+  private List<Long> ids;
+
+  @Setup
+  public void preparar() {
+    evento = new Evento();
+    evento.setId(1L);
+    evento.setFecha(LocalDate.of(2028, 6, 1));
+    evento.setHora(LocalTime.of(20, 0));
+    evento.setLugar("Barcelona");
+    evento.setRestricciones(new Evento.Restricciones("es,en", 18, 200));
+    evento.setTitulo("Concierto");
+    evento.setDescripcion("Bench");
+    evento.setIdCreador(1L);
+    evento.setTags(List.of("musica", "aire libre"));
+    ids = List.copyOf(LongStream.rangeClosed(1, participantes).boxed().toList());
+  }
+
+  @Benchmark
+  public EventoView vista() {
+    return EventoService.vista(evento, ids);
+  }
+}
@@ -0,0 +1,111 @@
+package com.eventmanager.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eventmanager.dto.AuthDtos.SignUpRequest;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.service.AuthService;
+import com.eventmanager.service.EventoService;
+
+// Latencia HTTP de GET /api/events y POST /api/auth/login con 1000 clientes concurrentes,
+// con Tomcat en hilos de plataforma (virtuales=false) o virtuales (virtuales=true).
+// SampleTime da los percentiles (p0.99 en el JSON). El pool de BD se deja en 2 como en Render;
+// BCrypt baja a coste 4 y la cola de hash se amplía para medir la pila web/JPA y no la CPU de BCrypt.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(1000)
+public class HilosVirtualesCargaBenchmark {
+
+  @Param({"false", "true"})
+  public boolean virtuales;
+
+  private ConfigurableApplicationContext ctx;
+  private ExecutorService ejecutorCliente;
+  private HttpClient http;
+  private HttpRequest eventos;
+  private HttpRequest login;
+
+  @Setup(Level.Trial)
+  public void arrancar() {
+    ctx = ContextoH2.arrancar("benchcarga" + virtuales,
+        "spring.threads.virtual.enabled=" + virtuales,
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "app.auth.bcrypt-strength=4",
+        "app.auth.hash.cola=2000",
+        "server.tomcat.accept-count=1000",
+        "server.tomcat.max-connections=2000");
+
+    var auth = ctx.getBean(AuthService.class);
+    Long creador = auth.signUp(new SignUpRequest("Carga", "Bench", "carga", "carga@bench.com",
+        LocalDate.of(1990, 1, 1), "BCN", "es", "Abc!1234")).userId();
+    var eventoService = ctx.getBean(EventoService.class);
+    for (int i = 0; i < 20; i++) {
+      eventoService.crear(new EventoCreate(LocalDate.of(2030, 1, 1).plusDays(i), LocalTime.NOON,
+          "Barcelona", null, List.of("bench"), "Evento " + i, "carga", creador));
+    }
+
+    String base = "http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+    ejecutorCliente = Executors.newVirtualThreadPerTaskExecutor();
+    http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+        .executor(ejecutorCliente).connectTimeout(Duration.ofSeconds(30)).build();
+    eventos = HttpRequest.newBuilder(URI.create(base + "/api/events")).GET().build();
+    login = HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString("{\"usernameOrEmail\":\"carga\",\"password\":\"Abc!1234\"}"))
+        .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void parar() {
+    http.close();
+    ejecutorCliente.close();
+    ctx.close();
+  }
+
+  @Benchmark
+  public int listarEventos() throws Exception {
+    return enviar(eventos);
+  }
+
+  @Benchmark
+  public int login() throws Exception {
+    return enviar(login);
+  }
+
+  private int enviar(HttpRequest req) throws Exception {
+    int status = http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+    if (status != 200) throw new IllegalStateException("HTTP " + status + " en " + req.uri());
+    return status;
+  }
+}
@@ -0,0 +1,99 @@
+package com.eventmanager.bench;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.service.EventoService;
+
+// Throughput de join+leave con 8 hilos. eventos=1 pone a todos los hilos a pelear por la misma
+// fila de evento (peor caso de contención); eventos=8 reparte un hilo por evento.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class ReservaPlazasBenchmark {
+
+  @Param({"1", "8"})
+  public int eventos;
+
+  private ConfigurableApplicationContext ctx;
+  private EventoService eventoService;
+  private final List<Long> eventoIds = new ArrayList<>();
+  private final List<Long> clienteIds = new ArrayList<>();
+  private final AtomicInteger siguiente = new AtomicInteger();
+
+  @Setup(Level.Trial)
+  public void arrancar() {
+    ctx = ContextoH2.arrancar("benchreservas" + eventos);
+    eventoService = ctx.getBean(EventoService.class);
+    var clientes = ctx.getBean(ClienteRepository.class);
+
+    Long creador = clientes.save(cliente("creador")).getId();
+    for (int i = 0; i < eventos; i++) {
+      eventoIds.add(eventoService.crear(new EventoCreate(
+          LocalDate.now().plusDays(30), LocalTime.NOON, "Barcelona", null, List.of("bench"),
+          "Bench " + i, "sin límite de plazas", creador)).id());
+    }
+    for (int i = 0; i < 64; i++) clienteIds.add(clientes.save(cliente("bench" + i)).getId());
+  }
+
+  @TearDown(Level.Trial)
+  public void parar() {
+    ctx.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Hilo {
+    EventoAdd peticion;
+
+    @Setup(Level.Trial)
+    public void asignar(ReservaPlazasBenchmark b) {
+      int n = b.siguiente.getAndIncrement();
+      peticion = new EventoAdd(b.eventoIds.get(n % b.eventoIds.size()), b.clienteIds.get(n));
+    }
+  }
+
+  @Benchmark
+  public Object unirseYSalir(Hilo hilo) {
+    eventoService.addParticipante(hilo.peticion);
+    return eventoService.removeParticipante(hilo.peticion);
+  }
+
+  private static Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Bench");
+    c.setApellidos("Bench");
+    c.setUsername(username);
+    c.setCorreo(username + "@bench.local");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("x");
+    return c;
+  }
+}
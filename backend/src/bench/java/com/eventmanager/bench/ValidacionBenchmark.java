@@ -0,0 +1,69 @@
+package com.eventmanager.bench;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.hibernate.exception.SQLGrammarException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+
+import com.eventmanager.config.SecurityConfig;
+import com.eventmanager.service.errors.SqlErrorDetails;
+
+// Microbenchmarks sin contexto: la regex de política de contraseñas (válida, inválida y una
+// larga que obliga a recorrer los lookaheads) y SqlErrorDetails.from sobre errores típicos.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ValidacionBenchmark {
+  private static final Pattern POLITICA = Pattern.compile(SecurityConfig.PASSWORD_REGEX);
+
+  @State(Scope.Benchmark)
+  public static class Password {
+    @Param({"Abc!1234", "abcdefgh", "abcdefghijklmnopqrstuvwxyz0123456789abcdefghijklmnopqrstuvwxyz"})
+    public String valor;
+  }
+
+  @State(Scope.Benchmark)
+  public static class ErrorSql {
+    @Param({"COLUMN_NOT_FOUND", "SQL_SYNTAX_ERROR", "SCHEMA_MISMATCH"})
+    public String tipo;
+
+    RuntimeException excepcion;
+
+    @Setup
+    public void preparar() {
+      SQLException raiz = switch (tipo) {
+        case "COLUMN_NOT_FOUND" -> new SQLException("ERROR: column \"edad_minima\" does not exist\n  Position: 42", "42703");
+        case "SQL_SYNTAX_ERROR" -> new SQLException("ERROR: syntax error at or near \"FROM\"", "42601");
+        default -> new SQLException("ERROR: column \"tags\" is of type text[] but expression is of type bytea", "42804");
+      };
+      // Envuelta como la entrega Spring Data: excepción de Spring -> Hibernate -> SQLException
+      excepcion = new InvalidDataAccessResourceUsageException("could not execute statement",
+          new SQLGrammarException("could not execute statement", raiz));
+    }
+  }
+
+  @Benchmark
+  public boolean politicaPassword(Password p) {
+    return POLITICA.matcher(p.valor).matches();
+  }
+
+  @Benchmark
+  public SqlErrorDetails.Parsed sqlErrorDetails(ErrorSql e) {
+    return SqlErrorDetails.from(e.excepcion);
+  }
+}
@@ -0,0 +1,89 @@
+package com.eventmanager.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// DataSource con un semáforo justo delante del pool: como mucho `permisos` hilos dentro de JDBC
+// a la vez. Con hilos virtuales, miles de peticiones piden conexión a la vez; los drivers (H2,
+// y partes de pgjdbc/Hikari) usan `synchronized`, que fija el hilo virtual a su carrier. Así los
+// que esperan quedan aparcados en el semáforo (sin fijar carrier) y en orden FIFO.
+public class ConexionesAcotadasDataSource extends DelegatingDataSource {
+  private final Semaphore permisos;
+  private final long esperaMs;
+
+  public ConexionesAcotadasDataSource(DataSource destino, int permisos, Duration espera) {
+    super(destino);
+    this.permisos = new Semaphore(permisos, true);
+    this.esperaMs = espera.toMillis();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    adquirir();
+    return conPermiso(() -> super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    adquirir();
+    return conPermiso(() -> super.getConnection(username, password));
+  }
+
+  // Conexiones en espera de permiso (útil para ver si el pool se queda corto)
+  public int enEspera() {
+    return permisos.getQueueLength();
+  }
+
+  private void adquirir() throws SQLException {
+    try {
+      if (!permisos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+            "Sin conexión libre tras " + esperaMs + " ms (" + permisos.getQueueLength() + " en espera)");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrumpido esperando conexión", ex);
+    }
+  }
+
+  private interface Apertura { Connection abrir() throws SQLException; }
+
+  // El permiso se devuelve al cerrar la conexión (una sola vez aunque close() se repita)
+  private Connection conPermiso(Apertura apertura) throws SQLException {
+    Connection real;
+    try {
+      real = apertura.abrir();
+    } catch (SQLException | RuntimeException ex) {
+      permisos.release();
+      throw ex;
+    }
+    AtomicBoolean cerrada = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, (proxy, metodo, args) -> {
+          if ("close".equals(metodo.getName()) && metodo.getParameterCount() == 0) {
+            try {
+              real.close();
+            } finally {
+              if (cerrada.compareAndSet(false, true)) permisos.release();
+            }
+            return null;
+          }
+          try {
+            return metodo.invoke(real, args);
+          } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+          }
+        });
+  }
+}
@@ -0,0 +1,34 @@
+package com.eventmanager.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Modo hilos virtuales (spring.threads.virtual.enabled=true, VIRTUAL_THREADS_ENABLED):
+// Tomcat atiende cada petición en un hilo virtual y el DataSource se envuelve con un semáforo
+// del tamaño del pool de Hikari para que las esperas de conexión no fijen carriers.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class HilosVirtualesConfig {
+
+  @Bean
+  static BeanPostProcessor conexionesAcotadas() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari) {
+          return new ConexionesAcotadasDataSource(hikari, hikari.getMaximumPoolSize(),
+              Duration.ofMillis(hikari.getConnectionTimeout()));
+        }
+        return bean;
+      }
+    };
+  }
+}
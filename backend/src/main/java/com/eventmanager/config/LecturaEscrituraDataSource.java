@@ -0,0 +1,114 @@
+package com.eventmanager.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Las transacciones de solo lectura (@Transactional(readOnly = true) y las lecturas de los
+// repositorios de Spring Data fuera de otra transacción) van a la réplica si RetrasoReplica la da
+// por buena; todo lo demás, a la primaria. Va detrás de un LazyConnectionDataSourceProxy: la
+// conexión real se pide en la primera sentencia, cuando ya se sabe si la transacción es readOnly.
+class LecturaEscrituraDataSource extends AbstractRoutingDataSource {
+  enum Destino { PRIMARIA, REPLICA }
+
+  private static final Pattern ESCRITURA =
+      Pattern.compile("^\\s*(insert|update|delete|merge)\\b", Pattern.CASE_INSENSITIVE);
+
+  private final RetrasoReplica retraso;
+
+  LecturaEscrituraDataSource(DataSource primaria, DataSource replica, RetrasoReplica retraso) {
+    this.retraso = retraso;
+    setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+    setDefaultTargetDataSource(primaria);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return retraso.replicaAlDia() ? Destino.REPLICA : Destino.PRIMARIA;
+    }
+    return Destino.PRIMARIA;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return vigilar(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return vigilar(super.getConnection(username, password));
+  }
+
+  // Las conexiones de escritura apuntan la escritura solo si de verdad llegan a mandar un
+  // INSERT/UPDATE/DELETE/MERGE: una transacción que solo lee (o el despachador del outbox cuando
+  // no hay mensajes) no aparta las lecturas de la réplica.
+  private Connection vigilar(Connection real) {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return real;
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, (proxy, metodo, args) -> {
+          String nombre = metodo.getName();
+          if ((nombre.equals("prepareStatement") || nombre.equals("prepareCall")) && escribe(args[0])) {
+            registrarEscritura();
+          }
+          Object r = invocar(metodo, real, args);
+          return nombre.equals("createStatement") ? vigilar((Statement) r) : r;
+        });
+  }
+
+  // Sentencias sin preparar (JdbcTemplate.update/batchUpdate sin parámetros)
+  private Statement vigilar(Statement real) {
+    return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+        new Class<?>[] { Statement.class }, (proxy, metodo, args) -> {
+          String nombre = metodo.getName();
+          if ((nombre.startsWith("execute") || nombre.equals("addBatch")) && args != null && escribe(args[0])) {
+            registrarEscritura();
+          }
+          return invocar(metodo, real, args);
+        });
+  }
+
+  private static Object invocar(Method metodo, Object real, Object[] args) throws Throwable {
+    try {
+      return metodo.invoke(real, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private static boolean escribe(Object sql) {
+    return sql instanceof String s && ESCRITURA.matcher(s).find();
+  }
+
+  // Se apunta al confirmar, una vez por transacción; si se deshace no cuenta. Sin transacción
+  // (autocommit, poco habitual aquí) se apunta al mandar la sentencia, que es aproximado.
+  private void registrarEscritura() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      retraso.alEscribir();
+      return;
+    }
+    for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+      if (s instanceof AlConfirmar) return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new AlConfirmar());
+  }
+
+  private final class AlConfirmar implements TransactionSynchronization {
+    @Override
+    public void afterCommit() {
+      retraso.alEscribir();
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.eventmanager.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+
+// Activa @Observed en los servicios: cada método público publica el timer
+// servicio{class,method,error} en /actuator/prometheus.
+@Configuration
+public class ObservabilidadConfig {
+
+  @Bean
+  ObservedAspect observedAspect(ObservationRegistry registry) {
+    return new ObservedAspect(registry);
+  }
+}
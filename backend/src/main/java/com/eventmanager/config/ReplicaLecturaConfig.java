@@ -0,0 +1,80 @@
+package com.eventmanager.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Réplica de lectura (APP_DATASOURCE_REPLICA_URL). Sin esa propiedad no se crea nada y Spring Boot
+// monta el DataSource único de siempre. Con ella hay dos pools de Hikari, la primaria
+// (spring.datasource.*, donde corre Flyway) y la réplica, y el DataSource que usan JPA y JdbcTemplate
+// los reparte según la transacción sea de solo lectura (ver LecturaEscrituraDataSource).
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaLecturaConfig {
+
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties("spring.datasource.hikari")
+  DataSource primaria(DataSourceProperties props) {
+    var ds = props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    ds.setPoolName("primaria");
+    return ds;
+  }
+
+  @Bean
+  DataSource replica(DataSourceProperties props,
+                     @Value("${app.datasource.replica.url}") String url,
+                     @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String usuario,
+                     @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String clave,
+                     @Value("${app.datasource.replica.pool-size:${DB_POOL_SIZE:2}}") int conexiones) {
+    var ds = new HikariDataSource();
+    ds.setPoolName("replica");
+    ds.setJdbcUrl(url);
+    ds.setUsername(usuario);
+    ds.setPassword(clave);
+    if (props.getDriverClassName() != null) ds.setDriverClassName(props.getDriverClassName());
+    ds.setMaximumPoolSize(conexiones);
+    ds.setMinimumIdle(1);
+    ds.setReadOnly(true);
+    // Si la réplica no responde enseguida es mejor ir a la primaria que esperar
+    ds.setConnectionTimeout(5000);
+    ds.setInitializationFailTimeout(-1);
+    return ds;
+  }
+
+  @Bean
+  RetrasoReplica retrasoReplica(@Qualifier("primaria") DataSource primaria, @Qualifier("replica") DataSource replica,
+                                @Value("${app.datasource.replica.max-retraso:PT5S}") Duration maxRetraso,
+                                @Value("${app.datasource.replica.comprobar-cada:PT1S}") Duration intervalo,
+                                MeterRegistry registry) {
+    var retraso = new RetrasoReplica(primaria, replica, maxRetraso, intervalo);
+    Gauge.builder("db.replica.retraso", retraso, RetrasoReplica::retrasoMs)
+        .description("Retraso de la réplica en ms en la última comprobación (-1 si no responde)")
+        .baseUnit("milliseconds")
+        .register(registry);
+    return retraso;
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(@Qualifier("primaria") DataSource primaria, @Qualifier("replica") DataSource replica,
+                        RetrasoReplica retraso) {
+    return new LazyConnectionDataSourceProxy(new LecturaEscrituraDataSource(primaria, replica, retraso));
+  }
+}
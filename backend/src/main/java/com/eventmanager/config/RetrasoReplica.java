@@ -0,0 +1,116 @@
+package com.eventmanager.config;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+// Decide si las lecturas pueden ir a la réplica. Cada `intervalo` escribe un latido (la hora de
+// esta instancia en ms) en su propia fila de replica_latido_instancia de la primaria y lee esa
+// misma fila en la réplica.
+// La réplica se usa solo si:
+//   - la última comprobación es reciente y funcionó,
+//   - el retraso medido (ahora - latido visto en la réplica) no pasa de maxRetraso,
+//   - y el latido visto es posterior a la última escritura confirmada en esta instancia: la réplica
+//     aplica los commits en orden, así que ya la tiene (leer lo que uno acaba de escribir).
+// Cada instancia solo mira su fila, así que ambas horas salen de su reloj aunque haya varias: no
+// depende de que los servidores estén en hora.
+public class RetrasoReplica implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(RetrasoReplica.class);
+  private static final long CADUCIDAD_MS = Duration.ofDays(1).toMillis();
+
+  private final JdbcTemplate primaria;
+  private final JdbcTemplate replica;
+  private final long maxRetrasoMs;
+  private final long intervaloMs;
+  private final String instancia = UUID.randomUUID().toString();
+  private final ScheduledExecutorService programador;
+  private final AtomicLong ultimaEscritura = new AtomicLong();
+  private volatile Medida medida = new Medida(-1, -1, 0);
+
+  // latido: el último visto en la réplica; -1 si no se pudo leer
+  private record Medida(long latido, long retrasoMs, long instante) {}
+
+  public RetrasoReplica(DataSource primaria, DataSource replica, Duration maxRetraso, Duration intervalo) {
+    this.primaria = new JdbcTemplate(primaria);
+    this.replica = new JdbcTemplate(replica);
+    this.maxRetrasoMs = maxRetraso.toMillis();
+    this.intervaloMs = intervalo.toMillis();
+    this.programador = Executors.newSingleThreadScheduledExecutor(r -> {
+      var hilo = new Thread(r, "retraso-replica");
+      hilo.setDaemon(true);
+      return hilo;
+    });
+  }
+
+  @PostConstruct
+  void iniciar() {
+    // Las filas de instancias paradas hace más de un día ya no las lee nadie
+    try {
+      primaria.update("DELETE FROM replica_latido_instancia WHERE instante < ?",
+          System.currentTimeMillis() - CADUCIDAD_MS);
+    } catch (DataAccessException ex) {
+      log.warn("No se pudieron borrar los latidos antiguos: {}", ex.getMessage());
+    }
+    programador.scheduleWithFixedDelay(this::comprobar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+  }
+
+  public void comprobar() {
+    long ahora = System.currentTimeMillis();
+    try {
+      // Solo esta instancia escribe su fila: no hay carrera entre el UPDATE y el INSERT
+      if (primaria.update("UPDATE replica_latido_instancia SET instante = ? WHERE instancia = ?", ahora, instancia) == 0) {
+        primaria.update("INSERT INTO replica_latido_instancia (instancia, instante) VALUES (?, ?)", instancia, ahora);
+      }
+    } catch (DataAccessException ex) {
+      log.warn("No se pudo escribir el latido en la primaria: {}", ex.getMessage());
+    }
+    try {
+      var vistos = replica.queryForList(
+          "SELECT instante FROM replica_latido_instancia WHERE instancia = ?", Long.class, instancia);
+      long fin = System.currentTimeMillis();
+      medida = vistos.isEmpty() ? new Medida(-1, -1, fin) : new Medida(vistos.get(0), Math.max(0, fin - vistos.get(0)), fin);
+    } catch (DataAccessException ex) {
+      if (medida.latido() >= 0) log.warn("Réplica no disponible, las lecturas van a la primaria: {}", ex.getMessage());
+      medida = new Medida(-1, -1, System.currentTimeMillis());
+    }
+  }
+
+  public boolean replicaAlDia() {
+    var m = medida;
+    return m.latido() >= 0
+        && System.currentTimeMillis() - m.instante() <= 3 * intervaloMs
+        && m.retrasoMs() <= maxRetrasoMs
+        && m.latido() >= ultimaEscritura.get();
+  }
+
+  // Retraso de la última comprobación en ms; -1 si la réplica no responde
+  public long retrasoMs() {
+    return medida.retrasoMs();
+  }
+
+  // Clave de la fila de latido de esta instancia
+  public String instancia() {
+    return instancia;
+  }
+
+  void alEscribir() {
+    ultimaEscritura.accumulateAndGet(System.currentTimeMillis(), Math::max);
+  }
+
+  @Override
+  public void close() {
+    programador.shutdownNow();
+  }
+}
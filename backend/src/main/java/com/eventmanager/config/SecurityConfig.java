@@ -3,16 +3,27 @@ package com.eventmanager.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.eventmanager.service.TokenService;
+
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 public class SecurityConfig {
@@ -22,17 +33,48 @@ public static final String PASSWORD_REGEX =
   @Value("${app.cors.allowed-origins:}")
   private String allowedOrigins;
 
+  // Usernames con permisos de administración (export), separados por comas
+  @Value("${app.admin.usernames:}")
+  private String adminUsernames;
+
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokens) throws Exception {
     http
       .csrf(csrf -> csrf.disable())
       .cors(cors -> cors.configurationSource(corsConfigurationSource()))
-      .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+      .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+      .addFilterBefore(new TokenAuthFilter(tokens, admins()), UsernamePasswordAuthenticationFilter.class)
+      .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+      .authorizeHttpRequests(auth -> auth
+        // las respuestas en streaming terminan en un dispatch ASYNC; ya se autorizó la petición original
+        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+        // health queda abierto para el balanceador; métricas y prometheus solo para admins
+        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+        .requestMatchers("/actuator/**").hasRole("ADMIN")
+        .requestMatchers("/api/events/my-events", "/api/events/my-created-events", "/api/events/eligible",
+                         "/api/events/near-me", "/api/events/join/batch", "/api/events/leave/batch",
+                         "/api/events/bulk", "/api/events/join", "/api/events/leave",
+                         "/api/events/waitlist/join", "/api/events/waitlist/leave")
+            .authenticated()
+        .requestMatchers(HttpMethod.POST, "/api/events").authenticated()
+        .requestMatchers(HttpMethod.POST, "/api/series", "/api/series/join", "/api/series/leave").authenticated()
+        .anyRequest().permitAll());
     return http.build();
   }
 
+  private Set<String> admins() {
+    if (adminUsernames == null || adminUsernames.isBlank()) return Set.of();
+    return Arrays.stream(adminUsernames.split(",")).map(String::trim).filter(u -> !u.isEmpty())
+        .map(String::toLowerCase).collect(Collectors.toUnmodifiableSet());
+  }
+
+  // Coste de BCrypt configurable (cada +1 duplica el tiempo); los hashes existentes guardan
+  // su propio coste, así que cambiarlo solo afecta a contraseñas nuevas
   @Bean
-  public PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(); }
+  public PasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt-strength:10}") int strength) {
+    return new BCryptPasswordEncoder(strength);
+  }
 
   @Bean
   public CorsConfigurationSource corsConfigurationSource() {
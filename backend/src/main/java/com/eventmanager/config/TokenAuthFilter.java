@@ -0,0 +1,47 @@
+package com.eventmanager.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.eventmanager.service.TokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Verifica el "Authorization: Bearer <token>" una vez por petición y deja el usuario en el
+// SecurityContext. Un token inválido no corta la petición: los endpoints públicos siguen
+// funcionando y los protegidos responden 401 al no haber autenticación.
+// Los usernames de `admins` reciben ROLE_ADMIN (endpoints /api/admin/**).
+public class TokenAuthFilter extends OncePerRequestFilter {
+  private static final List<SimpleGrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+  private final TokenService tokens;
+  private final Set<String> admins;
+
+  public TokenAuthFilter(TokenService tokens, Set<String> admins) {
+    this.tokens = tokens;
+    this.admins = admins;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String header = request.getHeader("Authorization");
+    if (header != null && header.startsWith("Bearer ")) {
+      tokens.verificar(header.substring(7)).ifPresent(usuario -> {
+        var roles = admins.contains(usuario.username().toLowerCase()) ? ADMIN : List.<SimpleGrantedAuthority>of();
+        var auth = new UsernamePasswordAuthenticationToken(usuario, null, roles);
+        SecurityContextHolder.getContext().setAuthentication(auth);
+      });
+    }
+    chain.doFilter(request, response);
+  }
+}
@@ -0,0 +1,66 @@
+package com.eventmanager.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Punto WGS84 y la rejilla con que se indexa en SQL sin PostGIS: celdas de TAM_CELDA grados,
+// numeradas por filas (latitud) y dentro de cada fila por columnas (longitud). Así las celdas
+// de una fila que toca un círculo son un rango contiguo y la búsqueda por radio es un BETWEEN
+// por fila sobre el índice de geo_celda. No cambiar TAM_CELDA sin recalcular la columna.
+public record Coordenadas(double latitud, double longitud) {
+  static final double TAM_CELDA = 0.1;   // ~11 km de latitud
+  private static final long COLUMNAS = Math.round(360 / TAM_CELDA);
+  private static final double RADIO_TIERRA_KM = 6371.0;
+  private static final double KM_POR_GRADO = Math.PI * RADIO_TIERRA_KM / 180;
+
+  public Coordenadas {
+    if (!(latitud >= -90 && latitud <= 90) || !(longitud >= -180 && longitud <= 180)) {
+      throw new IllegalArgumentException("Coordenadas fuera de rango: " + latitud + ", " + longitud);
+    }
+  }
+
+  public long celda() {
+    return fila(latitud) * COLUMNAS + columna(longitud);
+  }
+
+  // Distancia de círculo máximo (haversine)
+  public double distanciaKm(Coordenadas otro) {
+    double dLat = Math.toRadians(otro.latitud - latitud);
+    double dLon = Math.toRadians(otro.longitud - longitud);
+    double a = Math.pow(Math.sin(dLat / 2), 2)
+        + Math.cos(Math.toRadians(latitud)) * Math.cos(Math.toRadians(otro.latitud)) * Math.pow(Math.sin(dLon / 2), 2);
+    return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+
+  // Rectángulo que contiene el círculo de radioKm; no cruza el antimeridiano (se recorta en ±180)
+  public Caja caja(double radioKm) {
+    double dLat = radioKm / KM_POR_GRADO;
+    double latMin = Math.max(-90, latitud - dLat);
+    double latMax = Math.min(90, latitud + dLat);
+    // La longitud se estrecha con el coseno: se usa el de la latitud más alejada del ecuador
+    double cos = Math.cos(Math.toRadians(Math.max(Math.abs(latMin), Math.abs(latMax))));
+    double dLon = cos < 1e-6 ? 180 : Math.min(180, radioKm / (KM_POR_GRADO * cos));
+    return new Caja(latMin, latMax, Math.max(-180, longitud - dLon), Math.min(180, longitud + dLon));
+  }
+
+  public record Caja(double latMin, double latMax, double lonMin, double lonMax) {
+    // Rangos [desde, hasta] de celdas que cubren la caja: uno por fila de la rejilla
+    public List<long[]> rangosCeldas() {
+      long colMin = columna(lonMin);
+      long colMax = columna(lonMax);
+      List<long[]> rangos = new ArrayList<>();
+      for (long f = fila(latMin); f <= fila(latMax); f++) {
+        rangos.add(new long[] {f * COLUMNAS + colMin, f * COLUMNAS + colMax});
+      }
+      return rangos;
+    }
+  }
+
+  private static long fila(double latitud) {
+    return Math.min(Math.round(180 / TAM_CELDA) - 1, (long) Math.floor((latitud + 90) / TAM_CELDA));
+  }
+
+  private static long columna(double longitud) {
+    return Math.min(COLUMNAS - 1, (long) Math.floor((longitud + 180) / TAM_CELDA));
+  }
+}
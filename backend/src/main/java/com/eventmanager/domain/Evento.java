@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -20,7 +21,11 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -28,8 +33,12 @@ import jakarta.validation.constraints.NotNull;
 @Table(name = "evento")
 public class Evento {
 
+  // Secuencia con reserva de 50 ids por consulta (pooled): con IDENTITY Hibernate no puede agrupar
+  // los INSERT en batch. El default de la columna tira de la misma secuencia para los INSERT por SQL.
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_seq")
+  @SequenceGenerator(name = "evento_seq", sequenceName = "evento_seq", allocationSize = 50)
+  @ColumnDefault("nextval('evento_seq')")
   private Long id;
 
   @NotNull
@@ -66,6 +75,41 @@ public class Evento {
   @Column(name = "id_creador")
   private Long idCreador;
 
+  // Copia en columnas planas de las restricciones JSON, solo para poder filtrar en SQL.
+  // La fuente de verdad sigue siendo "restricciones"; se sincronizan en setRestricciones/@PrePersist.
+  @Column(name = "idiomas_permitidos")
+  private String idiomasPermitidos;
+
+  @Column(name = "edad_minima")
+  private Integer edadMinima;
+
+  @Column(name = "max_personas")
+  private Integer maxPersonas;
+
+  // idiomas_permitidos como máscara de bits (ver Idiomas); null = cualquier idioma
+  @Column(name = "idiomas_mask")
+  private Long idiomasMask;
+
+  // Coordenadas geocodificadas de "lugar" (ver Gazetteer) y su celda de la rejilla (ver
+  // Coordenadas), que es lo que se indexa; null si el lugar no está en el nomenclátor
+  private Double latitud;
+  private Double longitud;
+
+  @Column(name = "geo_celda")
+  private Long geoCelda;
+
+  // Contador de participantes: se fija al insertar y luego solo lo cambian los UPDATE atómicos
+  // de EventoRepository (reservarPlaza/liberarPlaza), por eso no es actualizable desde la entidad.
+  @ColumnDefault("0")
+  @Column(name = "num_participantes", nullable = false, updatable = false)
+  private int numParticipantes;
+
+  // Bloqueo optimista; los UPDATE nativos de plazas también lo incrementan
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
   public Evento() {}
 
   // Getters/Setters
@@ -82,7 +126,10 @@ public class Evento {
   public void setLugar(String lugar) { this.lugar = lugar; }
 
   public Restricciones getRestricciones() { return restricciones; }
-  public void setRestricciones(Restricciones restricciones) { this.restricciones = restricciones; }
+  public void setRestricciones(Restricciones restricciones) {
+    this.restricciones = restricciones;
+    sincronizarRestricciones();
+  }
 
   public String getTitulo() { return titulo; }
   public void setTitulo(String titulo) { this.titulo = titulo; }
@@ -101,6 +148,39 @@ public class Evento {
   public List<String> getTags() { return tags; }
   public void setTags(List<String> tags) { this.tags = tags; }
 
+  public String getIdiomasPermitidos() { return idiomasPermitidos; }
+  public Integer getEdadMinima() { return edadMinima; }
+  public Integer getMaxPersonas() { return maxPersonas; }
+  public Long getIdiomasMask() { return idiomasMask; }
+
+  public Double getLatitud() { return latitud; }
+  public Double getLongitud() { return longitud; }
+  public Long getGeoCelda() { return geoCelda; }
+  public void setCoordenadas(Coordenadas c) {
+    this.latitud = c != null ? c.latitud() : null;
+    this.longitud = c != null ? c.longitud() : null;
+    this.geoCelda = c != null ? c.celda() : null;
+  }
+
+  public int getNumParticipantes() { return numParticipantes; }
+
+  public Long getVersion() { return version; }
+
+  @PrePersist
+  void alInsertar() {
+    this.numParticipantes = participantes.size();
+    sincronizarRestricciones();
+  }
+
+  @PreUpdate
+  void sincronizarRestricciones() {
+    var r = this.restricciones;
+    this.idiomasPermitidos = r != null ? r.getIdiomas_permitidos() : null;
+    this.edadMinima = r != null ? r.getEdad_minima() : null;
+    this.maxPersonas = r != null ? r.getMax_personas() : null;
+    this.idiomasMask = Idiomas.mascara(this.idiomasPermitidos);
+  }
+
   // ---------- JSON POJO ----------
   // Importante: SIN @Embeddable y SIN @Column en sus campos
   public static class Restricciones {
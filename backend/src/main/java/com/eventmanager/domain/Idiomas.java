@@ -0,0 +1,50 @@
+package com.eventmanager.domain;
+
+import java.util.List;
+import java.util.Locale;
+
+// Máscara de bits de idiomas para filtrar por idioma en SQL con un AND de bits en vez de LIKE
+// sobre la lista "es,en". Un bit por idioma del catálogo (los del frontend, más catalán); los
+// demás comparten OTROS y para ellos se compara la lista de texto.
+// No reordenar ni quitar códigos: las máscaras ya guardadas dependen de la posición.
+public final class Idiomas {
+  private static final List<String> CATALOGO = List.of("es", "en", "fr", "de", "it", "pt", "ru", "ca");
+  public static final long OTROS = 1L << 62;
+
+  private Idiomas() {}
+
+  // Máscara de una lista separada por comas; null si no hay restricción de idioma
+  public static Long mascara(String idiomasPermitidos) {
+    if (idiomasPermitidos == null || idiomasPermitidos.isBlank()) return null;
+    long mascara = 0;
+    for (String idioma : idiomasPermitidos.split(",")) {
+      mascara |= bit(idioma);
+    }
+    return mascara == 0 ? null : mascara;
+  }
+
+  // Bit de un idioma: el suyo si está en el catálogo, OTROS si no, 0 si viene vacío
+  public static long bit(String idioma) {
+    String codigo = normalizar(idioma);
+    if (codigo.isEmpty()) return 0;
+    int i = CATALOGO.indexOf(codigo);
+    return i >= 0 ? 1L << i : OTROS;
+  }
+
+  // Misma comparación que hace el SQL: sin restricción admite cualquiera
+  public static boolean admite(String idiomasPermitidos, String idioma) {
+    Long mascara = mascara(idiomasPermitidos);
+    long bit = bit(idioma);
+    if (mascara == null || bit == 0) return true;
+    if (bit != OTROS) return (mascara & bit) != 0;
+    String buscado = normalizar(idioma);
+    for (String permitido : idiomasPermitidos.split(",")) {
+      if (normalizar(permitido).equals(buscado)) return true;
+    }
+    return false;
+  }
+
+  public static String normalizar(String idioma) {
+    return idioma == null ? "" : idioma.replace(" ", "").toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,142 @@
+package com.eventmanager.domain;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+// Evento recurrente: una sola fila con la regla (RRULE reducida, ver ReglaRecurrencia).
+// Las ocurrencias no se guardan; se calculan para la ventana de fechas que se consulta.
+// Los participantes se apuntan a la serie entera.
+@Entity
+@Table(name = "serie_evento")
+public class SerieEvento {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @NotBlank
+  private String titulo;
+
+  private String descripcion;
+
+  @NotBlank
+  private String lugar;
+
+  @NotNull
+  private LocalTime hora;
+
+  private List<String> tags = new ArrayList<>();
+
+  @Column(name = "idiomas_permitidos")
+  private String idiomasPermitidos;
+
+  @Column(name = "edad_minima")
+  private Integer edadMinima;
+
+  @Column(name = "max_personas")
+  private Integer maxPersonas;
+
+  @Column(name = "id_creador")
+  private Long idCreador;
+
+  @NotNull
+  @Column(name = "fecha_inicio")
+  private LocalDate fechaInicio;
+
+  // Última ocurrencia según COUNT/UNTIL; null si no tiene fin. Sirve para descartar series
+  // que no tocan la ventana sin expandirlas.
+  @Column(name = "fecha_fin")
+  private LocalDate fechaFin;
+
+  @NotBlank
+  private String regla;
+
+  @ElementCollection
+  @CollectionTable(name = "serie_cliente", joinColumns = @JoinColumn(name = "serie_id"))
+  @Column(name = "cliente_id")
+  private Set<Long> participantes = new HashSet<>();
+
+  // Lo mantienen los UPDATE condicionales de SerieEventoRepository (reservarPlaza/liberarPlaza),
+  // como evento.num_participantes; por eso no es actualizable desde la entidad
+  @ColumnDefault("0")
+  @Column(name = "num_participantes", nullable = false, updatable = false)
+  private int numParticipantes;
+
+  // Sube con cada alta/baja de participante (la suben los UPDATE de plazas)
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
+  public SerieEvento() {}
+
+  public Long getId() { return id; }
+  public void setId(Long id) { this.id = id; }
+
+  public String getTitulo() { return titulo; }
+  public void setTitulo(String titulo) { this.titulo = titulo; }
+
+  public String getDescripcion() { return descripcion; }
+  public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
+
+  public String getLugar() { return lugar; }
+  public void setLugar(String lugar) { this.lugar = lugar; }
+
+  public LocalTime getHora() { return hora; }
+  public void setHora(LocalTime hora) { this.hora = hora; }
+
+  public List<String> getTags() { return tags; }
+  public void setTags(List<String> tags) { this.tags = tags; }
+
+  public String getIdiomasPermitidos() { return idiomasPermitidos; }
+  public void setIdiomasPermitidos(String idiomasPermitidos) { this.idiomasPermitidos = idiomasPermitidos; }
+
+  public Integer getEdadMinima() { return edadMinima; }
+  public void setEdadMinima(Integer edadMinima) { this.edadMinima = edadMinima; }
+
+  public Integer getMaxPersonas() { return maxPersonas; }
+  public void setMaxPersonas(Integer maxPersonas) { this.maxPersonas = maxPersonas; }
+
+  public Long getIdCreador() { return idCreador; }
+  public void setIdCreador(Long idCreador) { this.idCreador = idCreador; }
+
+  public LocalDate getFechaInicio() { return fechaInicio; }
+  public void setFechaInicio(LocalDate fechaInicio) { this.fechaInicio = fechaInicio; }
+
+  public LocalDate getFechaFin() { return fechaFin; }
+  public void setFechaFin(LocalDate fechaFin) { this.fechaFin = fechaFin; }
+
+  public String getRegla() { return regla; }
+  public void setRegla(String regla) { this.regla = regla; }
+
+  public Set<Long> getParticipantes() { return participantes; }
+
+  public int getNumParticipantes() { return numParticipantes; }
+
+  public Long getVersion() { return version; }
+
+  @PrePersist
+  void alInsertar() {
+    this.numParticipantes = participantes.size();
+  }
+}
@@ -11,4 +11,6 @@ public class AuthDtos {
       @NotBlank String password) {}
   public static record LoginRequest(@NotBlank String usernameOrEmail, @NotBlank String password) {}
   public static record AuthResponse(String token, Long userId, String username) {}
+  // Identidad sacada del token (principal de Spring Security), sin consultar la BD
+  public static record UsuarioAutenticado(Long id, String username) {}
 }
@@ -4,6 +4,8 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class EventoDtos {
 
   // payload para crear (match EXACTO con tu JSON)
@@ -16,7 +18,12 @@ public class EventoDtos {
       String titulo,
       String descripcion,
       Long idCreador
-  ) {}
+  ) {
+    // El mismo evento con el creador que dice el token, no el del cuerpo
+    public EventoCreate conCreador(Long creador) {
+      return new EventoCreate(fecha, hora, lugar, restricciones, tags, titulo, descripcion, creador);
+    }
+  }
 
   public static record RestriccionesCreate(
       String idiomaRequerido,
@@ -25,18 +32,100 @@ public class EventoDtos {
   ) {}
 
   // View (podemos dejarlo plano para compatibilidad)
+  // Las ocurrencias de una serie recurrente llevan id null e idSerie con la serie.
+  // Los listados la devuelven compacta (ver compacta): sin participantesIds, con numParticipantes
+  // y unido (si el usuario que pregunta está apuntado; null sin token). ?vista=completa da la lista.
   public static record EventoView(
       Long id, LocalDate fecha, LocalTime hora, String lugar,
       String idiomasPermitidos, Integer edadMinima, Integer maxPersonas,
-      String titulo, String descripcion, Long idCreador, List<String> tags, List<Long> participantesIds
-  ) {}
+      String titulo, String descripcion, Long idCreador, List<String> tags,
+      @JsonInclude(JsonInclude.Include.NON_NULL) List<Long> participantesIds,
+      Long idSerie,
+      int numParticipantes,
+      @JsonInclude(JsonInclude.Include.NON_NULL) Boolean unido
+  ) {
+    public EventoView compacta(Long visor) {
+      Boolean apuntado = unido;
+      if (visor != null && participantesIds != null) apuntado = participantesIds.contains(visor);
+      return new EventoView(id, fecha, hora, lugar, idiomasPermitidos, edadMinima, maxPersonas, titulo,
+          descripcion, idCreador, tags, null, idSerie, numParticipantes, apuntado);
+    }
+  }
 
   public static record EventoAdd(
           Long idEvento,
           Long idParticipante
-  ) {}
+  ) {
+    public EventoAdd conParticipante(Long participante) {
+      return new EventoAdd(idEvento, participante);
+    }
+  }
   public static record EventoRemove(
           Long idEvento,
           Long idParticipante
   ) {}
+
+  // Resultado de cada par de un join/leave por lote. resultado: OK, YA_APUNTADO, NO_APUNTADO,
+  // EVENTO_COMPLETO, NO_ELEGIBLE, EVENTO_NO_ENCONTRADO, CLIENTE_NO_ENCONTRADO, DUPLICADO o DATOS_INCOMPLETOS
+  public static record ResultadoLote(
+      Long idEvento,
+      Long idParticipante,
+      String resultado,
+      String error
+  ) {}
+
+  // Filtros de GET /api/events/search (todos opcionales)
+  public static record EventoFiltro(
+      LocalDate desde,
+      LocalDate hasta,
+      String lugar,
+      List<String> tags,
+      String idioma,
+      Integer edad,        // edad del asistente: descarta eventos con edad_minima mayor
+      String texto         // busca en titulo y descripcion
+  ) {}
+
+  // Resultado de GET /api/events/near: el evento, dónde está y a cuántos km del centro pedido
+  public static record EventoCercano(
+      EventoView evento,
+      double latitud,
+      double longitud,
+      double distanciaKm
+  ) {}
+
+  // Página de resultados; siguienteCursor es null cuando no hay más
+  public static record EventoPagina(
+      List<EventoView> eventos,
+      String siguienteCursor
+  ) {}
+
+  // GET /api/events/{id}/participants: ids por orden creciente; total es el de todo el evento
+  public static record ParticipantesPagina(
+      List<Long> ids,
+      int total,
+      String siguienteCursor
+  ) {}
+
+  // Situación de un cliente respecto a un evento completo. estado: APUNTADO (había plaza y ya está
+  // dentro), EN_ESPERA (posicion 1 = el siguiente en entrar) o FUERA; enEspera es el total de la cola.
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static record PuestoEspera(
+      Long idEvento,
+      Long idParticipante,
+      String estado,
+      Integer posicion,
+      int enEspera
+  ) {}
+
+  // Cambio del feed GET /api/events/changes (SSE). tipo: "creado" (con la vista compacta del
+  // evento), "participantes" (contador tras joins/leaves) o "desbordado" (el suscriptor se ha
+  // quedado atrás y se han descartado cambios: hay que recargar el listado).
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static record CambioEvento(
+      String tipo,
+      Long idEvento,
+      Integer numParticipantes,
+      Integer maxPersonas,
+      EventoView evento
+  ) {}
 }
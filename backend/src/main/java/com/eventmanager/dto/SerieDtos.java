@@ -0,0 +1,41 @@
+package com.eventmanager.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.eventmanager.dto.EventoDtos.RestriccionesCreate;
+
+public class SerieDtos {
+
+  // Igual que EventoCreate, con la fecha de la primera ocurrencia y la regla
+  // (p.ej. "FREQ=WEEKLY;BYDAY=TU,TH;COUNT=20", ver ReglaRecurrencia)
+  public static record SerieCreate(
+      LocalDate fechaInicio,
+      LocalTime hora,
+      String lugar,
+      RestriccionesCreate restricciones,
+      List<String> tags,
+      String titulo,
+      String descripcion,
+      Long idCreador,
+      String regla
+  ) {
+    // La misma serie con el creador que dice el token, no el del cuerpo
+    public SerieCreate conCreador(Long creador) {
+      return new SerieCreate(fechaInicio, hora, lugar, restricciones, tags, titulo, descripcion, creador, regla);
+    }
+  }
+
+  // fechaFin: última ocurrencia, null si la serie no termina
+  public static record SerieView(
+      Long id, LocalDate fechaInicio, LocalDate fechaFin, String regla, LocalTime hora, String lugar,
+      String idiomasPermitidos, Integer edadMinima, Integer maxPersonas,
+      String titulo, String descripcion, Long idCreador, List<String> tags, List<Long> participantesIds
+  ) {}
+
+  public static record SerieAdd(
+      Long idSerie,
+      Long idParticipante
+  ) {}
+}
@@ -3,13 +3,48 @@ package com.eventmanager.repository;
 
 import com.eventmanager.domain.Cliente;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
-  boolean existsByUsernameIgnoreCase(String username);
-  boolean existsByCorreoIgnoreCase(String correo);
-  Optional<Cliente> findByUsernameIgnoreCase(String username);
-  Optional<Cliente> findByCorreoIgnoreCase(String correo);
+  // Comparaciones con lower() explícito (los *IgnoreCase derivados usan upper()) para que
+  // coincidan con los índices funcionales lower(username)/lower(correo) de las migraciones
+  @Query("SELECT COUNT(c) > 0 FROM Cliente c WHERE lower(c.username) = lower(:username)")
+  boolean existsByUsernameIgnoreCase(@Param("username") String username);
+
+  @Query("SELECT COUNT(c) > 0 FROM Cliente c WHERE lower(c.correo) = lower(:correo)")
+  boolean existsByCorreoIgnoreCase(@Param("correo") String correo);
+
+  @Query("SELECT c FROM Cliente c WHERE lower(c.username) = lower(:username)")
+  Optional<Cliente> findByUsernameIgnoreCase(@Param("username") String username);
+
+  @Query("SELECT c FROM Cliente c WHERE lower(c.correo) = lower(:correo)")
+  Optional<Cliente> findByCorreoIgnoreCase(@Param("correo") String correo);
+
+  // Cuáles de estos ids existen, en una sola consulta
+  @Query("SELECT c.id FROM Cliente c WHERE c.id IN :ids")
+  List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+  // Datos para comprobar restricciones de edad e idioma sin cargar la entidad
+  @Query("SELECT c.id AS id, c.fechaNacimiento AS fechaNacimiento, c.idioma AS idioma FROM Cliente c WHERE c.id = :id")
+  Optional<PerfilCliente> findPerfil(@Param("id") Long id);
+
+  @Query("SELECT c.id AS id, c.fechaNacimiento AS fechaNacimiento, c.idioma AS idioma FROM Cliente c WHERE c.id IN :ids")
+  List<PerfilCliente> findPerfiles(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT c.ciudad FROM Cliente c WHERE c.id = :id")
+  Optional<String> findCiudad(@Param("id") Long id);
+
   Optional<Cliente> findByCorreo(String correo);
   Optional<Cliente> findByUsername(String username);
+
+  interface PerfilCliente {
+    Long getId();
+    LocalDate getFechaNacimiento();
+    String getIdioma();
+  }
 }
@@ -2,13 +2,22 @@ package com.eventmanager.repository;
 
 import com.eventmanager.domain.Evento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EventoRepository extends JpaRepository<Evento, Long> {
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
+public interface EventoRepository extends JpaRepository<Evento, Long>, JpaSpecificationExecutor<Evento> {
   
   @Query("SELECT e FROM Evento e JOIN e.participantes p WHERE p.id = :clienteId ORDER BY e.fecha ASC, e.hora ASC")
   List<Evento> findEventosByParticipanteId(@Param("clienteId") Long clienteId);
@@ -16,7 +25,140 @@ public interface EventoRepository extends JpaRepository<Evento, Long> {
   // No necesita @Query
   List<Evento> findByIdCreadorOrderByFechaAscHoraAsc(Long idCreador);
 
-  // Cargar evento con participantes para operaciones de agregar/remover
-  @Query("SELECT e FROM Evento e LEFT JOIN FETCH e.participantes WHERE e.id = :id")
-  Optional<Evento> findByIdWithParticipantes(@Param("id") Long id);
+  // Recorre todos los eventos con un cursor del driver (hay que consumirlo dentro de una
+  // transacción y cerrarlo). El fetch size hace que Postgres mande las filas por bloques.
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("SELECT e FROM Evento e ORDER BY e.id")
+  Stream<Evento> streamAllOrderById();
+
+  // Restricciones de un evento para comprobarlas en el join; vacío si no existe
+  @Query("SELECT e.edadMinima AS edadMinima, e.idiomasPermitidos AS idiomasPermitidos FROM Evento e WHERE e.id = :id")
+  Optional<RestriccionesEvento> findRestricciones(@Param("id") Long eventoId);
+
+  // Reserva una plaza solo si queda sitio. El UPDATE bloquea la fila del evento, así que
+  // los joins concurrentes al mismo evento se serializan y nunca se supera max_personas.
+  // Se limpia el contexto de persistencia para no devolver después un Evento con el contador viejo.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(value = "UPDATE evento SET num_participantes = num_participantes + 1, version = version + 1 "
+      + "WHERE id = :id AND (max_personas IS NULL OR num_participantes < max_personas)", nativeQuery = true)
+  int reservarPlaza(@Param("id") Long eventoId);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(value = "UPDATE evento SET num_participantes = num_participantes - 1, version = version + 1 "
+      + "WHERE id = :id AND num_participantes > 0", nativeQuery = true)
+  int liberarPlaza(@Param("id") Long eventoId);
+
+  // Usa la PK (evento_id, cliente_id) de evento_cliente; no carga el set de participantes
+  @Query(value = "SELECT EXISTS (SELECT 1 FROM evento_cliente WHERE evento_id = :eventoId AND cliente_id = :clienteId)",
+         nativeQuery = true)
+  boolean existsParticipante(@Param("eventoId") Long eventoId, @Param("clienteId") Long clienteId);
+
+  @Modifying
+  @Query(value = "INSERT INTO evento_cliente (evento_id, cliente_id) VALUES (:eventoId, :clienteId)", nativeQuery = true)
+  int insertParticipante(@Param("eventoId") Long eventoId, @Param("clienteId") Long clienteId);
+
+  @Modifying
+  @Query(value = "DELETE FROM evento_cliente WHERE evento_id = :eventoId AND cliente_id = :clienteId", nativeQuery = true)
+  int deleteParticipante(@Param("eventoId") Long eventoId, @Param("clienteId") Long clienteId);
+
+  // Lista de espera (migración V12). turno crece con cada alta, así que la cola de un evento es
+  // su rango en el índice (evento_id, turno).
+  @Modifying
+  @Query(value = "INSERT INTO lista_espera (evento_id, cliente_id, creado) VALUES (:eventoId, :clienteId, CURRENT_TIMESTAMP)",
+         nativeQuery = true)
+  int insertEspera(@Param("eventoId") Long eventoId, @Param("clienteId") Long clienteId);
+
+  @Modifying
+  @Query(value = "DELETE FROM lista_espera WHERE evento_id = :eventoId AND cliente_id = :clienteId", nativeQuery = true)
+  int deleteEspera(@Param("eventoId") Long eventoId, @Param("clienteId") Long clienteId);
+
+  @Query(value = "SELECT cliente_id FROM lista_espera WHERE evento_id = :eventoId ORDER BY turno LIMIT 1",
+         nativeQuery = true)
+  Optional<Long> findPrimeroEnEspera(@Param("eventoId") Long eventoId);
+
+  // 1 = el siguiente en entrar; 0 si no está en la lista
+  @Query(value = "SELECT COUNT(*) FROM lista_espera WHERE evento_id = :eventoId AND turno <= "
+      + "(SELECT turno FROM lista_espera WHERE evento_id = :eventoId AND cliente_id = :clienteId)", nativeQuery = true)
+  int findPosicionEspera(@Param("eventoId") Long eventoId, @Param("clienteId") Long clienteId);
+
+  @Query(value = "SELECT COUNT(*) FROM lista_espera WHERE evento_id = :eventoId", nativeQuery = true)
+  int countEspera(@Param("eventoId") Long eventoId);
+
+  // Ids de participantes de varios eventos en una sola consulta (evita un SELECT por evento)
+  @Query(value = "SELECT evento_id AS eventoId, cliente_id AS clienteId FROM evento_cliente WHERE evento_id IN (:ids)",
+         nativeQuery = true)
+  List<ParticipanteIds> findParticipanteIdsByEventoIds(@Param("ids") Collection<Long> ids);
+
+  // Página de participantes de un evento por keyset sobre cliente_id (índice (evento_id, cliente_id))
+  @Query(value = "SELECT cliente_id FROM evento_cliente WHERE evento_id = :eventoId AND cliente_id > :desde "
+      + "ORDER BY cliente_id LIMIT :limite", nativeQuery = true)
+  List<Long> findParticipantesDesde(@Param("eventoId") Long eventoId, @Param("desde") long desde,
+                                    @Param("limite") int limite);
+
+  @Query("SELECT e.numParticipantes FROM Evento e WHERE e.id = :id")
+  Optional<Integer> findNumParticipantes(@Param("id") Long eventoId);
+
+  // Participaciones existentes entre unos eventos y unos clientes (para operaciones por lote)
+  @Query(value = "SELECT evento_id AS eventoId, cliente_id AS clienteId FROM evento_cliente "
+      + "WHERE evento_id IN (:eventoIds) AND cliente_id IN (:clienteIds)", nativeQuery = true)
+  List<ParticipanteIds> findParticipaciones(@Param("eventoIds") Collection<Long> eventoIds,
+                                            @Param("clienteIds") Collection<Long> clienteIds);
+
+  // Bloquea las filas de varios eventos a la vez, siempre en orden de id para que dos lotes
+  // (o un lote y un join suelto) no se bloqueen mutuamente en orden distinto
+  @Query(value = "SELECT id, max_personas AS maxPersonas, num_participantes AS numParticipantes, "
+      + "edad_minima AS edadMinima, idiomas_permitidos AS idiomasPermitidos "
+      + "FROM evento WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+  List<PlazasEvento> bloquearPlazas(@Param("ids") Collection<Long> ids);
+
+  // Lo mismo sin bloquear: contadores actuales para el feed de cambios
+  @Query(value = "SELECT id, max_personas AS maxPersonas, num_participantes AS numParticipantes, "
+      + "edad_minima AS edadMinima, idiomas_permitidos AS idiomasPermitidos "
+      + "FROM evento WHERE id IN (:ids)", nativeQuery = true)
+  List<PlazasEvento> findPlazas(@Param("ids") Collection<Long> ids);
+
+  // Búsqueda de texto en Postgres (columna generada `busqueda` + GIN, migración V8), ver BuscadorTexto.
+  // ts_rank usa los pesos por campo del tsvector (título A, tags B, lugar C, descripción D).
+  @Query(value = "SELECT e.id FROM evento e, to_tsquery('simple', :consulta) q WHERE e.busqueda @@ q "
+      + "ORDER BY ts_rank(e.busqueda, q) DESC, e.id LIMIT :limite", nativeQuery = true)
+  List<Long> buscarTexto(@Param("consulta") String consulta, @Param("limite") int limite);
+
+  // Cambia con cada alta o baja de eventos (no con los joins): para saber si el índice en memoria
+  // de BuscadorTexto está al día
+  @Query(value = "SELECT CONCAT(COUNT(*), '-', COALESCE(MAX(id), 0)) FROM evento", nativeQuery = true)
+  String selloAltas();
+
+  // Sello del listado general: suma de las ranuras de sello_eventos (V13), que sube Outbox en cada
+  // escritura. Coste fijo, no depende del nº de eventos.
+  @Query(value = "SELECT CAST(COALESCE(SUM(version), 0) AS VARCHAR(20)) FROM sello_eventos", nativeQuery = true)
+  String selloListado();
+
+  // Sellos de los listados de un usuario: nº de eventos, id máximo y suma de `version` (que sube en
+  // cada join/leave) de sus eventos. Van por índice (PK de evento_cliente, ix_evento_creador_fecha),
+  // así que cuestan lo que tenga el usuario, no la tabla.
+
+  @Query(value = "SELECT CONCAT(COUNT(*), '-', COALESCE(MAX(e.id), 0), '-', COALESCE(SUM(e.version), 0)) "
+      + "FROM evento e JOIN evento_cliente ec ON ec.evento_id = e.id WHERE ec.cliente_id = :clienteId",
+         nativeQuery = true)
+  String selloParticipante(@Param("clienteId") Long clienteId);
+
+  @Query(value = "SELECT CONCAT(COUNT(*), '-', COALESCE(MAX(id), 0), '-', COALESCE(SUM(version), 0)) "
+      + "FROM evento WHERE id_creador = :creadorId", nativeQuery = true)
+  String selloCreador(@Param("creadorId") Long creadorId);
+
+  interface ParticipanteIds {
+    Long getEventoId();
+    Long getClienteId();
+  }
+
+  interface RestriccionesEvento {
+    Integer getEdadMinima();
+    String getIdiomasPermitidos();
+  }
+
+  interface PlazasEvento extends RestriccionesEvento {
+    Long getId();
+    Integer getMaxPersonas();
+    int getNumParticipantes();
+  }
 }
@@ -0,0 +1,165 @@
+package com.eventmanager.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.eventmanager.domain.Evento;
+import com.eventmanager.domain.Idiomas;
+import com.eventmanager.dto.EventoDtos.EventoFiltro;
+
+import jakarta.persistence.criteria.Predicate;
+
+// Filtros de búsqueda de eventos como Specifications (se combinan en una única consulta)
+public final class EventoSpecs {
+
+  // Orden estable para paginar por keyset: (fecha, hora, id)
+  public static final Sort ORDEN = Sort.by("fecha", "hora", "id");
+
+  private static final char ESCAPE = '\\';
+
+  private EventoSpecs() {}
+
+  public static Specification<Evento> filtro(EventoFiltro f) {
+    Specification<Evento> spec = Specification.where(null);
+    if (f == null) return spec;
+    if (f.desde() != null) spec = spec.and(desde(f.desde()));
+    if (f.hasta() != null) spec = spec.and(hasta(f.hasta()));
+    if (hasText(f.lugar())) spec = spec.and(lugarContiene(f.lugar()));
+    if (f.tags() != null && !f.tags().isEmpty()) spec = spec.and(conAlgunTag(f.tags()));
+    if (hasText(f.idioma())) spec = spec.and(admiteIdioma(f.idioma()));
+    if (f.edad() != null) spec = spec.and(aptoParaEdad(f.edad()));
+    if (hasText(f.texto())) spec = spec.and(textoContiene(f.texto()));
+    return spec;
+  }
+
+  public static Specification<Evento> desde(LocalDate fecha) {
+    return (root, q, cb) -> cb.greaterThanOrEqualTo(root.get("fecha"), fecha);
+  }
+
+  public static Specification<Evento> hasta(LocalDate fecha) {
+    return (root, q, cb) -> cb.lessThanOrEqualTo(root.get("fecha"), fecha);
+  }
+
+  public static Specification<Evento> lugarContiene(String lugar) {
+    return (root, q, cb) -> cb.like(cb.lower(root.get("lugar")), likePattern(lugar), ESCAPE);
+  }
+
+  public static Specification<Evento> textoContiene(String texto) {
+    String pattern = likePattern(texto);
+    return (root, q, cb) -> cb.or(
+        cb.like(cb.lower(root.get("titulo")), pattern, ESCAPE),
+        cb.like(cb.lower(root.get("descripcion")), pattern, ESCAPE));
+  }
+
+  public static Specification<Evento> conAlgunTag(List<String> tags) {
+    var limpios = tags.stream().map(String::trim).filter(t -> !t.isEmpty()).toList();
+    return (root, q, cb) -> {
+      var hcb = (HibernateCriteriaBuilder) cb;
+      return cb.or(limpios.stream()
+          .map(t -> hcb.collectionContains(root.<List<String>>get("tags"), t))
+          .toArray(Predicate[]::new));
+    };
+  }
+
+  // Idiomas del catálogo: AND de bits sobre idiomas_mask. Otros códigos: idiomas_permitidos es una
+  // lista separada por comas ("es,en") y se busca en el texto. Sin restricción admite cualquiera.
+  public static Specification<Evento> admiteIdioma(String idioma) {
+    long bit = Idiomas.bit(idioma);
+    if (bit != Idiomas.OTROS) {
+      return (root, q, cb) -> cb.or(
+          cb.isNull(root.get("idiomasMask")),
+          cb.notEqual(cb.function("bitand", Long.class, root.get("idiomasMask"), cb.literal(bit)), 0L));
+    }
+    String pattern = "%," + escapeLike(Idiomas.normalizar(idioma)) + ",%";
+    return (root, q, cb) -> {
+      var idiomas = cb.lower(cb.function("replace", String.class,
+          root.get("idiomasPermitidos"), cb.literal(" "), cb.literal("")));
+      return cb.or(
+          cb.isNull(root.get("idiomasPermitidos")),
+          cb.like(cb.concat(cb.concat(",", idiomas), ","), pattern, ESCAPE));
+    };
+  }
+
+  public static Specification<Evento> aptoParaEdad(int edad) {
+    return (root, q, cb) -> cb.or(
+        cb.isNull(root.get("edadMinima")),
+        cb.lessThanOrEqualTo(root.get("edadMinima"), edad));
+  }
+
+  // Eventos a los que puede apuntarse alguien de esa edad e idioma: las mismas reglas que se
+  // aplican en el join (Elegibilidad). Sin idioma declarado no se filtra por idioma.
+  public static Specification<Evento> elegiblePara(int edad, String idioma) {
+    var spec = aptoParaEdad(edad);
+    return hasText(idioma) ? spec.and(admiteIdioma(idioma)) : spec;
+  }
+
+  public static Specification<Evento> conPlazas() {
+    return (root, q, cb) -> cb.or(
+        cb.isNull(root.get("maxPersonas")),
+        cb.lessThan(root.get("numParticipantes"), root.get("maxPersonas")));
+  }
+
+  // NOT EXISTS sobre evento_cliente (su PK empieza por cliente_id)
+  public static Specification<Evento> sinParticipante(Long clienteId) {
+    return (root, q, cb) -> {
+      var sub = q.subquery(Long.class);
+      var e = sub.from(Evento.class);
+      var p = e.join("participantes");
+      sub.select(p.get("id")).where(cb.equal(e, root), cb.equal(p.get("id"), clienteId));
+      return cb.not(cb.exists(sub));
+    };
+  }
+
+  // Keyset: eventos estrictamente posteriores a (fecha, hora, id) según ORDEN
+  public static Specification<Evento> despuesDe(LocalDate fecha, LocalTime hora, Long id) {
+    return (root, q, cb) -> cb.or(
+        cb.greaterThan(root.get("fecha"), fecha),
+        cb.and(cb.equal(root.get("fecha"), fecha), cb.or(
+            cb.greaterThan(root.get("hora"), hora),
+            cb.and(cb.equal(root.get("hora"), hora), cb.greaterThan(root.get("id"), id)))));
+  }
+
+  // Eventos estrictamente posteriores a (fecha, hora): tras una ocurrencia de serie, porque a
+  // igual fecha y hora los eventos van antes
+  public static Specification<Evento> posteriorA(LocalDate fecha, LocalTime hora) {
+    return (root, q, cb) -> cb.or(
+        cb.greaterThan(root.get("fecha"), fecha),
+        cb.and(cb.equal(root.get("fecha"), fecha), cb.greaterThan(root.get("hora"), hora)));
+  }
+
+  // Los criterios de filtro() salvo las fechas, evaluados en memoria sobre filas que no son Evento
+  // (las series, que se filtran después de leerlas). Misma semántica que el SQL de arriba.
+  public static boolean cumple(EventoFiltro f, String lugar, List<String> tags, String idiomasPermitidos,
+                               Integer edadMinima, String titulo, String descripcion) {
+    if (f == null) return true;
+    if (hasText(f.lugar()) && !contiene(lugar, f.lugar())) return false;
+    if (f.tags() != null && !f.tags().isEmpty()) {
+      var lista = tags == null ? List.<String>of() : tags;
+      if (f.tags().stream().map(String::trim).filter(t -> !t.isEmpty()).noneMatch(lista::contains)) return false;
+    }
+    if (hasText(f.idioma()) && !Idiomas.admite(idiomasPermitidos, f.idioma())) return false;
+    if (f.edad() != null && edadMinima != null && edadMinima > f.edad()) return false;
+    return !hasText(f.texto()) || contiene(titulo, f.texto()) || contiene(descripcion, f.texto());
+  }
+
+  private static boolean contiene(String campo, String buscado) {
+    return campo != null && campo.toLowerCase().contains(buscado.trim().toLowerCase());
+  }
+
+  private static boolean hasText(String s) {
+    return s != null && !s.isBlank();
+  }
+
+  private static String likePattern(String s) {
+    return "%" + escapeLike(s.trim().toLowerCase()) + "%";
+  }
+
+  private static String escapeLike(String s) {
+    return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
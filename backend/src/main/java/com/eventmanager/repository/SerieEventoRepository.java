@@ -0,0 +1,73 @@
+package com.eventmanager.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.eventmanager.domain.SerieEvento;
+
+public interface SerieEventoRepository extends JpaRepository<SerieEvento, Long> {
+
+  // Series con alguna fecha posible en [desde, hasta]; la expansión fina la hace ReglaRecurrencia
+  @Query("SELECT s FROM SerieEvento s WHERE s.fechaInicio <= :hasta AND (s.fechaFin IS NULL OR s.fechaFin >= :desde)")
+  List<SerieEvento> findActivasEntre(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+  @Query("SELECT s FROM SerieEvento s JOIN s.participantes p WHERE p = :clienteId "
+      + "AND s.fechaInicio <= :hasta AND (s.fechaFin IS NULL OR s.fechaFin >= :desde)")
+  List<SerieEvento> findDeParticipanteEntre(@Param("clienteId") Long clienteId,
+                                            @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+  @Query("SELECT s FROM SerieEvento s WHERE s.idCreador = :creadorId "
+      + "AND s.fechaInicio <= :hasta AND (s.fechaFin IS NULL OR s.fechaFin >= :desde)")
+  List<SerieEvento> findDeCreadorEntre(@Param("creadorId") Long creadorId,
+                                       @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+  // Plazas como en EventoRepository.reservarPlaza/liberarPlaza: UPDATE condicional sobre el
+  // contador, que bloquea la fila de la serie y sube la version (cambia el sello del ETag)
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(value = "UPDATE serie_evento SET num_participantes = num_participantes + 1, version = version + 1 "
+      + "WHERE id = :id AND (max_personas IS NULL OR num_participantes < max_personas)", nativeQuery = true)
+  int reservarPlaza(@Param("id") Long serieId);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(value = "UPDATE serie_evento SET num_participantes = num_participantes - 1, version = version + 1 "
+      + "WHERE id = :id AND num_participantes > 0", nativeQuery = true)
+  int liberarPlaza(@Param("id") Long serieId);
+
+  @Query(value = "SELECT EXISTS (SELECT 1 FROM serie_cliente WHERE serie_id = :serieId AND cliente_id = :clienteId)",
+         nativeQuery = true)
+  boolean existsParticipante(@Param("serieId") Long serieId, @Param("clienteId") Long clienteId);
+
+  @Modifying
+  @Query(value = "INSERT INTO serie_cliente (serie_id, cliente_id) VALUES (:serieId, :clienteId)", nativeQuery = true)
+  int insertParticipante(@Param("serieId") Long serieId, @Param("clienteId") Long clienteId);
+
+  @Modifying
+  @Query(value = "DELETE FROM serie_cliente WHERE serie_id = :serieId AND cliente_id = :clienteId", nativeQuery = true)
+  int deleteParticipante(@Param("serieId") Long serieId, @Param("clienteId") Long clienteId);
+
+  // Participantes de varias series en una consulta (como findParticipanteIdsByEventoIds)
+  @Query(value = "SELECT serie_id AS serieId, cliente_id AS clienteId FROM serie_cliente WHERE serie_id IN (:ids)",
+         nativeQuery = true)
+  List<ParticipanteSerie> findParticipantesBySerieIds(@Param("ids") Collection<Long> ids);
+
+  // Sellos para el ETag de my-events / my-created-events (ver EventoRepository)
+  @Query(value = "SELECT CONCAT(COUNT(*), '-', COALESCE(MAX(s.id), 0), '-', COALESCE(SUM(s.version), 0)) "
+      + "FROM serie_evento s JOIN serie_cliente sc ON sc.serie_id = s.id WHERE sc.cliente_id = :clienteId",
+         nativeQuery = true)
+  String selloParticipante(@Param("clienteId") Long clienteId);
+
+  @Query(value = "SELECT CONCAT(COUNT(*), '-', COALESCE(MAX(id), 0), '-', COALESCE(SUM(version), 0)) "
+      + "FROM serie_evento WHERE id_creador = :creadorId", nativeQuery = true)
+  String selloCreador(@Param("creadorId") Long creadorId);
+
+  interface ParticipanteSerie {
+    Long getSerieId();
+    Long getClienteId();
+  }
+}
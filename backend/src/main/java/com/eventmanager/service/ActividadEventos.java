@@ -0,0 +1,38 @@
+package com.eventmanager.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Contadores de actividad (eventos.actividad{tipo=creado|unido|salido}) a partir del outbox:
+// se cuentan fuera de la petición y solo lo que se ha confirmado.
+@Component
+class ActividadEventos implements ManejadorOutbox {
+  private final Map<String, Counter> contadores;
+
+  ActividadEventos(MeterRegistry registry) {
+    this.contadores = Map.of(
+        Outbox.EVENTO_CREADO, contador(registry, "creado"),
+        Outbox.PARTICIPANTE_UNIDO, contador(registry, "unido"),
+        Outbox.PARTICIPANTE_SALIDO, contador(registry, "salido"));
+  }
+
+  @Override
+  public void manejar(List<Outbox.Mensaje> mensajes) {
+    for (var m : mensajes) {
+      var contador = contadores.get(m.tipo());
+      if (contador != null) contador.increment();
+    }
+  }
+
+  private static Counter contador(MeterRegistry registry, String tipo) {
+    return Counter.builder("eventos.actividad")
+        .description("Altas de eventos y joins/leaves confirmados")
+        .tag("tipo", tipo)
+        .register(registry);
+  }
+}
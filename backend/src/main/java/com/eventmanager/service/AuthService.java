@@ -6,43 +6,80 @@ import com.eventmanager.domain.Cliente;
 import com.eventmanager.dto.AuthDtos.*;
 import com.eventmanager.repository.ClienteRepository;
 import jakarta.validation.ValidationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional; import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture; import java.util.concurrent.Executor;
+import io.micrometer.observation.annotation.Observed;
 
 @Service
+@Observed(name = "servicio")
 public class AuthService {
-  private final ClienteRepository repo; private final PasswordEncoder enc;
+  private final ClienteRepository repo; private final PasswordHasher enc; private final TokenService tokens;
   private final Pattern policy = Pattern.compile(SecurityConfig.PASSWORD_REGEX);
-  public AuthService(ClienteRepository r, PasswordEncoder e){this.repo=r; this.enc=e;}
+  private final Executor bd;
+  // bd: el executor de tareas de Spring (lo cierra el contexto y sale en executor.*{name=applicationTaskExecutor})
+  public AuthService(ClienteRepository r, PasswordHasher e, TokenService t, @Qualifier("applicationTaskExecutor") Executor bd){
+    this.repo=r; this.enc=e; this.tokens=t; this.bd=bd;
+  }
 
   public AuthResponse signUp(SignUpRequest req) {
+    validarAlta(req);
+    return guardar(req, enc.hash(req.password()));
+  }
+
+  // Sin bloquear al llamante: las consultas y el INSERT van en `bd` y el hash en el pool de BCrypt,
+  // así los hilos de BCrypt no esperan conexiones. El hilo de la petición no toca la BD: con
+  // open-in-view retendría su conexión hasta responder, y con el pool pequeño dos altas a la vez,
+  // cada una con una conexión y esperando otra para el INSERT, lo dejaban bloqueado.
+  public CompletableFuture<AuthResponse> signUpAsync(SignUpRequest req) {
+    return CompletableFuture.runAsync(() -> validarAlta(req), bd)
+        .thenCompose(v -> enc.hashAsync(req.password()))
+        .thenApplyAsync(hash -> guardar(req, hash), bd);
+  }
+
+  public AuthResponse login(LoginRequest req) {
+    Cliente c = buscar(req);
+    return comprobar(c, enc.matches(req.password(), c.getPasswordHash()));
+  }
+
+  public CompletableFuture<AuthResponse> loginAsync(LoginRequest req) {
+    return CompletableFuture.supplyAsync(() -> buscar(req), bd)
+        .thenCompose(c -> enc.matchesAsync(req.password(), c.getPasswordHash()).thenApply(ok -> comprobar(c, ok)));
+  }
+
+  private void validarAlta(SignUpRequest req) {
     if (!policy.matcher(req.password()).matches()) throw new ValidationException("Contraseña insegura.");
     if (repo.existsByUsernameIgnoreCase(req.username())) throw new ValidationException("Username en uso.");
     if (repo.existsByCorreoIgnoreCase(req.correo())) throw new ValidationException("Correo en uso.");
+  }
+
+  private AuthResponse guardar(SignUpRequest req, String passwordHash) {
     Cliente c = new Cliente();
     c.setNombre(req.nombre()); c.setApellidos(req.apellidos());
     c.setUsername(req.username()); c.setCorreo(req.correo());
     c.setFechaNacimiento(req.fechaNacimiento()); c.setCiudad(req.ciudad()); c.setIdioma(req.idioma());
-    c.setPasswordHash(enc.encode(req.password()));
+    c.setPasswordHash(passwordHash);
     repo.save(c);
-    return new AuthResponse("token-" + c.getId(), c.getId(), c.getUsername());
+    return new AuthResponse(tokens.emitir(c.getId(), c.getUsername()), c.getId(), c.getUsername());
   }
 
-  public AuthResponse login(LoginRequest req) {
+  private Cliente buscar(LoginRequest req) {
     Optional<Cliente> oc = repo.findByUsernameIgnoreCase(req.usernameOrEmail())
         .or(() -> repo.findByCorreoIgnoreCase(req.usernameOrEmail()));
     
     if (oc.isEmpty()) {
       throw new ValidationException("Usuario o correo no encontrado. Verifica tus credenciales.");
     }
-    
-    Cliente c = oc.get();
-    if (!enc.matches(req.password(), c.getPasswordHash())) {
+    return oc.get();
+  }
+
+  private AuthResponse comprobar(Cliente c, boolean passwordOk) {
+    if (!passwordOk) {
       throw new ValidationException("Contraseña incorrecta. Inténtalo de nuevo.");
     }
     
-    return new AuthResponse("token-" + c.getId(), c.getId(), c.getUsername());
+    return new AuthResponse(tokens.emitir(c.getId(), c.getUsername()), c.getId(), c.getUsername());
   }
 }
@@ -0,0 +1,70 @@
+package com.eventmanager.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.eventmanager.domain.Coordenadas;
+
+// Eventos a menos de radioKm de un punto, del más cercano al más lejano. La caja del círculo se
+// traduce a un rango de celdas por fila de la rejilla (Coordenadas.Caja) y cada rango es una
+// búsqueda por rango en ix_evento_geo_celda: se leen solo las celdas que tocan el círculo, no
+// la tabla. Las esquinas de la caja se descartan con la distancia exacta aquí.
+// Solo se leen id y coordenadas; las vistas las monta EventoService con los ids.
+@Component
+public class BuscadorCercanos {
+  private final JdbcTemplate jdbc;
+
+  public record Cercano(long id, Coordenadas coordenadas, double distanciaKm) {}
+
+  public BuscadorCercanos(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  public List<Cercano> buscar(Coordenadas centro, double radioKm, LocalDate desde, int limite) {
+    var caja = centro.caja(radioKm);
+    var rangos = caja.rangosCeldas();
+    List<Object> args = new ArrayList<>(rangos.size() * 2 + 5);
+    for (long[] r : rangos) {
+      args.add(r[0]);
+      args.add(r[1]);
+    }
+    args.add(desde);
+    args.add(caja.latMin());
+    args.add(caja.latMax());
+    args.add(caja.lonMin());
+    args.add(caja.lonMax());
+
+    // Top-k con un heap cuya cabeza es el más lejano de los elegidos
+    Comparator<Cercano> porDistancia = Comparator.comparingDouble(Cercano::distanciaKm)
+        .thenComparingLong(Cercano::id);
+    PriorityQueue<Cercano> top = new PriorityQueue<>(limite + 1, porDistancia.reversed());
+    jdbc.query(consulta(rangos.size()), rs -> {
+      var c = new Coordenadas(rs.getDouble(2), rs.getDouble(3));
+      double d = centro.distanciaKm(c);
+      if (d > radioKm) return;
+      top.add(new Cercano(rs.getLong(1), c, d));
+      if (top.size() > limite) top.poll();
+    }, args.toArray());
+    List<Cercano> resultado = new ArrayList<>(top);
+    resultado.sort(porDistancia);
+    return resultado;
+  }
+
+  // Los rangos van como tabla VALUES unida por BETWEEN: Postgres y H2 hacen un recorrido del
+  // índice por rango (un OR de BETWEEN acaba en tableScan en H2)
+  public static String consulta(int rangos) {
+    var sql = new StringBuilder("SELECT e.id, e.latitud, e.longitud FROM (VALUES ");
+    for (int i = 0; i < rangos; i++) {
+      sql.append(i == 0 ? "" : ", ").append("(CAST(? AS BIGINT), CAST(? AS BIGINT))");
+    }
+    return sql.append(") AS r(desde, hasta) JOIN evento e ON e.geo_celda BETWEEN r.desde AND r.hasta")
+        .append(" WHERE e.fecha >= ? AND e.latitud BETWEEN ? AND ? AND e.longitud BETWEEN ? AND ?")
+        .toString();
+  }
+}
@@ -0,0 +1,89 @@
+package com.eventmanager.service;
+
+import java.sql.Array;
+import java.sql.DatabaseMetaData;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.eventmanager.repository.EventoRepository;
+
+// Búsqueda de texto sobre título, tags, lugar y descripción: devuelve ids por relevancia.
+// En Postgres usa la columna tsvector `busqueda` y su índice GIN (migración V8); en otras bases
+// (H2 en tests y local) un IndiceInvertido en memoria que se reconstruye cuando cambian las
+// altas/bajas de eventos (el texto de un evento no se edita). app.busqueda.motor fuerza uno.
+@Component
+public class BuscadorTexto {
+  private final EventoRepository repo;
+  private final JdbcTemplate jdbc;
+  private final boolean postgres;
+  private volatile Instantanea indice = new Instantanea("", new IndiceInvertido());
+
+  private record Instantanea(String sello, IndiceInvertido indice) {}
+
+  public BuscadorTexto(EventoRepository repo, JdbcTemplate jdbc, DataSource dataSource,
+                       @Value("${app.busqueda.motor:auto}") String motor) {
+    this.repo = repo;
+    this.jdbc = jdbc;
+    this.postgres = switch (motor) {
+      case "postgres" -> true;
+      case "memoria" -> false;
+      default -> esPostgres(dataSource);
+    };
+  }
+
+  public List<Long> buscar(String texto, int limite) {
+    var terminos = IndiceInvertido.terminos(texto);
+    if (terminos.isEmpty()) return List.of();
+    if (postgres) return repo.buscarTexto(tsquery(terminos), limite);
+    return indiceActual().buscar(terminos, limite);
+  }
+
+  // "jazz bar" -> "jazz:* & bar:*". Los términos solo tienen letras y dígitos, no hace falta escapar.
+  static String tsquery(List<String> terminos) {
+    return terminos.stream().map(t -> t + ":*").collect(Collectors.joining(" & "));
+  }
+
+  private IndiceInvertido indiceActual() {
+    String sello = repo.selloAltas();
+    var actual = indice;
+    if (actual.sello().equals(sello)) return actual.indice();
+    synchronized (this) {
+      actual = indice;
+      if (!actual.sello().equals(sello)) {
+        actual = new Instantanea(sello, construir());
+        indice = actual;
+      }
+      return actual.indice();
+    }
+  }
+
+  private IndiceInvertido construir() {
+    var nuevo = new IndiceInvertido();
+    jdbc.query("SELECT id, titulo, descripcion, lugar, tags FROM evento ORDER BY id", rs -> {
+      Array tags = rs.getArray("tags");
+      List<String> lista = tags == null ? List.of()
+          : Arrays.stream((Object[]) tags.getArray()).map(String::valueOf).toList();
+      nuevo.anadir(rs.getLong("id"), rs.getString("titulo"), rs.getString("descripcion"),
+          rs.getString("lugar"), lista);
+    });
+    return nuevo;
+  }
+
+  private static boolean esPostgres(DataSource dataSource) {
+    try {
+      String producto = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+      return "PostgreSQL".equalsIgnoreCase(producto);
+    } catch (MetaDataAccessException ex) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.eventmanager.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eventmanager.dto.EventoDtos.CambioEvento;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.repository.EventoRepository.PlazasEvento;
+
+// Publica en el DifusorCambios de esta instancia las escrituras que se confirman en ella: Outbox
+// le pasa los eventos tocados tras cada commit y un hilo de fondo los traduce a cambios del feed.
+// No sale del despachador del outbox porque este reparte los mensajes entre instancias (solo
+// publicaría la que los reclama). Lo acumulado entre dos pasadas se agrupa: una consulta para las
+// vistas de los eventos creados y otra para los contadores de los que han tenido joins/leaves, con
+// un solo cambio por evento y el contador actual. Sin suscriptores no apunta nada.
+@Component
+class CambiosEventos implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(CambiosEventos.class);
+
+  private final EventoService eventos;
+  private final EventoRepository repo;
+  private final DifusorCambios difusor;
+  private final TransactionTemplate tx;
+  private final ExecutorService hilo;
+  private final Set<Long> creados = new LinkedHashSet<>();
+  private final Set<Long> tocados = new LinkedHashSet<>();
+  private boolean avisado;
+
+  CambiosEventos(EventoService eventos, EventoRepository repo, DifusorCambios difusor,
+                 PlatformTransactionManager txManager) {
+    this.eventos = eventos;
+    this.repo = repo;
+    this.difusor = difusor;
+    this.tx = new TransactionTemplate(txManager);
+    this.hilo = Executors.newSingleThreadExecutor(r -> {
+      var t = new Thread(r, "cambios-eventos");
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  // Tras el commit de una escritura; no consulta nada en el hilo de la petición
+  void alConfirmar(String tipo, Collection<Long> eventoIds) {
+    if (!difusor.haySuscriptores()) return;
+    synchronized (this) {
+      (Outbox.EVENTO_CREADO.equals(tipo) ? creados : tocados).addAll(eventoIds);
+      if (avisado) return;
+      avisado = true;
+    }
+    try {
+      hilo.execute(this::publicar);
+    } catch (RejectedExecutionException ex) {
+      // cerrando
+    }
+  }
+
+  private void publicar() {
+    Set<Long> nuevos;
+    Set<Long> cambiados;
+    synchronized (this) {
+      nuevos = new LinkedHashSet<>(creados);
+      cambiados = new LinkedHashSet<>(tocados);
+      creados.clear();
+      tocados.clear();
+      avisado = false;
+    }
+    cambiados.removeAll(nuevos);   // la vista del creado ya lleva el contador
+    try {
+      // En una transacción de escritura para leer de la primaria: la réplica puede no tener aún
+      // lo que se acaba de confirmar
+      var cambios = tx.execute(s -> cambios(nuevos, cambiados));
+      if (cambios != null && !cambios.isEmpty()) difusor.publicar(cambios);
+    } catch (RuntimeException ex) {
+      log.warn("No se pudieron publicar los cambios de eventos: {}", ex.getMessage());
+    }
+  }
+
+  private List<CambioEvento> cambios(Set<Long> creados, Set<Long> tocados) {
+    List<CambioEvento> cambios = new ArrayList<>();
+    if (!creados.isEmpty()) {
+      Map<Long, EventoView> porId = new HashMap<>();
+      eventos.vistas(creados).forEach(v -> porId.put(v.id(), v));
+      for (Long id : creados) {
+        var v = porId.get(id);
+        if (v != null) {
+          cambios.add(new CambioEvento("creado", id, v.numParticipantes(), v.maxPersonas(), v.compacta(null)));
+        }
+      }
+    }
+    if (!tocados.isEmpty()) {
+      Map<Long, PlazasEvento> plazas = new HashMap<>();
+      repo.findPlazas(tocados).forEach(p -> plazas.put(p.getId(), p));
+      for (Long id : tocados) {
+        var p = plazas.get(id);
+        if (p != null) {
+          cambios.add(new CambioEvento("participantes", id, p.getNumParticipantes(), p.getMaxPersonas(), null));
+        }
+      }
+    }
+    return cambios;
+  }
+
+  @Override
+  public void close() {
+    hilo.shutdownNow();
+  }
+}
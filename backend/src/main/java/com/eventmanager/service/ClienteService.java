@@ -6,15 +6,20 @@ import com.eventmanager.domain.Cliente;
 import com.eventmanager.repository.ClienteRepository;
 import jakarta.validation.ValidationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.regex.Pattern;
+import io.micrometer.observation.annotation.Observed;
 
 @Service
+@Observed(name = "servicio")
 public class ClienteService {
   private final ClienteRepository repo;
   public ClienteService(ClienteRepository repo) { this.repo = repo; }
 
+  // En una transacción de escritura: con réplica de lectura, la lectura previa va a la primaria
+  @Transactional
   public ClienteView update(Long id, ClienteUpdateDto req) {
     Cliente c = repo.findById(id).orElseThrow(() -> new ValidationException("Cliente no encontrado"));
 
@@ -0,0 +1,199 @@
+package com.eventmanager.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Vacía la tabla outbox en un hilo de fondo: reclama hasta `lote` mensajes disponibles con
+// FOR UPDATE SKIP LOCKED (varias instancias pueden despachar a la vez sin repartirse el mismo
+// mensaje), se los pasa a cada ManejadorOutbox y borra los entregados, todo en una transacción.
+// Cada fila apunta qué manejadores la han procesado ya (entregado_a): si uno falla, solo ese la
+// vuelve a recibir. Un mensaje que falla se reintenta con backoff exponencial (reintento, 2x, 4x...
+// hasta 64x) y, tras maxIntentos, se queda en la tabla con disponible = NULL y su último error.
+// Pasa cada `intervalo` y, además, en cuanto se confirma una transacción que ha escrito mensajes.
+@Component
+public class DespachadorOutbox implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(DespachadorOutbox.class);
+
+  private static final String RECLAMAR = "SELECT id, tipo, evento_id, cliente_id, intentos, entregado_a FROM outbox "
+      + "WHERE disponible <= ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+  private static final RowMapper<Reclamado> FILA = (rs, n) -> new Reclamado(new Outbox.Mensaje(
+      rs.getLong("id"), rs.getString("tipo"), rs.getLong("evento_id"),
+      rs.getObject("cliente_id", Long.class), rs.getInt("intentos")), rs.getString("entregado_a"));
+
+  // Mensaje reclamado en esta pasada, con los manejadores que ya lo han procesado
+  private static final class Reclamado {
+    final Outbox.Mensaje mensaje;
+    final Set<String> entregadoA = new LinkedHashSet<>();
+    RuntimeException error;
+
+    Reclamado(Outbox.Mensaje mensaje, String entregadoA) {
+      this.mensaje = mensaje;
+      if (entregadoA != null && !entregadoA.isEmpty()) this.entregadoA.addAll(List.of(entregadoA.split(",")));
+    }
+  }
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final ObjectProvider<ManejadorOutbox> manejadores;
+  private final int lote;
+  private final int maxIntentos;
+  private final Duration reintento;
+  private final long intervaloMs;
+  private final ScheduledExecutorService programador;
+  private final AtomicBoolean avisado = new AtomicBoolean();
+  private final Counter entregados;
+  private final Counter reintentados;
+  private final Counter descartados;
+
+  public DespachadorOutbox(JdbcTemplate jdbc, PlatformTransactionManager txManager,
+                           ObjectProvider<ManejadorOutbox> manejadores, MeterRegistry registry,
+                           @Value("${app.outbox.lote:200}") int lote,
+                           @Value("${app.outbox.max-intentos:8}") int maxIntentos,
+                           @Value("${app.outbox.reintento:PT1S}") Duration reintento,
+                           @Value("${app.outbox.intervalo:PT5S}") Duration intervalo) {
+    this.jdbc = jdbc;
+    this.tx = new TransactionTemplate(txManager);
+    this.manejadores = manejadores;
+    this.lote = lote;
+    this.maxIntentos = maxIntentos;
+    this.reintento = reintento;
+    this.entregados = contador(registry, "entregado");
+    this.reintentados = contador(registry, "reintento");
+    this.descartados = contador(registry, "descartado");
+    this.intervaloMs = intervalo.toMillis();
+    this.programador = Executors.newSingleThreadScheduledExecutor(r -> {
+      var hilo = new Thread(r, "despachador-outbox");
+      hilo.setDaemon(true);
+      return hilo;
+    });
+  }
+
+  // Las pasadas periódicas empiezan con el bean ya construido, no desde el constructor
+  @PostConstruct
+  void iniciar() {
+    programador.scheduleWithFixedDelay(this::drenar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+  }
+
+  // Pide una pasada ya; si hay una pendiente de empezar, esa recogerá también lo nuevo
+  void avisar() {
+    if (!avisado.compareAndSet(false, true)) return;
+    try {
+      programador.execute(() -> {
+        avisado.set(false);
+        drenar();
+      });
+    } catch (RejectedExecutionException ex) {
+      avisado.set(false);   // cerrando: lo pendiente se despacha al volver a arrancar
+    }
+  }
+
+  // Pasadas hasta que no quedan mensajes disponibles. Público para los tests.
+  public void drenar() {
+    try {
+      while (pasada() == lote) {
+        // lote completo: puede haber más
+      }
+    } catch (RuntimeException ex) {
+      log.warn("No se pudo despachar el outbox: {}", ex.getMessage());
+    }
+  }
+
+  private int pasada() {
+    Integer total = tx.execute(status -> {
+      Instant ahora = Instant.now();
+      List<Reclamado> reclamados = jdbc.query(RECLAMAR, FILA, Timestamp.from(ahora), lote);
+      if (reclamados.isEmpty()) return 0;
+
+      manejadores.orderedStream().forEach(manejador -> entregar(manejador, reclamados));
+
+      List<Object[]> borrar = new ArrayList<>(reclamados.size());
+      for (var r : reclamados) {
+        if (r.error == null) borrar.add(new Object[] {r.mensaje.id()});
+      }
+      jdbc.batchUpdate("DELETE FROM outbox WHERE id = ?", borrar);
+      entregados.increment(borrar.size());
+      for (var r : reclamados) {
+        if (r.error != null) aplazar(r, ahora);
+      }
+      return reclamados.size();
+    });
+    return total == null ? 0 : total;
+  }
+
+  // El manejador recibe en un lote lo que aún no ha procesado; si falla, se repite mensaje a
+  // mensaje (solo con él) para que un mensaje que falla no retenga a los demás
+  private void entregar(ManejadorOutbox manejador, List<Reclamado> reclamados) {
+    String nombre = ClassUtils.getUserClass(manejador).getSimpleName();
+    List<Reclamado> pendientes = reclamados.stream().filter(r -> !r.entregadoA.contains(nombre)).toList();
+    if (pendientes.isEmpty()) return;
+    try {
+      manejador.manejar(pendientes.stream().map(r -> r.mensaje).toList());
+      pendientes.forEach(r -> r.entregadoA.add(nombre));
+    } catch (RuntimeException ex) {
+      for (var r : pendientes) {
+        try {
+          manejador.manejar(List.of(r.mensaje));
+          r.entregadoA.add(nombre);
+        } catch (RuntimeException e) {
+          if (r.error == null) r.error = e;
+        }
+      }
+    }
+  }
+
+  private void aplazar(Reclamado r, Instant ahora) {
+    var m = r.mensaje;
+    var ex = r.error;
+    int intentos = m.intentos() + 1;
+    Timestamp siguiente = null;
+    if (intentos < maxIntentos) {
+      siguiente = Timestamp.from(ahora.plus(reintento.multipliedBy(1L << Math.min(intentos - 1, 6))));
+      reintentados.increment();
+    } else {
+      descartados.increment();
+      log.error("Mensaje {} del outbox ({}, evento {}) descartado tras {} intentos", m.id(), m.tipo(), m.eventoId(),
+          intentos, ex);
+    }
+    String error = String.valueOf(ex.getMessage());
+    jdbc.update("UPDATE outbox SET intentos = ?, disponible = ?, ultimo_error = ?, entregado_a = ? WHERE id = ?",
+        intentos, siguiente, error.length() > 500 ? error.substring(0, 500) : error,
+        r.entregadoA.isEmpty() ? null : String.join(",", r.entregadoA), m.id());
+  }
+
+  private static Counter contador(MeterRegistry registry, String resultado) {
+    return Counter.builder("outbox.mensajes")
+        .description("Mensajes del outbox procesados, por resultado")
+        .tag("resultado", resultado)
+        .register(registry);
+  }
+
+  @Override
+  public void close() {
+    programador.shutdownNow();
+  }
+}
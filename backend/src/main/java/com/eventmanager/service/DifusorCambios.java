@@ -0,0 +1,190 @@
+package com.eventmanager.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eventmanager.dto.EventoDtos.CambioEvento;
+import com.eventmanager.service.errors.FeedSaturadoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Reparto en memoria de los cambios de eventos a los suscriptores del feed (GET /api/events/changes).
+// Un suscriptor sin nada pendiente no ocupa ningún hilo: solo su buffer. Al publicar, cada cambio
+// se encola en el buffer de cada suscriptor (acotado a `buffer`) y, si no se estaba enviando ya,
+// se lanza un hilo virtual que lo vacía; así un cliente lento solo retrasa su propio envío.
+// Si el buffer se llena se descarta lo pendiente y se manda un único "desbordado" para que ese
+// cliente recargue el listado. Cada `latido` se manda un comentario a los inactivos para que los
+// proxies no corten la conexión.
+@Component
+public class DifusorCambios implements AutoCloseable {
+  public static final CambioEvento LATIDO = new CambioEvento("latido", null, null, null, null);
+  static final CambioEvento DESBORDADO = new CambioEvento("desbordado", null, null, null, null);
+
+  // El otro extremo de una suscripción (la respuesta SSE). enviar puede bloquear: se llama desde
+  // el hilo virtual de esa suscripción, nunca desde el que publica.
+  public interface Destino {
+    void enviar(CambioEvento cambio) throws IOException;
+
+    void cerrar();
+  }
+
+  public static final class Suscripcion {
+    private final Destino destino;
+    private final Set<Long> eventos;
+    private final ArrayDeque<CambioEvento> pendientes = new ArrayDeque<>();
+    private boolean enviando;
+    private boolean cancelada;
+
+    private Suscripcion(Destino destino, Set<Long> eventos) {
+      this.destino = destino;
+      this.eventos = eventos;
+    }
+
+    // Sin filtro recibe todo; con filtro, solo los contadores de esos eventos
+    private boolean quiere(CambioEvento c) {
+      return eventos.isEmpty() || c.idEvento() == null
+          || (!"creado".equals(c.tipo()) && eventos.contains(c.idEvento()));
+    }
+  }
+
+  private final Set<Suscripcion> suscripciones = ConcurrentHashMap.newKeySet();
+  private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+  private final ScheduledExecutorService latidos;
+  private final int buffer;
+  private final Semaphore plazas;
+  private final long latidoMs;
+  private final Counter desbordes;
+
+  public DifusorCambios(MeterRegistry registry,
+                        @Value("${app.cambios.buffer:256}") int buffer,
+                        @Value("${app.cambios.max-suscriptores:10000}") int maxSuscriptores,
+                        @Value("${app.cambios.latido:PT25S}") Duration latido) {
+    this.buffer = buffer;
+    this.plazas = new Semaphore(maxSuscriptores);
+    this.desbordes = Counter.builder("cambios.desbordes")
+        .description("Suscriptores del feed que se quedaron atrás y tuvieron que recargar")
+        .register(registry);
+    Gauge.builder("cambios.suscriptores", suscripciones, Set::size)
+        .description("Suscriptores conectados al feed de cambios")
+        .register(registry);
+    this.latidoMs = latido.toMillis();
+    this.latidos = Executors.newSingleThreadScheduledExecutor(r -> {
+      var hilo = new Thread(r, "latido-cambios");
+      hilo.setDaemon(true);
+      return hilo;
+    });
+  }
+
+  // Los latidos empiezan con el bean ya construido, no desde el constructor
+  @PostConstruct
+  void iniciar() {
+    latidos.scheduleWithFixedDelay(this::latir, latidoMs, latidoMs, TimeUnit.MILLISECONDS);
+  }
+
+  // eventos vacío = todos los cambios. La plaza se reserva antes de crear la suscripción (dos
+  // altas a la vez no pasan del máximo) y se devuelve una sola vez, al cancelarla.
+  public Suscripcion suscribir(Destino destino, Set<Long> eventos) {
+    if (!plazas.tryAcquire()) {
+      throw new FeedSaturadoException("Demasiados suscriptores al feed de cambios, inténtalo más tarde");
+    }
+    var s = new Suscripcion(destino, Set.copyOf(eventos));
+    suscripciones.add(s);
+    return s;
+  }
+
+  public void cancelar(Suscripcion s) {
+    synchronized (s) {
+      if (s.cancelada) return;
+      s.cancelada = true;
+      s.pendientes.clear();
+    }
+    suscripciones.remove(s);
+    plazas.release();
+    s.destino.cerrar();
+  }
+
+  public boolean haySuscriptores() {
+    return !suscripciones.isEmpty();
+  }
+
+  public void publicar(List<CambioEvento> cambios) {
+    for (var s : suscripciones) {
+      for (var c : cambios) {
+        if (s.quiere(c)) encolar(s, c);
+      }
+    }
+  }
+
+  private void latir() {
+    for (var s : suscripciones) {
+      boolean inactiva;
+      synchronized (s) {
+        inactiva = !s.enviando && s.pendientes.isEmpty();
+      }
+      if (inactiva) encolar(s, LATIDO);
+    }
+  }
+
+  private void encolar(Suscripcion s, CambioEvento c) {
+    synchronized (s) {
+      if (s.cancelada) return;
+      if (s.pendientes.size() >= buffer) {
+        s.pendientes.clear();
+        s.pendientes.add(DESBORDADO);
+        desbordes.increment();
+      } else {
+        s.pendientes.add(c);
+      }
+      if (s.enviando) return;
+      s.enviando = true;
+    }
+    try {
+      envios.execute(() -> vaciar(s));
+    } catch (RejectedExecutionException ex) {
+      cancelar(s);   // cerrando
+    }
+  }
+
+  private void vaciar(Suscripcion s) {
+    while (true) {
+      CambioEvento c;
+      synchronized (s) {
+        c = s.pendientes.poll();
+        if (c == null) {
+          s.enviando = false;
+          return;
+        }
+      }
+      try {
+        s.destino.enviar(c);
+      } catch (IOException | RuntimeException ex) {
+        // el cliente se ha ido
+        cancelar(s);
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    latidos.shutdownNow();
+    suscripciones.forEach(this::cancelar);
+    envios.shutdownNow();
+  }
+}
@@ -0,0 +1,34 @@
+package com.eventmanager.service;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import com.eventmanager.domain.Idiomas;
+import com.eventmanager.service.errors.NoElegibleException;
+
+// Reglas para apuntarse a un evento o serie: edad (a fecha de hoy, calculada de fechaNacimiento)
+// >= edad_minima, e idioma del cliente entre los permitidos. Un cliente sin idioma declarado no
+// se filtra por idioma. EventoSpecs.elegiblePara aplica lo mismo en SQL.
+final class Elegibilidad {
+  private Elegibilidad() {}
+
+  static int edad(LocalDate fechaNacimiento, LocalDate hoy) {
+    return Period.between(fechaNacimiento, hoy).getYears();
+  }
+
+  // null si puede apuntarse; si no, el motivo
+  static String motivo(LocalDate fechaNacimiento, String idioma, Integer edadMinima, String idiomasPermitidos) {
+    if (edadMinima != null && fechaNacimiento != null && edad(fechaNacimiento, LocalDate.now()) < edadMinima) {
+      return "Edad mínima para este evento: " + edadMinima + " años";
+    }
+    if (!Idiomas.admite(idiomasPermitidos, idioma)) {
+      return "El evento no admite el idioma del usuario (idiomas: " + idiomasPermitidos + ")";
+    }
+    return null;
+  }
+
+  static void comprobar(LocalDate fechaNacimiento, String idioma, Integer edadMinima, String idiomasPermitidos) {
+    String motivo = motivo(fechaNacimiento, idioma, edadMinima, idiomasPermitidos);
+    if (motivo != null) throw new NoElegibleException(motivo);
+  }
+}
@@ -0,0 +1,178 @@
+package com.eventmanager.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Caché en memoria de las vistas de eventos (por id) y de los listados (todos, por participante
+// y por creador, guardados como listas de ids). Los listados se recomponen a partir de las vistas,
+// así que un join/leave solo invalida la vista de ese evento y la lista de ese usuario.
+// Cada invalidación sube `generacion`: las vistas de una carga que empezó antes no se guardan,
+// para que una lectura lenta no deje en la caché el contador de antes de un join/leave.
+// Las invalidaciones son solo de esta instancia: cada listado guarda el sello (ETag) con el que se
+// cargó y, si se pide con otro, se vuelve a cargar entero; así una escritura hecha en otra
+// instancia no deja un cuerpo viejo bajo un ETag nuevo.
+// Métricas: cache.gets{result=hit|miss}, cache.evictions, cache.size con cache=eventos.*
+@Component
+public class EventoCache {
+  private static final String TODOS = "todos";
+
+  private final Cache<Long, EventoView> vistas;
+  private final Cache<String, Lista> listado;
+  private final Cache<Long, Lista> participa;
+  private final Cache<Long, Lista> creados;
+  private final AtomicLong generacion = new AtomicLong();
+
+  @Autowired
+  public EventoCache(MeterRegistry registry,
+                     @Value("${app.cache.eventos.max-vistas:10000}") long maxVistas,
+                     @Value("${app.cache.eventos.max-usuarios:10000}") long maxUsuarios,
+                     @Value("${app.cache.eventos.ttl:PT5M}") Duration ttl) {
+    this.vistas = crear(registry, "eventos.vistas", maxVistas, ttl);
+    this.listado = crear(registry, "eventos.listado", 1, ttl);
+    this.participa = crear(registry, "eventos.participa", maxUsuarios, ttl);
+    this.creados = crear(registry, "eventos.creados", maxUsuarios, ttl);
+  }
+
+  // Ids de un listado y el sello con el que se cargó (null si se pidió sin sello)
+  private record Lista(String sello, List<Long> ids) {}
+
+  // sello: el del listado leído justo antes, en la misma transacción; null vale cualquier lista guardada
+  public List<EventoView> todos(String sello, Supplier<List<EventoView>> consulta,
+                                Function<Set<Long>, List<EventoView>> porIds) {
+    return lista(listado, TODOS, sello, consulta, porIds);
+  }
+
+  public List<EventoView> deParticipante(Long clienteId, String sello, Supplier<List<EventoView>> consulta,
+                                         Function<Set<Long>, List<EventoView>> porIds) {
+    return lista(participa, clienteId, sello, consulta, porIds);
+  }
+
+  public List<EventoView> deCreador(Long creadorId, String sello, Supplier<List<EventoView>> consulta,
+                                    Function<Set<Long>, List<EventoView>> porIds) {
+    return lista(creados, creadorId, sello, consulta, porIds);
+  }
+
+  // El creador queda apuntado a su propio evento, así que cambian sus dos listas y el listado
+  public void alCrear(Long creadorId) {
+    invalidar(() -> {
+      listado.invalidate(TODOS);
+      creados.invalidate(creadorId);
+      participa.invalidate(creadorId);
+    });
+  }
+
+  public void alCambiarParticipantes(Long eventoId, Long clienteId) {
+    invalidar(() -> {
+      vistas.invalidate(eventoId);
+      participa.invalidate(clienteId);
+    });
+  }
+
+  public void invalidarTodo() {
+    generacion.incrementAndGet();
+    vistas.invalidateAll();
+    listado.invalidateAll();
+    participa.invalidateAll();
+    creados.invalidateAll();
+  }
+
+  // Dentro de una transacción de escritura se pueden estar viendo datos sin confirmar (o que
+  // acabarán en rollback): se consulta directamente y no se toca la caché.
+  // Una lista cargada con otro sello se descarta y se carga de nuevo con sus vistas: las vistas
+  // guardadas pueden ser de antes del cambio. Si ha habido una invalidación durante la carga, la
+  // lista tampoco se guarda.
+  private <K> List<EventoView> lista(Cache<K, Lista> ids, K clave, String sello, Supplier<List<EventoView>> consulta,
+                                     Function<Set<Long>, List<EventoView>> porIds) {
+    if (enTransaccionDeEscritura()) return consulta.get();
+
+    Lista guardada = ids.asMap().get(clave);
+    if (guardada != null && sello != null && !sello.equals(guardada.sello())) {
+      ids.asMap().remove(clave, guardada);
+    }
+    List<List<EventoView>> recien = new ArrayList<>(1);
+    Lista lista = ids.get(clave, k -> {
+      long gen = generacion.get();
+      var cargadas = consulta.get();
+      recien.add(cargadas);
+      return guardarVistas(gen, cargadas) ? new Lista(sello, cargadas.stream().map(EventoView::id).toList()) : null;
+    });
+    if (!recien.isEmpty()) return recien.get(0);
+
+    Map<Long, EventoView> porId = new HashMap<>(vistas.getAllPresent(lista.ids()));
+    var faltan = lista.ids().stream().filter(id -> !porId.containsKey(id)).collect(Collectors.toSet());
+    if (!faltan.isEmpty()) {
+      long genFaltan = generacion.get();
+      var cargadas = porIds.apply(faltan);
+      guardarVistas(genFaltan, cargadas);
+      cargadas.forEach(v -> porId.put(v.id(), v));
+    }
+    return lista.ids().stream().map(porId::get).filter(Objects::nonNull).toList();
+  }
+
+  // Guarda las vistas cargadas desde la generación `gen`. Si entretanto ha habido una invalidación
+  // se quitan otra vez: o la invalidación ve la vista guardada o la comprobación ve la generación
+  // nueva (la invalidación sube la generación antes de quitar). Devuelve si se han quedado.
+  private boolean guardarVistas(long gen, List<EventoView> cargadas) {
+    if (generacion.get() != gen) return false;
+    cargadas.forEach(v -> vistas.put(v.id(), v));
+    if (generacion.get() != gen) {
+      vistas.invalidateAll(cargadas.stream().map(EventoView::id).toList());
+      return false;
+    }
+    return true;
+  }
+
+  // Se invalida ya (las lecturas concurrentes dejan de ver la entrada vieja) y otra vez tras el
+  // commit, por si alguna lectura volvió a cargar el valor anterior entre medias.
+  private void invalidar(Runnable accion) {
+    Runnable conGeneracion = () -> {
+      generacion.incrementAndGet();
+      accion.run();
+    };
+    conGeneracion.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          conGeneracion.run();
+        }
+      });
+    }
+  }
+
+  private static boolean enTransaccionDeEscritura() {
+    return TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+  }
+
+  private static <K, V> Cache<K, V> crear(MeterRegistry registry, String nombre, long max, Duration ttl) {
+    Cache<K, V> cache = Caffeine.newBuilder()
+        .maximumSize(max)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    return CaffeineCacheMetrics.monitor(registry, cache, nombre);
+  }
+}
@@ -0,0 +1,52 @@
+package com.eventmanager.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+import com.eventmanager.domain.Evento;
+import com.eventmanager.dto.EventoDtos.EventoView;
+
+import jakarta.validation.ValidationException;
+
+// Posición opaca para la paginación por keyset de la búsqueda: último (fecha, hora, id) devuelto.
+// Si fue una ocurrencia de serie, id es el de la serie y serie = true: a igual fecha y hora los
+// eventos van antes que las ocurrencias. Los cursores antiguos (sin la 4ª parte) son de evento.
+record EventoCursor(LocalDate fecha, LocalTime hora, Long id, boolean serie) {
+
+  static EventoCursor de(Evento e) {
+    return new EventoCursor(e.getFecha(), e.getHora(), e.getId(), false);
+  }
+
+  static EventoCursor de(EventoView v) {
+    return v.idSerie() != null
+        ? new EventoCursor(v.fecha(), v.hora(), v.idSerie(), true)
+        : new EventoCursor(v.fecha(), v.hora(), v.id(), false);
+  }
+
+  // ¿Va la vista después de esta posición en el orden (fecha, hora, evento/ocurrencia, id)?
+  boolean antesDe(EventoView v) {
+    int c = v.fecha().compareTo(fecha);
+    if (c == 0) c = v.hora().compareTo(hora);
+    if (c == 0) c = Boolean.compare(v.idSerie() != null, serie);
+    if (c == 0) c = Long.compare(v.idSerie() != null ? v.idSerie() : v.id(), id);
+    return c > 0;
+  }
+
+  String codificar() {
+    String raw = fecha + "|" + hora + "|" + id + (serie ? "|S" : "");
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static EventoCursor decodificar(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] partes = raw.split("\\|");
+      boolean serie = partes.length > 3 && "S".equals(partes[3]);
+      return new EventoCursor(LocalDate.parse(partes[0]), LocalTime.parse(partes[1]), Long.parseLong(partes[2]), serie);
+    } catch (RuntimeException ex) {
+      throw new ValidationException("Cursor de paginación inválido");
+    }
+  }
+}
@@ -1,128 +1,532 @@
 package com.eventmanager.service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.eventmanager.domain.Coordenadas;
 import com.eventmanager.domain.Evento;
 import com.eventmanager.domain.Evento.Restricciones;
 import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCercano;
 import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.EventoFiltro;
+import com.eventmanager.dto.EventoDtos.EventoPagina;
 import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.dto.EventoDtos.ParticipantesPagina;
+import com.eventmanager.dto.EventoDtos.PuestoEspera;
+import com.eventmanager.dto.EventoDtos.ResultadoLote;
 import com.eventmanager.repository.ClienteRepository;
 import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.repository.EventoSpecs;
 import com.eventmanager.service.errors.DatabaseSchemaMismatchException;
 import com.eventmanager.service.errors.SqlErrorDetails;
 
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.PersistenceException;
 import jakarta.validation.ValidationException;
 
 @Service
+@Observed(name = "servicio")
 public class EventoService {
+  private static final Logger log = LoggerFactory.getLogger(EventoService.class);
+  static final int LIMITE_POR_DEFECTO = 20;
+  static final int LIMITE_MAXIMO = 100;
+  // Tamaño de lote para el IN (...) de participantes; lejos del límite de parámetros de Postgres
+  static final int LOTE_PARTICIPANTES = 1000;
+  // Eventos por bloque al recorrer la tabla en streaming (igual que el fetch size del repositorio)
+  static final int LOTE_STREAMING = 500;
+  // Eventos por flush+clear en el alta masiva (múltiplo de hibernate.jdbc.batch_size)
+  static final int LOTE_ALTA = 500;
+  // Radio máximo de la búsqueda por cercanía: ~90 filas de la rejilla de Coordenadas
+  static final double MAX_RADIO_KM = 500;
+  // Páginas de GET /{id}/participants: son solo ids, se permiten más que en los listados
+  static final int PARTICIPANTES_POR_DEFECTO = 100;
+  static final int PARTICIPANTES_MAXIMO = 1000;
+
   private final EventoRepository repo;
   private final ClienteRepository clienteRepo;
+  private final ReservaPlazasService reservas;
+  private final EventoCache cache;
+  private final SerieEventoService series;
+  private final BuscadorTexto buscador;
+  private final Gazetteer gazetteer;
+  private final BuscadorCercanos cercanos;
+  private final Outbox outbox;
+  private final ListaEsperaService listaEspera;
+  @PersistenceContext
+  private EntityManager em;
+  // Traza de vistas: 1 de cada N, y solo con DEBUG activo para esta clase
+  @Value("${app.log.muestreo-vistas:100}")
+  private int muestreoVistas = 100;
+  private final AtomicLong vistasGeneradas = new AtomicLong();
+  @Value("${app.eventos.max-alta-masiva:5000}")
+  private int maxAltaMasiva = 5000;
 
-  public EventoService(EventoRepository repo, ClienteRepository clienteRepo) {
+  public EventoService(EventoRepository repo, ClienteRepository clienteRepo, ReservaPlazasService reservas,
+                       EventoCache cache, SerieEventoService series, BuscadorTexto buscador,
+                       Gazetteer gazetteer, BuscadorCercanos cercanos, Outbox outbox,
+                       ListaEsperaService listaEspera) {
     this.repo = repo;
     this.clienteRepo = clienteRepo;
+    this.reservas = reservas;
+    this.cache = cache;
+    this.series = series;
+    this.buscador = buscador;
+    this.gazetteer = gazetteer;
+    this.cercanos = cercanos;
+    this.outbox = outbox;
+    this.listaEspera = listaEspera;
   }
 
   public List<EventoView> listar() {
+    return listar(null);
+  }
+
+  // sello: el de selloListado() leído antes en la misma transacción (ver conSello)
+  public List<EventoView> listar(String sello) {
+    try {
+      return cache.todos(sello, () -> toViews(repo.findAll()), this::vistasPorId);
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  // Recorre todos los eventos sin tenerlos en memoria: se leen con un cursor, se convierten a
+  // vista por bloques (participantes en una consulta por bloque) y se sueltan del contexto de
+  // persistencia antes del siguiente. La memoria no depende del tamaño de la tabla.
+  @Transactional(readOnly = true)
+  public void recorrer(Consumer<EventoView> destino) {
+    try (var eventos = repo.streamAllOrderById()) {
+      List<Evento> lote = new ArrayList<>(LOTE_STREAMING);
+      eventos.forEach(e -> {
+        lote.add(e);
+        if (lote.size() == LOTE_STREAMING) volcar(lote, destino);
+      });
+      volcar(lote, destino);
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  private void volcar(List<Evento> lote, Consumer<EventoView> destino) {
+    toViews(lote).forEach(destino);
+    lote.forEach(em::detach);
+    lote.clear();
+  }
+
+  // GET condicional: el sello y el cuerpo en una sola transacción de solo lectura, así salen de la
+  // misma base de datos (primaria o réplica), y el cuerpo se lee después del sello: nunca es más
+  // antiguo que su ETag. respuesta recibe el sello y decide si carga el cuerpo.
+  @Transactional(readOnly = true)
+  public <T> T conSello(Supplier<String> sello, Function<String, T> respuesta) {
+    return respuesta.apply(sello.get());
+  }
+
+  // Versión de cada listado para ETag: una consulta agregada, sin cargar eventos
+  public String selloListado() {
+    return sello(repo::selloListado);
+  }
+
+  public String selloMisEventos(Long clienteId) {
+    return sello(() -> repo.selloParticipante(clienteId));
+  }
+
+  public String selloMisEventosCreados(Long creadorId) {
+    return sello(() -> repo.selloCreador(creadorId));
+  }
+
+  private String sello(Supplier<String> consulta) {
+    try {
+      return consulta.get();
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  // Búsqueda filtrada y paginada por keyset: como mucho limite + 1 eventos en una consulta, más
+  // las ocurrencias de series que caen entre el cursor y el último de esos eventos (o el final de
+  // la ventana si no hay más eventos). Sin 'desde', las ocurrencias empiezan hoy.
+  public EventoPagina buscar(EventoFiltro filtro, String cursor, Integer limite) {
+    int n = limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    var spec = EventoSpecs.filtro(filtro);
+    EventoCursor c = cursor != null && !cursor.isBlank() ? EventoCursor.decodificar(cursor) : null;
+    if (c != null) {
+      spec = spec.and(c.serie() ? EventoSpecs.posteriorA(c.fecha(), c.hora())
+                                : EventoSpecs.despuesDe(c.fecha(), c.hora(), c.id()));
+    }
+    try {
+      List<Evento> filas = repo.findBy(spec, q -> q.sortBy(EventoSpecs.ORDEN).limit(n + 1).all());
+
+      LocalDate desde = filtro != null && filtro.desde() != null ? filtro.desde() : LocalDate.now();
+      if (c != null && c.fecha().isAfter(desde)) desde = c.fecha();
+      LocalDate hasta = filas.size() > n ? filas.get(n).getFecha() : series.finVentana(desde);
+      if (filtro != null && filtro.hasta() != null && filtro.hasta().isBefore(hasta)) hasta = filtro.hasta();
+      // +1 por la ocurrencia de cada serie que puede coincidir con el cursor y se descarta
+      var ocurrencias = series.buscarOcurrencias(filtro, desde, hasta, n + 2).stream()
+          .filter(v -> c == null || c.antesDe(v)).toList();
+
+      if (ocurrencias.isEmpty()) return pagina(filas, n);
+      List<EventoView> vistas = new ArrayList<>(toViews(filas));
+      vistas.addAll(ocurrencias);
+      vistas.sort(SerieEventoService.POR_FECHA
+          .thenComparing(v -> v.idSerie() != null)
+          .thenComparing(v -> v.idSerie() != null ? v.idSerie() : v.id()));
+      boolean hayMas = vistas.size() > n;
+      var pagina = hayMas ? List.copyOf(vistas.subList(0, n)) : vistas;
+      String siguiente = hayMas ? EventoCursor.de(pagina.get(n - 1)).codificar() : null;
+      return new EventoPagina(pagina, siguiente);
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  // Búsqueda de texto en título, tags, lugar y descripción, por relevancia y con prefijos
+  // ("conci" encuentra "concierto"); todos los términos tienen que aparecer. Los ids los da
+  // BuscadorTexto y las vistas salen de la caché.
+  public List<EventoView> buscarTexto(String texto, Integer limite) {
+    int n = limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    try {
+      var ids = buscador.buscar(texto, n);
+      if (ids.isEmpty()) return List.of();
+      Map<Long, EventoView> porId = new HashMap<>();
+      vistasPorId(Set.copyOf(ids)).forEach(v -> porId.put(v.id(), v));
+      return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  // "Eventos a los que me puedo apuntar": futuros, con plazas, en los que el cliente aún no está y
+  // cuyas restricciones cumple (edad a partir de fechaNacimiento, idioma por máscara de bits).
+  // Todo se filtra en SQL sobre columnas planas; se pagina por keyset como buscar.
+  public EventoPagina buscarElegibles(Long clienteId, String cursor, Integer limite) {
+    int n = limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    try {
+      var cliente = clienteRepo.findPerfil(clienteId)
+          .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
+      LocalDate hoy = LocalDate.now();
+      var spec = EventoSpecs.desde(hoy)
+          .and(EventoSpecs.elegiblePara(Elegibilidad.edad(cliente.getFechaNacimiento(), hoy), cliente.getIdioma()))
+          .and(EventoSpecs.conPlazas())
+          .and(EventoSpecs.sinParticipante(clienteId));
+      if (cursor != null && !cursor.isBlank()) {
+        var c = EventoCursor.decodificar(cursor);
+        spec = spec.and(EventoSpecs.despuesDe(c.fecha(), c.hora(), c.id()));
+      }
+      return pagina(repo.findBy(spec, q -> q.sortBy(EventoSpecs.ORDEN).limit(n + 1).all()), n);
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  // Eventos futuros a menos de radioKm del centro, del más cercano al más lejano. Solo entran los
+  // eventos cuyo lugar se pudo geocodificar con el nomenclátor (ver Gazetteer).
+  public List<EventoCercano> buscarCerca(Coordenadas centro, double radioKm, Integer limite) {
+    int n = limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    if (!(radioKm > 0 && radioKm <= MAX_RADIO_KM)) {
+      throw new ValidationException("El radio debe estar entre 0 y " + (int) MAX_RADIO_KM + " km");
+    }
+    try {
+      var encontrados = cercanos.buscar(centro, radioKm, LocalDate.now(), n);
+      if (encontrados.isEmpty()) return List.of();
+      Map<Long, EventoView> porId = new HashMap<>();
+      vistasPorId(encontrados.stream().map(BuscadorCercanos.Cercano::id).collect(Collectors.toSet()))
+          .forEach(v -> porId.put(v.id(), v));
+      return encontrados.stream()
+          .filter(c -> porId.containsKey(c.id()))
+          .map(c -> new EventoCercano(porId.get(c.id()), c.coordenadas().latitud(), c.coordenadas().longitud(),
+                                      Math.round(c.distanciaKm() * 100) / 100.0))
+          .toList();
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  // Vistas de unos eventos concretos, en cualquier orden (los que no existan no salen)
+  public List<EventoView> vistas(Set<Long> ids) {
+    if (ids.isEmpty()) return List.of();
+    try {
+      return vistasPorId(ids);
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  // Coordenadas de un lugar o ciudad escritos a mano
+  public Coordenadas ubicar(String lugar) {
+    return gazetteer.geocodificar(lugar)
+        .orElseThrow(() -> new ValidationException("Ubicación desconocida: \"" + lugar + "\""));
+  }
+
+  // Coordenadas de la ciudad del perfil del cliente
+  public Coordenadas ubicarCliente(Long clienteId) {
+    String ciudad;
     try {
-      return repo.findAll().stream().map(this::toView).toList();
+      ciudad = clienteRepo.findCiudad(clienteId).orElse(null);
     } catch (DataAccessException ex) {
       var det = SqlErrorDetails.from(ex);
-      throw new DatabaseSchemaMismatchException(buildUserMessage(det), ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
     } catch (PersistenceException ex) {
       var det = SqlErrorDetails.from(ex);
-      throw new DatabaseSchemaMismatchException(buildUserMessage(det), ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+    if (ciudad == null || ciudad.isBlank()) {
+      throw new ValidationException("Indica tu ciudad en el perfil para buscar eventos cerca de ti");
     }
+    return ubicar(ciudad);
+  }
+
+  // Participantes de un evento de n en n por id creciente; el cursor es el último id devuelto
+  public ParticipantesPagina participantes(Long eventoId, String cursor, Integer limite) {
+    int n = limite == null ? PARTICIPANTES_POR_DEFECTO : Math.max(1, Math.min(limite, PARTICIPANTES_MAXIMO));
+    long desde;
+    try {
+      desde = cursor == null || cursor.isBlank() ? Long.MIN_VALUE : Long.parseLong(cursor.trim());
+    } catch (NumberFormatException ex) {
+      throw new ValidationException("Cursor inválido");
+    }
+    try {
+      int total = repo.findNumParticipantes(eventoId)
+          .orElseThrow(() -> new RuntimeException("Evento no encontrado"));
+      var ids = repo.findParticipantesDesde(eventoId, desde, n + 1);
+      boolean hayMas = ids.size() > n;
+      var pagina = hayMas ? List.copyOf(ids.subList(0, n)) : ids;
+      return new ParticipantesPagina(pagina, total, hayMas ? String.valueOf(pagina.get(n - 1)) : null);
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  // Página de hasta n eventos a partir de n + 1 filas (la última solo indica si hay más)
+  private EventoPagina pagina(List<Evento> filas, int n) {
+    boolean hayMas = filas.size() > n;
+    var pagina = hayMas ? filas.subList(0, n) : filas;
+    String siguiente = hayMas ? EventoCursor.de(pagina.get(n - 1)).codificar() : null;
+    return new EventoPagina(toViews(pagina), siguiente);
   }
 
   public List<EventoView> listarMisEventos(Long clienteId) {
+    return listarMisEventos(clienteId, null);
+  }
+
+  public List<EventoView> listarMisEventos(Long clienteId, String sello) {
     try {
-      return repo.findEventosByParticipanteId(clienteId)
-        .stream()
-        .map(this::toView)
-        .toList();
+      return cache.deParticipante(clienteId, sello,
+          () -> toViews(repo.findEventosByParticipanteId(clienteId)), this::vistasPorId);
     } catch (DataAccessException ex) {
       var det = SqlErrorDetails.from(ex);
-      throw new DatabaseSchemaMismatchException(buildUserMessage(det), ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
     } catch (PersistenceException ex) {
       var det = SqlErrorDetails.from(ex);
-      throw new DatabaseSchemaMismatchException(buildUserMessage(det), ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
     }
   }
 
   public List<EventoView> listarMisEventosCreados(Long creadorId) {
+    return listarMisEventosCreados(creadorId, null);
+  }
+
+  public List<EventoView> listarMisEventosCreados(Long creadorId, String sello) {
     try {
-      return repo.findByIdCreadorOrderByFechaAscHoraAsc(creadorId)
-        .stream()
-        .map(this::toView)
-        .toList();
+      return cache.deCreador(creadorId, sello,
+          () -> toViews(repo.findByIdCreadorOrderByFechaAscHoraAsc(creadorId)), this::vistasPorId);
     } catch (DataAccessException ex) {
       var det = SqlErrorDetails.from(ex);
-      throw new DatabaseSchemaMismatchException(buildUserMessage(det), ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
     } catch (PersistenceException ex) {
       var det = SqlErrorDetails.from(ex);
-      throw new DatabaseSchemaMismatchException(buildUserMessage(det), ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
     }
   }
 
+  @Transactional
   public EventoView crear(EventoCreate req) {
     try {
-      if (req.fecha() == null) {
-        throw new ValidationException("La fecha del evento es obligatoria");
-      }
-      if (req.fecha().isBefore(LocalDate.now())) {
-        throw new ValidationException("La fecha del evento no puede ser anterior a hoy");
-      }
-      var e = new Evento();
-      e.setFecha(req.fecha());
-      e.setHora(req.hora());          
-      e.setLugar(req.lugar());
-      e.setTitulo(req.titulo());
-      e.setDescripcion(req.descripcion());
-      e.setIdCreador(req.idCreador());
-      e.setTags(req.tags()); 
-
-      if (req.restricciones() != null) {
-        e.setRestricciones(new Restricciones(
-          req.restricciones().idiomaRequerido(),
-          req.restricciones().edad_minima(),
-          req.restricciones().plazasDisponibles()
-        ));
-      }
+      var e = nuevoEvento(req);
       var creador = clienteRepo.findById(req.idCreador())
                 .orElseThrow(() -> new RuntimeException("Cliente creador no encontrado"));
       e.addParticipante(creador);
 
       var saved = repo.save(e);
-      return toView(saved);
+      outbox.registrar(Outbox.EVENTO_CREADO, saved.getId(), creador.getId());
+      cache.alCrear(creador.getId());
+      return toView(saved, IdsOrdenados.de(creador.getId()));
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+
+  // Alta masiva (eventos recurrentes o importados): todo o nada. Los creadores se validan con una
+  // sola consulta y se enlazan por referencia, sin cargarlos; los INSERT salen en batch gracias a
+  // los ids por secuencia (hibernate.jdbc.batch_size) y el contexto se vacía cada LOTE_ALTA.
+  @Transactional
+  public List<EventoView> crearLote(List<EventoCreate> reqs) {
+    if (reqs.size() > maxAltaMasiva) {
+      throw new ValidationException("Máximo " + maxAltaMasiva + " eventos por petición.");
+    }
+    try {
+      List<Evento> nuevos = new ArrayList<>(reqs.size());
+      for (int i = 0; i < reqs.size(); i++) {
+        try {
+          nuevos.add(nuevoEvento(reqs.get(i)));
+        } catch (ValidationException ex) {
+          throw new ValidationException("Evento " + i + ": " + ex.getMessage());
+        }
+      }
+      Set<Long> creadores = new HashSet<>();
+      reqs.forEach(r -> creadores.add(r.idCreador()));
+      creadores.remove(null);
+      creadores.removeAll(clienteRepo.findIdsExistentes(creadores));
+      for (int i = 0; i < reqs.size(); i++) {
+        Long creador = reqs.get(i).idCreador();
+        if (creador == null || creadores.contains(creador)) {
+          throw new ValidationException("Evento " + i + ": Cliente creador no encontrado");
+        }
+      }
+
+      List<EventoView> vistas = new ArrayList<>(reqs.size());
+      for (int i = 0; i < nuevos.size(); i++) {
+        var e = nuevos.get(i);
+        e.addParticipante(clienteRepo.getReferenceById(e.getIdCreador()));
+        em.persist(e);
+        if ((i + 1) % LOTE_ALTA == 0 || i == nuevos.size() - 1) {
+          em.flush();
+          em.clear();
+        }
+        vistas.add(toView(e, IdsOrdenados.de(e.getIdCreador())));
+      }
+      outbox.registrarTodos(Outbox.EVENTO_CREADO,
+          nuevos.stream().map(e -> new EventoAdd(e.getId(), e.getIdCreador())).toList());
+      nuevos.stream().map(Evento::getIdCreador).distinct().forEach(cache::alCrear);
+      return vistas;
     } catch (DataAccessException ex) {
       var det = SqlErrorDetails.from(ex);
-      throw new DatabaseSchemaMismatchException(buildUserMessage(det), ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
     } catch (PersistenceException ex) {
       var det = SqlErrorDetails.from(ex);
-      throw new DatabaseSchemaMismatchException(buildUserMessage(det), ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
     }
   }
 
-  private String buildUserMessage(SqlErrorDetails.Parsed det) {
-    String base = switch (det.kind()) {
-      case "COLUMN_NOT_FOUND" -> "Columna inexistente en BD: \"" + det.name() + "\".";
-      case "TABLE_NOT_FOUND"  -> "Tabla inexistente en BD: \"" + det.name() + "\".";
-      case "SQL_SYNTAX_ERROR" -> "Error de sintaxis SQL cerca de: \"" + det.name() + "\".";
-      default -> "Incompatibilidad de esquema entre entidad y base de datos.";
-    };
-    return det.sqlState() != null ? base + " (sqlState=" + det.sqlState() + ")" : base;
+  private Evento nuevoEvento(EventoCreate req) {
+    if (req.fecha() == null) {
+      throw new ValidationException("La fecha del evento es obligatoria");
+    }
+    if (req.fecha().isBefore(LocalDate.now())) {
+      throw new ValidationException("La fecha del evento no puede ser anterior a hoy");
+    }
+    var e = new Evento();
+    e.setFecha(req.fecha());
+    e.setHora(req.hora());
+    e.setLugar(req.lugar());
+    e.setTitulo(req.titulo());
+    e.setDescripcion(req.descripcion());
+    e.setIdCreador(req.idCreador());
+    e.setTags(req.tags());
+    e.setCoordenadas(gazetteer.geocodificar(req.lugar()).orElse(null));
+
+    if (req.restricciones() != null) {
+      e.setRestricciones(new Restricciones(
+        req.restricciones().idiomaRequerido(),
+        req.restricciones().edad_minima(),
+        req.restricciones().plazasDisponibles()
+      ));
+    }
+    return e;
   }
 
-  private EventoView toView(Evento e) {
+  // Carga los participantes de todos los eventos de golpe: 1 consulta por lote, no 1 por evento
+  private List<EventoView> toViews(List<Evento> eventos) {
+    if (eventos.isEmpty()) return List.of();
+    var ids = eventos.stream().map(Evento::getId).toList();
+    Map<Long, List<Long>> participantes = new HashMap<>();
+    for (int i = 0; i < ids.size(); i += LOTE_PARTICIPANTES) {
+      var lote = ids.subList(i, Math.min(i + LOTE_PARTICIPANTES, ids.size()));
+      for (var p : repo.findParticipanteIdsByEventoIds(lote)) {
+        participantes.computeIfAbsent(p.getEventoId(), k -> new ArrayList<>()).add(p.getClienteId());
+      }
+    }
+    // Inmutables y sobre long[] (IdsOrdenados): las vistas se comparten desde la caché
+    return eventos.stream()
+      .map(e -> toView(e, IdsOrdenados.de(participantes.getOrDefault(e.getId(), List.of()))))
+      .toList();
+  }
+
+  private List<EventoView> vistasPorId(Set<Long> ids) {
+    return toViews(repo.findAllById(ids));
+  }
+
+  private EventoView toView(Evento e, List<Long> participantesIds) {
+    if (log.isDebugEnabled() && vistasGeneradas.incrementAndGet() % Math.max(1, muestreoVistas) == 0) {
+      log.debug("vista_evento id={} participantes={} muestreo=1/{}", e.getId(), participantesIds.size(), muestreoVistas);
+    }
+    return vista(e, participantesIds);
+  }
+
+  // Entidad -> vista, sin estado del servicio (lo mide EventoVistaBenchmark)
+  public static EventoView vista(Evento e, List<Long> participantesIds) {
     var r = e.getRestricciones();
-    System.err.printf("Participantes: ", e.getParticipantes().stream().map(p -> p.getId()).toList());
     return new EventoView(
       e.getId(), e.getFecha(), e.getHora(), e.getLugar(),
       r != null ? r.getIdiomas_permitidos() : null,
@@ -131,41 +535,92 @@ public class EventoService {
       e.getTitulo(), e.getDescripcion(),
       e.getIdCreador(),
       e.getTags() == null ? List.of() : e.getTags(),   // <- AQUI
-      e.getParticipantes().stream().map(p -> p.getId()).toList()
+      participantesIds,
+      null,
+      participantesIds.size(),
+      null
     );
   }
 
 
+  // Join/leave sin cargar el set de participantes; la lógica de plazas está en ReservaPlazasService.
+  // La caché local se invalida aquí (quien se apunta ve el cambio al recargar); el resto de efectos
+  // salen del mensaje que se deja en el outbox en la misma transacción.
   public EventoView addParticipante(EventoAdd dto) {
-    var participante = clienteRepo.findById(dto.idParticipante())
-            .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
-    var evento = repo.findByIdWithParticipantes(dto.idEvento())
-            .orElseThrow(() -> new RuntimeException("Evento no encontrado"));
+    return reservas.conReintentos(() -> {
+      reservas.reservar(dto.idEvento(), dto.idParticipante());
+      outbox.registrar(Outbox.PARTICIPANTE_UNIDO, dto.idEvento(), dto.idParticipante());
+      cache.alCambiarParticipantes(dto.idEvento(), dto.idParticipante());
+      return vistaActual(dto.idEvento());
+    });
+  }
 
-    // Verificar que el participante no esté ya apuntado
-    if (evento.getParticipantes().contains(participante)) {
-      throw new RuntimeException("El usuario ya está apuntado a este evento");
-    }
+  public EventoView removeParticipante(EventoAdd dto) {
+    return reservas.conReintentos(() -> {
+      reservas.liberar(dto.idEvento(), dto.idParticipante());
+      outbox.registrar(Outbox.PARTICIPANTE_SALIDO, dto.idEvento(), dto.idParticipante());
+      cache.alCambiarParticipantes(dto.idEvento(), dto.idParticipante());
+      promover(List.of(dto.idEvento()));
+      return vistaActual(dto.idEvento());
+    });
+  }
 
-    evento.addParticipante(participante);
-    repo.save(evento);
+  // Lista de espera de eventos completos (ver ListaEsperaService). Si queda plaza se apunta
+  // directamente, igual que join.
+  public PuestoEspera esperar(EventoAdd dto) {
+    return reservas.conReintentos(() -> {
+      var puesto = listaEspera.apuntar(dto.idEvento(), dto.idParticipante());
+      if (ListaEsperaService.APUNTADO.equals(puesto.estado())) {
+        outbox.registrar(Outbox.PARTICIPANTE_UNIDO, dto.idEvento(), dto.idParticipante());
+        cache.alCambiarParticipantes(dto.idEvento(), dto.idParticipante());
+      }
+      return puesto;
+    });
+  }
 
-    return toView(evento);
+  public PuestoEspera dejarDeEsperar(EventoAdd dto) {
+    return reservas.conReintentos(() -> listaEspera.salir(dto.idEvento(), dto.idParticipante()));
   }
-  public EventoView removeParticipante(EventoAdd dto) {
-    var participante = clienteRepo.findById(dto.idParticipante())
-            .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
-    var evento = repo.findByIdWithParticipantes(dto.idEvento())
-            .orElseThrow(() -> new RuntimeException("Evento no encontrado"));
 
-    // Verificar que el participante esté realmente apuntado al evento
-    if (!evento.getParticipantes().contains(participante)) {
-      throw new RuntimeException("El usuario no está apuntado a este evento");
-    }
+  public PuestoEspera puestoEnEspera(Long eventoId, Long clienteId) {
+    return reservas.conReintentos(() -> listaEspera.consultar(eventoId, clienteId));
+  }
 
-    evento.removeParticipante(participante);
-    repo.save(evento);
+  // Tras liberar plazas: entran los primeros de la lista de espera, en la misma transacción
+  private void promover(Collection<Long> eventoIds) {
+    var promovidos = listaEspera.promover(eventoIds);
+    outbox.registrarTodos(Outbox.PARTICIPANTE_UNIDO, promovidos);
+    promovidos.forEach(p -> cache.alCambiarParticipantes(p.idEvento(), p.idParticipante()));
+  }
 
-    return toView(evento);
+  // Join/leave de muchos pares en una sola transacción (p.ej. importar asistentes); devuelve el
+  // resultado de cada par en el orden recibido
+  public List<ResultadoLote> addParticipantes(List<EventoAdd> items) {
+    return lote(items, true);
+  }
+
+  public List<ResultadoLote> removeParticipantes(List<EventoAdd> items) {
+    return lote(items, false);
+  }
+
+  private List<ResultadoLote> lote(List<EventoAdd> items, boolean unirse) {
+    if (items.isEmpty()) return List.of();
+    return reservas.conReintentos(() -> {
+      var resultados = unirse ? reservas.reservarLote(items) : reservas.liberarLote(items);
+      var hechos = resultados.stream()
+          .filter(r -> ReservaPlazasService.OK.equals(r.resultado()))
+          .map(r -> new EventoAdd(r.idEvento(), r.idParticipante()))
+          .toList();
+      outbox.registrarTodos(unirse ? Outbox.PARTICIPANTE_UNIDO : Outbox.PARTICIPANTE_SALIDO, hechos);
+      hechos.forEach(p -> cache.alCambiarParticipantes(p.idEvento(), p.idParticipante()));
+      if (!unirse) promover(hechos.stream().map(EventoAdd::idEvento).collect(Collectors.toSet()));
+      return resultados;
+    });
+  }
+
+  private EventoView vistaActual(Long eventoId) {
+    var evento = repo.findById(eventoId)
+            .orElseThrow(() -> new RuntimeException("Evento no encontrado"));
+    return toViews(List.of(evento)).get(0);
   }
-}
\ No newline at end of file
+}
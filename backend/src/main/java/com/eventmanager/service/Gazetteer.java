@@ -0,0 +1,88 @@
+package com.eventmanager.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.eventmanager.domain.Coordenadas;
+
+// Geocodificador offline: nombres de municipio -> coordenadas, del fichero geo/gazetteer.csv que va
+// en el jar. Lugar y ciudad son texto libre ("Sala Apolo, Barcelona", "bcn centro"), así que se
+// prueba por orden: el texto entero, cada trozo separado por comas empezando por el final, y por
+// último el nombre más largo del nomenclátor que aparezca como palabras sueltas dentro del texto.
+// Sin acentos ni mayúsculas. La migración V9 rellenó los eventos existentes con una copia congelada.
+@Component
+public class Gazetteer {
+  static final String RECURSO = "geo/gazetteer.csv";
+  private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^a-z0-9]+");
+  private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+  private final Map<String, Coordenadas> lugares = new HashMap<>();
+  // Para la búsqueda por contenido: los nombres más largos primero ("palma de mallorca" antes que "palma")
+  private final List<String> nombres;
+
+  public Gazetteer() {
+    this(RECURSO);
+  }
+
+  Gazetteer(String recurso) {
+    var entrada = Gazetteer.class.getClassLoader().getResourceAsStream(recurso);
+    if (entrada == null) throw new IllegalStateException("No se encuentra el nomenclátor " + recurso);
+    try (var lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+      String linea;
+      int n = 0;
+      while ((linea = lector.readLine()) != null) {
+        n++;
+        if (linea.isBlank() || linea.startsWith("#")) continue;
+        String[] campos = linea.split(";");
+        if (campos.length != 3) throw new IllegalStateException(recurso + ":" + n + ": se esperaba nombre;latitud;longitud");
+        lugares.put(normalizar(campos[0]),
+            new Coordenadas(Double.parseDouble(campos[1].trim()), Double.parseDouble(campos[2].trim())));
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    nombres = lugares.keySet().stream()
+        .sorted(Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()))
+        .toList();
+  }
+
+  public Optional<Coordenadas> geocodificar(String lugar) {
+    if (lugar == null || lugar.isBlank()) return Optional.empty();
+    var exacto = lugares.get(normalizar(lugar));
+    if (exacto != null) return Optional.of(exacto);
+
+    String[] trozos = lugar.split(",");
+    for (int i = trozos.length - 1; i >= 0; i--) {
+      var c = lugares.get(normalizar(trozos[i]));
+      if (c != null) return Optional.of(c);
+    }
+    String texto = " " + normalizar(lugar) + " ";
+    for (String nombre : nombres) {
+      if (texto.contains(" " + nombre + " ")) return Optional.of(lugares.get(nombre));
+    }
+    return Optional.empty();
+  }
+
+  public int size() {
+    return lugares.size();
+  }
+
+  // "L'Hospitalet de Llobregat" -> "l hospitalet de llobregat"
+  static String normalizar(String texto) {
+    String sinAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+    return NO_ALFANUMERICO.matcher(sinAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+  }
+}
@@ -0,0 +1,69 @@
+package com.eventmanager.service;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+// Lista inmutable de ids de participantes sobre un long[] ordenado y sin repetidos: 8 bytes por
+// id en las vistas de la caché en vez de un Long por id, y contains por búsqueda binaria (para
+// calcular "unido" en la vista compacta). Jackson la serializa como cualquier lista.
+final class IdsOrdenados extends AbstractList<Long> implements RandomAccess {
+  static final IdsOrdenados VACIO = new IdsOrdenados(new long[0]);
+
+  private final long[] ids;
+
+  private IdsOrdenados(long[] ids) {
+    this.ids = ids;
+  }
+
+  static IdsOrdenados de(Collection<Long> ids) {
+    if (ids.isEmpty()) return VACIO;
+    long[] copia = new long[ids.size()];
+    int n = 0;
+    for (Long id : ids) {
+      if (id != null) copia[n++] = id;
+    }
+    Arrays.sort(copia, 0, n);
+    int unicos = 0;
+    for (int i = 0; i < n; i++) {
+      if (unicos == 0 || copia[unicos - 1] != copia[i]) copia[unicos++] = copia[i];
+    }
+    return new IdsOrdenados(unicos == copia.length ? copia : Arrays.copyOf(copia, unicos));
+  }
+
+  static IdsOrdenados de(long id) {
+    return new IdsOrdenados(new long[] {id});
+  }
+
+  boolean contiene(long id) {
+    return Arrays.binarySearch(ids, id) >= 0;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Long id && contiene(id);
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    if (!(o instanceof Long id)) return -1;
+    int i = Arrays.binarySearch(ids, id);
+    return i >= 0 ? i : -1;
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    return indexOf(o);
+  }
+
+  @Override
+  public Long get(int i) {
+    return ids[i];
+  }
+
+  @Override
+  public int size() {
+    return ids.length;
+  }
+}
@@ -0,0 +1,125 @@
+package com.eventmanager.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+// Índice invertido en memoria para la búsqueda de texto cuando no hay Postgres (H2, tests).
+// Se comporta como la columna tsvector: términos en minúsculas separados por todo lo que no sea
+// letra o dígito, todos los términos de la consulta tienen que aparecer (AND) y cada uno casa por
+// prefijo. La puntuación usa los pesos por defecto de ts_rank: título (A) 1.0, tags (B) 0.4,
+// lugar (C) 0.2 y descripción (D) 0.1; por término cuenta el campo de más peso en que aparece.
+// No es seguro para escrituras concurrentes: se construye entero y luego solo se consulta.
+public final class IndiceInvertido {
+  public static final int TITULO = 0;
+  public static final int TAGS = 1;
+  public static final int LUGAR = 2;
+  public static final int DESCRIPCION = 3;
+  private static final float[] PESOS = {1.0f, 0.4f, 0.2f, 0.1f};
+  private static final Pattern SEPARADOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  // Ordenado para sacar todos los términos con un prefijo como un subMap
+  private final TreeMap<String, Postings> terminos = new TreeMap<>();
+  private long[] ids = new long[1024];
+  private int docs;
+
+  public void anadir(long id, String titulo, String descripcion, String lugar, Collection<String> tags) {
+    if (docs == ids.length) ids = Arrays.copyOf(ids, docs * 2);
+    int doc = docs++;
+    ids[doc] = id;
+    indexar(doc, TITULO, titulo);
+    if (tags != null) tags.forEach(t -> indexar(doc, TAGS, t));
+    indexar(doc, LUGAR, lugar);
+    indexar(doc, DESCRIPCION, descripcion);
+  }
+
+  public int size() {
+    return docs;
+  }
+
+  // Ids de los `limite` documentos más relevantes; a igual puntuación, por id
+  public List<Long> buscar(List<String> consulta, int limite) {
+    var unicos = List.copyOf(new LinkedHashSet<>(consulta));
+    if (unicos.isEmpty() || docs == 0 || limite <= 0) return List.of();
+
+    float[] puntos = new float[docs];
+    float[] mejor = new float[docs];
+    // casan[d] = cuántos términos de la consulta (los i primeros) ya aparecen en el documento d
+    int[] casan = new int[docs];
+    for (int i = 0; i < unicos.size(); i++) {
+      String t = unicos.get(i);
+      int siguiente = i + 1;
+      for (Postings p : terminos.subMap(t, true, t + Character.MAX_VALUE, false).values()) {
+        for (int k = 0; k < p.n; k++) {
+          int d = p.docs[k];
+          float w = PESOS[Integer.numberOfTrailingZeros(p.campos[k])];
+          if (casan[d] == i) {
+            casan[d] = siguiente;
+            puntos[d] += w;
+            mejor[d] = w;
+          } else if (casan[d] == siguiente && w > mejor[d]) {
+            // otro término con el mismo prefijo en un campo de más peso
+            puntos[d] += w - mejor[d];
+            mejor[d] = w;
+          }
+        }
+      }
+    }
+
+    // Top-k con un heap cuya cabeza es el peor de los elegidos
+    PriorityQueue<Integer> top = new PriorityQueue<>(limite + 1, (a, b) -> puntos[a] != puntos[b]
+        ? Float.compare(puntos[a], puntos[b]) : Long.compare(ids[b], ids[a]));
+    int todos = unicos.size();
+    for (int d = 0; d < docs; d++) {
+      if (casan[d] != todos) continue;
+      top.add(d);
+      if (top.size() > limite) top.poll();
+    }
+    List<Long> resultado = new ArrayList<>(top.size());
+    while (!top.isEmpty()) resultado.add(ids[top.poll()]);
+    return resultado.reversed();
+  }
+
+  // Términos de un texto, en el orden en que aparecen
+  public static List<String> terminos(String texto) {
+    if (texto == null || texto.isBlank()) return List.of();
+    List<String> terminos = new ArrayList<>();
+    for (String t : SEPARADOR.split(texto.toLowerCase(Locale.ROOT))) {
+      if (!t.isEmpty()) terminos.add(t);
+    }
+    return terminos;
+  }
+
+  private void indexar(int doc, int campo, String texto) {
+    for (String t : terminos(texto)) {
+      terminos.computeIfAbsent(t, k -> new Postings()).anadir(doc, campo);
+    }
+  }
+
+  // Documentos (en orden creciente) en que aparece un término y en qué campos (bit por campo)
+  private static final class Postings {
+    int[] docs = new int[2];
+    byte[] campos = new byte[2];
+    int n;
+
+    void anadir(int doc, int campo) {
+      if (n > 0 && docs[n - 1] == doc) {
+        campos[n - 1] |= (byte) (1 << campo);
+        return;
+      }
+      if (n == docs.length) {
+        docs = Arrays.copyOf(docs, n * 2);
+        campos = Arrays.copyOf(campos, n * 2);
+      }
+      docs[n] = doc;
+      campos[n] = (byte) (1 << campo);
+      n++;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.eventmanager.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Service;
+
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.PuestoEspera;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+// Lista de espera de los eventos completos. Apuntarse y promocionar bloquean antes la fila
+// del evento (como las reservas), así que por evento se serializan: no puede quedar una plaza
+// libre con gente esperando ni promocionarse dos veces al mismo. La promoción va en la misma
+// transacción que el leave que libera la plaza.
+// Todos los métodos deben llamarse dentro de una transacción (ReservaPlazasService.conReintentos).
+@Service
+@Observed(name = "servicio")
+public class ListaEsperaService {
+  public static final String APUNTADO = "APUNTADO";
+  public static final String EN_ESPERA = "EN_ESPERA";
+  public static final String FUERA = "FUERA";
+
+  private final EventoRepository repo;
+  private final ClienteRepository clienteRepo;
+  private final ReservaPlazasService reservas;
+
+  public ListaEsperaService(EventoRepository repo, ClienteRepository clienteRepo, ReservaPlazasService reservas) {
+    this.repo = repo;
+    this.clienteRepo = clienteRepo;
+    this.reservas = reservas;
+  }
+
+  // Si queda plaza se reserva directamente (estado APUNTADO); si no, se entra al final de la cola.
+  // Volver a apuntarse estando ya en la cola solo devuelve la posición.
+  public PuestoEspera apuntar(Long eventoId, Long clienteId) {
+    var cliente = clienteRepo.findPerfil(clienteId)
+        .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
+    var plazas = repo.bloquearPlazas(List.of(eventoId)).stream().findFirst()
+        .orElseThrow(() -> new RuntimeException("Evento no encontrado"));
+    if (repo.existsParticipante(eventoId, clienteId)) {
+      throw new RuntimeException("El usuario ya está apuntado a este evento");
+    }
+    Elegibilidad.comprobar(cliente.getFechaNacimiento(), cliente.getIdioma(),
+        plazas.getEdadMinima(), plazas.getIdiomasPermitidos());
+
+    boolean hayPlaza = plazas.getMaxPersonas() == null || plazas.getNumParticipantes() < plazas.getMaxPersonas();
+    if (hayPlaza) {
+      reservas.reservar(eventoId, clienteId);
+      return new PuestoEspera(eventoId, clienteId, APUNTADO, null, repo.countEspera(eventoId));
+    }
+    if (repo.findPosicionEspera(eventoId, clienteId) == 0) {
+      repo.insertEspera(eventoId, clienteId);
+    }
+    return consultar(eventoId, clienteId);
+  }
+
+  public PuestoEspera salir(Long eventoId, Long clienteId) {
+    if (!repo.existsById(eventoId)) {
+      throw new RuntimeException("Evento no encontrado");
+    }
+    if (repo.deleteEspera(eventoId, clienteId) == 0) {
+      throw new RuntimeException("El usuario no está apuntado a la lista de espera de este evento");
+    }
+    return new PuestoEspera(eventoId, clienteId, FUERA, null, repo.countEspera(eventoId));
+  }
+
+  // clienteId puede ser null: solo el total de la cola
+  public PuestoEspera consultar(Long eventoId, Long clienteId) {
+    if (!repo.existsById(eventoId)) {
+      throw new RuntimeException("Evento no encontrado");
+    }
+    int total = repo.countEspera(eventoId);
+    if (clienteId == null) return new PuestoEspera(eventoId, null, null, null, total);
+    if (repo.existsParticipante(eventoId, clienteId)) {
+      return new PuestoEspera(eventoId, clienteId, APUNTADO, null, total);
+    }
+    int posicion = repo.findPosicionEspera(eventoId, clienteId);
+    return posicion == 0
+        ? new PuestoEspera(eventoId, clienteId, FUERA, null, total)
+        : new PuestoEspera(eventoId, clienteId, EN_ESPERA, posicion, total);
+  }
+
+  // Llena las plazas libres de estos eventos con los primeros de su cola. Se llama tras liberar
+  // plazas, en la misma transacción: la fila del evento ya está bloqueada por el UPDATE del
+  // leave, así que dos leaves a la vez no promocionan al mismo. Devuelve los pares promocionados.
+  public List<EventoAdd> promover(Collection<Long> eventoIds) {
+    List<EventoAdd> promovidos = new ArrayList<>();
+    for (Long eventoId : new TreeSet<>(eventoIds)) {   // en orden de id, como los bloqueos de lotes
+      while (true) {
+        var primero = repo.findPrimeroEnEspera(eventoId);
+        if (primero.isEmpty()) break;
+        Long clienteId = primero.get();
+        if (repo.existsParticipante(eventoId, clienteId)) {
+          repo.deleteEspera(eventoId, clienteId);
+          continue;
+        }
+        if (repo.reservarPlaza(eventoId) == 0) break;   // sin plaza: sigue esperando
+        repo.deleteEspera(eventoId, clienteId);
+        repo.insertParticipante(eventoId, clienteId);
+        promovidos.add(new EventoAdd(eventoId, clienteId));
+      }
+    }
+    return promovidos;
+  }
+}
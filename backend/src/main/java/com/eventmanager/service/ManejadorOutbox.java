@@ -0,0 +1,14 @@
+package com.eventmanager.service;
+
+import java.util.List;
+
+// Consumidor de los mensajes del Outbox. DespachadorOutbox lo llama desde su hilo, con lotes en
+// orden de id y dentro de la transacción que tiene reclamadas esas filas. Cada mensaje se le
+// entrega hasta que lo procesa una vez: si falla, el despachador le repite el lote mensaje a mensaje
+// y reintenta más tarde los que sigan fallando, pero los demás manejadores no los vuelven a recibir.
+// Un manejador que falla a mitad de lote recibe otra vez los mensajes que ya había procesado, y si
+// la transacción no llega a confirmarse se repite todo: debe fallar antes de hacer nada o tolerar
+// mensajes repetidos (el id del mensaje no cambia entre entregas).
+public interface ManejadorOutbox {
+  void manejar(List<Outbox.Mensaje> mensajes);
+}
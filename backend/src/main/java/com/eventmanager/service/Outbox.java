@@ -0,0 +1,91 @@
+package com.eventmanager.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+
+// Outbox transaccional de las escrituras de eventos. Cada alta o join/leave inserta aquí su
+// mensaje en la misma transacción: si hay rollback el mensaje desaparece con ella, y si se
+// confirma DespachadorOutbox lo entrega aunque la instancia caiga justo después. Tras el commit se
+// avisa al despachador para no esperar a su siguiente pasada. Lo que cuelga de estas escrituras
+// (contadores, notificaciones...) va en un ManejadorOutbox, fuera de la petición. El feed de
+// cambios no: se avisa a CambiosEventos de esta misma instancia al confirmar.
+// Como todas las escrituras que cambian el listado pasan por aquí, también suben el sello del
+// listado (sello_eventos, V13) en la misma transacción: el ETag de GET /api/events no recorre evento.
+@Component
+public class Outbox {
+  public static final String EVENTO_CREADO = "EVENTO_CREADO";
+  public static final String PARTICIPANTE_UNIDO = "PARTICIPANTE_UNIDO";
+  public static final String PARTICIPANTE_SALIDO = "PARTICIPANTE_SALIDO";
+
+  private static final String INSERTAR =
+      "INSERT INTO outbox (tipo, evento_id, cliente_id, creado, disponible) VALUES (?, ?, ?, ?, ?)";
+  private static final String TOCAR_SELLO = "UPDATE sello_eventos SET version = version + 1 WHERE ranura = ?";
+  private static final int RANURAS_SELLO = 16;
+
+  // clienteId: el creador en EVENTO_CREADO, el participante en los demás
+  public record Mensaje(long id, String tipo, long eventoId, Long clienteId, int intentos) {}
+
+  private final JdbcTemplate jdbc;
+  private final DespachadorOutbox despachador;
+  private final ObjectProvider<CambiosEventos> cambios;
+
+  // CambiosEventos se pide al usarlo: depende de EventoService, que depende de Outbox
+  public Outbox(JdbcTemplate jdbc, DespachadorOutbox despachador, ObjectProvider<CambiosEventos> cambios) {
+    this.jdbc = jdbc;
+    this.despachador = despachador;
+    this.cambios = cambios;
+  }
+
+  // Debe llamarse dentro de la transacción de la escritura
+  public void registrar(String tipo, Long eventoId, Long clienteId) {
+    var ahora = Timestamp.from(Instant.now());
+    jdbc.update(INSERTAR, tipo, eventoId, clienteId, ahora, ahora);
+    tocarSello();
+    avisarAlConfirmar(tipo, List.of(eventoId));
+  }
+
+  // Un mensaje por par (idEvento, idParticipante), en un solo batch
+  public void registrarTodos(String tipo, List<EventoAdd> pares) {
+    if (pares.isEmpty()) return;
+    var ahora = Timestamp.from(Instant.now());
+    List<Object[]> filas = new ArrayList<>(pares.size());
+    pares.forEach(p -> filas.add(new Object[] {tipo, p.idEvento(), p.idParticipante(), ahora, ahora}));
+    jdbc.batchUpdate(INSERTAR, filas);
+    tocarSello();
+    avisarAlConfirmar(tipo, pares.stream().map(EventoAdd::idEvento).toList());
+  }
+
+  // Ranura por hilo: una transacción vive en un hilo, así que si registra varias veces sube siempre
+  // la misma fila y dos transacciones no pueden bloquearse ranuras en orden cruzado
+  private void tocarSello() {
+    jdbc.update(TOCAR_SELLO, (int) (Thread.currentThread().threadId() % RANURAS_SELLO));
+  }
+
+  private void avisarAlConfirmar(String tipo, List<Long> eventoIds) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      avisar(tipo, eventoIds);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        avisar(tipo, eventoIds);
+      }
+    });
+  }
+
+  private void avisar(String tipo, List<Long> eventoIds) {
+    despachador.avisar();
+    cambios.ifAvailable(c -> c.alConfirmar(tipo, eventoIds));
+  }
+}
@@ -0,0 +1,150 @@
+package com.eventmanager.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.eventmanager.service.errors.HashSaturadoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+// Hash y verificación de contraseñas en un pool propio y acotado.
+// BCrypt es CPU pura (~50-100 ms con coste 10): si se hace en el hilo de Tomcat, una ráfaga de
+// logins deja sin hilos al resto de endpoints. Aquí como mucho `hilos` cálculos en paralelo y
+// `cola` esperando; lo que no cabe se rechaza con HashSaturadoException (503).
+// Las variantes *Async no bloquean al llamante: AuthController devuelve el CompletableFuture y el
+// hilo de Tomcat queda libre mientras BCrypt calcula. hash/matches esperan el resultado.
+@Service
+public class PasswordHasher {
+  private static final String SATURADO = "Demasiados inicios de sesión simultáneos. Inténtalo en unos segundos.";
+
+  private final PasswordEncoder enc;
+  private final ThreadPoolExecutor pool;
+  private final Duration espera;
+  private final Timer tiempoHash;
+  private final Timer tiempoMatches;
+  private final Timer tiempoCola;
+  private final Counter rechazos;
+
+  @Autowired
+  public PasswordHasher(PasswordEncoder enc, MeterRegistry registry,
+                        @Value("${app.auth.hash.hilos:0}") int hilos,
+                        @Value("${app.auth.hash.cola:64}") int cola,
+                        @Value("${app.auth.hash.espera:PT10S}") Duration espera) {
+    this.enc = enc;
+    this.espera = espera;
+    int n = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+    AtomicInteger seq = new AtomicInteger();
+    this.pool = new ThreadPoolExecutor(n, n, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(cola), r -> {
+          Thread t = new Thread(r, "bcrypt-" + seq.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+    // executor.queued / executor.active / executor.pool.size... con name=auth.hash
+    new ExecutorServiceMetrics(pool, "auth.hash", Tags.empty()).bindTo(registry);
+    this.tiempoHash = temporizador(registry, "hash");
+    this.tiempoMatches = temporizador(registry, "matches");
+    this.tiempoCola = Timer.builder("auth.hash.cola")
+        .description("Tiempo esperando hilo libre en el pool de BCrypt")
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(registry);
+    this.rechazos = Counter.builder("auth.hash.rechazos")
+        .description("Peticiones rechazadas por pool de BCrypt saturado")
+        .register(registry);
+  }
+
+  public String hash(String raw) {
+    return esperar(hashAsync(raw));
+  }
+
+  public boolean matches(String raw, String hash) {
+    return esperar(matchesAsync(raw, hash));
+  }
+
+  public CompletableFuture<String> hashAsync(String raw) {
+    return ejecutar(() -> tiempoHash.recordCallable(() -> enc.encode(raw)));
+  }
+
+  public CompletableFuture<Boolean> matchesAsync(String raw, String hash) {
+    return ejecutar(() -> tiempoMatches.recordCallable(() -> enc.matches(raw, hash)));
+  }
+
+  // Trabajos esperando en cola (para dimensionar el pool por nodo)
+  public int enCola() {
+    return pool.getQueue().size();
+  }
+
+  // Espera el resultado y relanza la excepción original (ValidationException, HashSaturado...)
+  static <T> T esperar(CompletableFuture<T> futuro) {
+    try {
+      return futuro.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException re) throw re;
+      throw ex;
+    }
+  }
+
+  // Pool lleno: se rechaza en el momento. Si no empieza o acaba en `espera` también se rechaza, y
+  // si seguía en la cola ya no se calcula.
+  private <T> CompletableFuture<T> ejecutar(Callable<T> tarea) {
+    long encolado = System.nanoTime();
+    CompletableFuture<T> resultado = new CompletableFuture<>();
+    Future<?> trabajo;
+    try {
+      trabajo = pool.submit(() -> {
+        tiempoCola.record(System.nanoTime() - encolado, TimeUnit.NANOSECONDS);
+        try {
+          resultado.complete(tarea.call());
+        } catch (Throwable ex) {
+          resultado.completeExceptionally(ex);
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      rechazos.increment();
+      throw new HashSaturadoException(SATURADO);
+    }
+    return resultado.orTimeout(espera.toMillis(), TimeUnit.MILLISECONDS)
+        .exceptionally(ex -> {
+          if (ex instanceof TimeoutException) {
+            trabajo.cancel(true);
+            rechazos.increment();
+            throw new HashSaturadoException(SATURADO);
+          }
+          throw ex instanceof CompletionException ce ? ce : new CompletionException(ex);
+        });
+  }
+
+  private static Timer temporizador(MeterRegistry registry, String operacion) {
+    return Timer.builder("auth.hash.tiempo")
+        .description("Tiempo de BCrypt sin contar la espera en cola")
+        .tag("operacion", operacion)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  @PreDestroy
+  void cerrar() {
+    pool.shutdownNow();
+  }
+}
@@ -0,0 +1,159 @@
+package com.eventmanager.service;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.validation.ValidationException;
+
+// Subconjunto de RRULE (RFC 5545) para las series de eventos:
+//   FREQ=DAILY|WEEKLY|MONTHLY; INTERVAL=n; BYDAY=MO,WE (solo WEEKLY); COUNT=n; UNTIL=aaaa-mm-dd
+// Ej.: "FREQ=WEEKLY;BYDAY=TU,TH;COUNT=20". MONTHLY repite el día del mes del inicio y se salta
+// los meses que no lo tienen (un 31 no cae en abril), igual que RRULE.
+// Las ocurrencias se calculan solo para la ventana pedida: sin COUNT se salta directamente al
+// periodo de la ventana, con COUNT hay que contar desde el inicio (acotado por MAX_COUNT).
+public record ReglaRecurrencia(Frecuencia frecuencia, int intervalo, Set<DayOfWeek> dias,
+                               Integer cuenta, LocalDate hasta) {
+
+  public enum Frecuencia { DAILY, WEEKLY, MONTHLY }
+
+  static final int MAX_COUNT = 1000;
+
+  private static final Map<String, DayOfWeek> DIAS = Map.of(
+      "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY,
+      "TH", DayOfWeek.THURSDAY, "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+  public static ReglaRecurrencia parse(String regla) {
+    if (regla == null || regla.isBlank()) throw invalida(regla, "vacía");
+    String texto = regla.trim().toUpperCase(Locale.ROOT);
+    if (texto.startsWith("RRULE:")) texto = texto.substring(6);
+
+    Frecuencia frecuencia = null;
+    int intervalo = 1;
+    Set<DayOfWeek> dias = EnumSet.noneOf(DayOfWeek.class);
+    Integer cuenta = null;
+    LocalDate hasta = null;
+    for (String parte : texto.split(";")) {
+      if (parte.isBlank()) continue;
+      String[] kv = parte.split("=", 2);
+      if (kv.length != 2) throw invalida(regla, "se esperaba CLAVE=valor en \"" + parte + "\"");
+      try {
+        switch (kv[0].trim()) {
+          case "FREQ" -> frecuencia = Frecuencia.valueOf(kv[1].trim());
+          case "INTERVAL" -> intervalo = Integer.parseInt(kv[1].trim());
+          case "COUNT" -> cuenta = Integer.parseInt(kv[1].trim());
+          case "UNTIL" -> hasta = fecha(kv[1].trim());
+          case "BYDAY" -> {
+            for (String d : kv[1].split(",")) {
+              DayOfWeek dia = DIAS.get(d.trim());
+              if (dia == null) throw invalida(regla, "día desconocido \"" + d + "\"");
+              dias.add(dia);
+            }
+          }
+          default -> throw invalida(regla, "clave no soportada \"" + kv[0] + "\"");
+        }
+      } catch (IllegalArgumentException | DateTimeException ex) {
+        throw invalida(regla, "valor incorrecto en \"" + parte + "\"");
+      }
+    }
+    if (frecuencia == null) throw invalida(regla, "falta FREQ");
+    if (intervalo < 1) throw invalida(regla, "INTERVAL debe ser >= 1");
+    if (cuenta != null && (cuenta < 1 || cuenta > MAX_COUNT)) {
+      throw invalida(regla, "COUNT debe estar entre 1 y " + MAX_COUNT);
+    }
+    if (cuenta != null && hasta != null) throw invalida(regla, "COUNT y UNTIL son excluyentes");
+    if (!dias.isEmpty() && frecuencia != Frecuencia.WEEKLY) throw invalida(regla, "BYDAY solo vale con FREQ=WEEKLY");
+    return new ReglaRecurrencia(frecuencia, intervalo, Set.copyOf(dias), cuenta, hasta);
+  }
+
+  // Fechas de ocurrencia dentro de [desde, hastaVentana], en orden y como mucho `limite`
+  public List<LocalDate> ocurrencias(LocalDate inicio, LocalDate desde, LocalDate hastaVentana, int limite) {
+    List<LocalDate> fechas = new ArrayList<>();
+    LocalDate fin = hasta != null && hasta.isBefore(hastaVentana) ? hasta : hastaVentana;
+    if (limite <= 0 || fin.isBefore(inicio) || fin.isBefore(desde)) return fechas;
+
+    long periodo = cuenta == null ? primerPeriodo(inicio, desde) : 0;
+    int emitidas = 0;
+    while (true) {
+      LocalDate comienzo = comienzoPeriodo(inicio, periodo);
+      if (comienzo.isAfter(fin)) return fechas;
+      for (LocalDate d : fechasDelPeriodo(inicio, comienzo)) {
+        if (d.isBefore(inicio)) continue;
+        if (d.isAfter(fin) || (cuenta != null && ++emitidas > cuenta)) return fechas;
+        if (!d.isBefore(desde)) {
+          fechas.add(d);
+          if (fechas.size() == limite) return fechas;
+        }
+      }
+      periodo++;
+    }
+  }
+
+  // Última ocurrencia, o null si la serie no tiene fin
+  public LocalDate ultima(LocalDate inicio) {
+    if (hasta != null) return hasta;
+    if (cuenta == null) return null;
+    // Cada periodo tiene al menos una ocurrencia salvo en MONTHLY con días 29-31, que aun así
+    // aparecen en más de la mitad de los meses: 2 * COUNT periodos bastan
+    var todas = ocurrencias(inicio, inicio, comienzoPeriodo(inicio, 2L * cuenta + 1), cuenta);
+    return todas.isEmpty() ? inicio : todas.get(todas.size() - 1);
+  }
+
+  // Periodo (índice) que contiene `desde`, para no recorrer los anteriores
+  private long primerPeriodo(LocalDate inicio, LocalDate desde) {
+    if (!desde.isAfter(inicio)) return 0;
+    long unidades = switch (frecuencia) {
+      case DAILY -> ChronoUnit.DAYS.between(inicio, desde);
+      case WEEKLY -> ChronoUnit.WEEKS.between(lunes(inicio), desde);
+      case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(inicio), YearMonth.from(desde));
+    };
+    return unidades / intervalo;
+  }
+
+  private LocalDate comienzoPeriodo(LocalDate inicio, long periodo) {
+    long n = periodo * intervalo;
+    return switch (frecuencia) {
+      case DAILY -> inicio.plusDays(n);
+      case WEEKLY -> lunes(inicio).plusWeeks(n);
+      case MONTHLY -> YearMonth.from(inicio).plusMonths(n).atDay(1);
+    };
+  }
+
+  private List<LocalDate> fechasDelPeriodo(LocalDate inicio, LocalDate comienzo) {
+    return switch (frecuencia) {
+      case DAILY -> List.of(comienzo);
+      case WEEKLY -> {
+        Set<DayOfWeek> semana = dias.isEmpty() ? Set.of(inicio.getDayOfWeek()) : dias;
+        yield semana.stream().sorted().map(d -> comienzo.plusDays(d.getValue() - 1L)).toList();
+      }
+      case MONTHLY -> {
+        YearMonth mes = YearMonth.from(comienzo);
+        yield mes.isValidDay(inicio.getDayOfMonth()) ? List.of(mes.atDay(inicio.getDayOfMonth())) : List.of();
+      }
+    };
+  }
+
+  private static LocalDate lunes(LocalDate d) {
+    return d.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  }
+
+  private static LocalDate fecha(String valor) {
+    // Admite 2026-12-31 y el formato RRULE 20261231 (o 20261231T000000Z, se ignora la hora)
+    String v = valor.length() >= 8 && valor.charAt(4) != '-' ? valor.substring(0, 8) : valor;
+    return v.contains("-") ? LocalDate.parse(v) : LocalDate.parse(v, DateTimeFormatter.BASIC_ISO_DATE);
+  }
+
+  private static ValidationException invalida(String regla, String motivo) {
+    return new ValidationException("Regla de recurrencia inválida (" + motivo + "): " + regla);
+  }
+}
@@ -0,0 +1,227 @@
+package com.eventmanager.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.ResultadoLote;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.ClienteRepository.PerfilCliente;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.repository.EventoRepository.RestriccionesEvento;
+import com.eventmanager.service.errors.EventoCompletoException;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ValidationException;
+
+// Reserva y liberación de plazas de un evento.
+// Cada reserva es un UPDATE condicional sobre la fila del evento (contador + version), así que
+// cuando N clientes compiten por la última plaza exactamente uno la consigue y el resto recibe
+// EventoCompletoException. Antes se comprueban las restricciones de edad e idioma (NoElegibleException).
+// Los conflictos transitorios (lock timeout, deadlock, version) se reintentan.
+@Service
+@Observed(name = "servicio")
+public class ReservaPlazasService {
+  public static final String OK = "OK";
+
+  private final EventoRepository repo;
+  private final ClienteRepository clienteRepo;
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final int maxIntentos;
+  private final int maxLote;
+
+  public ReservaPlazasService(EventoRepository repo, ClienteRepository clienteRepo, JdbcTemplate jdbc,
+                              PlatformTransactionManager txManager,
+                              @Value("${app.reservas.max-intentos:5}") int maxIntentos,
+                              @Value("${app.reservas.max-lote:1000}") int maxLote) {
+    this.repo = repo;
+    this.clienteRepo = clienteRepo;
+    this.jdbc = jdbc;
+    this.tx = new TransactionTemplate(txManager);
+    this.maxIntentos = maxIntentos;
+    this.maxLote = maxLote;
+  }
+
+  // Ejecuta la operación en una transacción propia, reintentando ante conflictos de concurrencia.
+  // Si ya hay una transacción abierta no se puede reintentar (quedaría marcada rollback-only),
+  // así que se ejecuta una sola vez dentro de ella.
+  public <T> T conReintentos(Supplier<T> operacion) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return operacion.get();
+    }
+    for (int intento = 1; ; intento++) {
+      try {
+        return tx.execute(status -> operacion.get());
+      } catch (TransientDataAccessException ex) {
+        if (intento >= maxIntentos) throw ex;
+        esperar(intento);
+      }
+    }
+  }
+
+  // Debe llamarse dentro de una transacción (conReintentos)
+  public void reservar(Long eventoId, Long clienteId) {
+    var cliente = clienteRepo.findPerfil(clienteId)
+        .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
+    var restricciones = repo.findRestricciones(eventoId)
+        .orElseThrow(() -> new RuntimeException("Evento no encontrado"));
+    Elegibilidad.comprobar(cliente.getFechaNacimiento(), cliente.getIdioma(),
+        restricciones.getEdadMinima(), restricciones.getIdiomasPermitidos());
+    if (repo.reservarPlaza(eventoId) == 0) {
+      if (repo.existsParticipante(eventoId, clienteId)) {
+        throw new RuntimeException("El usuario ya está apuntado a este evento");
+      }
+      throw new EventoCompletoException("El evento está completo");
+    }
+
+    // Ya tenemos la fila del evento bloqueada: la comprobación no compite con otro join
+    if (repo.existsParticipante(eventoId, clienteId)) {
+      throw new RuntimeException("El usuario ya está apuntado a este evento");
+    }
+    repo.insertParticipante(eventoId, clienteId);
+    repo.deleteEspera(eventoId, clienteId);   // si estaba en la lista de espera, ya no
+  }
+
+  // Debe llamarse dentro de una transacción (conReintentos)
+  public void liberar(Long eventoId, Long clienteId) {
+    if (!clienteRepo.existsById(clienteId)) {
+      throw new RuntimeException("Cliente no encontrado");
+    }
+    if (repo.deleteParticipante(eventoId, clienteId) == 0) {
+      if (!repo.existsById(eventoId)) {
+        throw new RuntimeException("Evento no encontrado");
+      }
+      throw new RuntimeException("El usuario no está apuntado a este evento");
+    }
+    repo.liberarPlaza(eventoId);
+  }
+
+  // Join/leave de muchos pares de golpe. Clientes, eventos (bloqueados) y participaciones se
+  // consultan por conjuntos; las plazas se descuentan en memoria sobre las filas ya bloqueadas y
+  // las filas de evento_cliente y los contadores se escriben con batch JDBC.
+  // Un par que no se puede aplicar no tumba el lote: se informa en su ResultadoLote.
+  // Debe llamarse dentro de una transacción (conReintentos)
+  public List<ResultadoLote> reservarLote(List<EventoAdd> items) {
+    return procesarLote(items, true);
+  }
+
+  public List<ResultadoLote> liberarLote(List<EventoAdd> items) {
+    return procesarLote(items, false);
+  }
+
+  private record Par(Long eventoId, Long clienteId) {}
+
+  private List<ResultadoLote> procesarLote(List<EventoAdd> items, boolean reservar) {
+    if (items.size() > maxLote) {
+      throw new ValidationException("Máximo " + maxLote + " elementos por lote.");
+    }
+    Set<Long> eventoIds = new HashSet<>();
+    Set<Long> clienteIds = new HashSet<>();
+    for (EventoAdd item : items) {
+      if (item != null && item.idEvento() != null && item.idParticipante() != null) {
+        eventoIds.add(item.idEvento());
+        clienteIds.add(item.idParticipante());
+      }
+    }
+
+    Map<Long, PerfilCliente> clientes = new HashMap<>();
+    Map<Long, RestriccionesEvento> restricciones = new HashMap<>();
+    Map<Long, Integer> libres = new HashMap<>();
+    Set<Par> apuntados = new HashSet<>();
+    if (!eventoIds.isEmpty()) {
+      clienteRepo.findPerfiles(clienteIds).forEach(c -> clientes.put(c.getId(), c));
+      for (var p : repo.bloquearPlazas(eventoIds)) {
+        restricciones.put(p.getId(), p);
+        libres.put(p.getId(), p.getMaxPersonas() == null
+            ? Integer.MAX_VALUE : p.getMaxPersonas() - p.getNumParticipantes());
+      }
+      for (var p : repo.findParticipaciones(eventoIds, clienteIds)) {
+        apuntados.add(new Par(p.getEventoId(), p.getClienteId()));
+      }
+    }
+
+    List<ResultadoLote> resultados = new ArrayList<>(items.size());
+    List<Object[]> filas = new ArrayList<>();
+    Map<Long, Integer> cambios = new TreeMap<>();
+    Set<Par> vistos = new HashSet<>();
+    for (EventoAdd item : items) {
+      if (item == null || item.idEvento() == null || item.idParticipante() == null) {
+        resultados.add(new ResultadoLote(item != null ? item.idEvento() : null,
+            item != null ? item.idParticipante() : null, "DATOS_INCOMPLETOS", "Faltan idEvento o idParticipante"));
+        continue;
+      }
+      Par par = new Par(item.idEvento(), item.idParticipante());
+      String fallo;
+      String error;
+      if (!vistos.add(par)) {
+        fallo = "DUPLICADO"; error = "Par repetido en el lote";
+      } else if (!clientes.containsKey(par.clienteId())) {
+        fallo = "CLIENTE_NO_ENCONTRADO"; error = "Cliente no encontrado";
+      } else if (!libres.containsKey(par.eventoId())) {
+        fallo = "EVENTO_NO_ENCONTRADO"; error = "Evento no encontrado";
+      } else if (reservar && apuntados.contains(par)) {
+        fallo = "YA_APUNTADO"; error = "El usuario ya está apuntado a este evento";
+      } else if (reservar && (error = motivoNoElegible(clientes.get(par.clienteId()),
+                                                      restricciones.get(par.eventoId()))) != null) {
+        fallo = "NO_ELEGIBLE";
+      } else if (reservar && libres.get(par.eventoId()) <= 0) {
+        fallo = "EVENTO_COMPLETO"; error = "El evento está completo";
+      } else if (!reservar && !apuntados.contains(par)) {
+        fallo = "NO_APUNTADO"; error = "El usuario no está apuntado a este evento";
+      } else {
+        fallo = null; error = null;
+      }
+      if (fallo != null) {
+        resultados.add(new ResultadoLote(par.eventoId(), par.clienteId(), fallo, error));
+        continue;
+      }
+      if (reservar) libres.merge(par.eventoId(), -1, Integer::sum);
+      cambios.merge(par.eventoId(), reservar ? 1 : -1, Integer::sum);
+      filas.add(new Object[] {par.eventoId(), par.clienteId()});
+      resultados.add(new ResultadoLote(par.eventoId(), par.clienteId(), OK, null));
+    }
+
+    if (!filas.isEmpty()) {
+      jdbc.batchUpdate(reservar
+          ? "INSERT INTO evento_cliente (evento_id, cliente_id) VALUES (?, ?)"
+          : "DELETE FROM evento_cliente WHERE evento_id = ? AND cliente_id = ?", filas);
+      if (reservar) jdbc.batchUpdate("DELETE FROM lista_espera WHERE evento_id = ? AND cliente_id = ?", filas);
+      // Contadores en orden de id, igual que el bloqueo
+      List<Object[]> contadores = new ArrayList<>();
+      cambios.forEach((eventoId, delta) -> contadores.add(new Object[] {delta, eventoId}));
+      jdbc.batchUpdate("UPDATE evento SET num_participantes = num_participantes + ?, version = version + 1 "
+          + "WHERE id = ?", contadores);
+    }
+    return resultados;
+  }
+
+  private static String motivoNoElegible(PerfilCliente c, RestriccionesEvento r) {
+    return Elegibilidad.motivo(c.getFechaNacimiento(), c.getIdioma(), r.getEdadMinima(), r.getIdiomasPermitidos());
+  }
+
+  // Backoff exponencial con jitter: 5, 10, 20... ms (máx. 200 ms)
+  private static void esperar(int intento) {
+    long base = Math.min(200, 5L << (intento - 1));
+    try {
+      Thread.sleep(base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1));
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Reserva interrumpida", ie);
+    }
+  }
+}
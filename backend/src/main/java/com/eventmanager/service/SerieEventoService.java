@@ -0,0 +1,260 @@
+package com.eventmanager.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eventmanager.domain.SerieEvento;
+import com.eventmanager.dto.EventoDtos.EventoFiltro;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.dto.SerieDtos.SerieAdd;
+import com.eventmanager.dto.SerieDtos.SerieCreate;
+import com.eventmanager.dto.SerieDtos.SerieView;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.ClienteRepository.PerfilCliente;
+import com.eventmanager.repository.EventoSpecs;
+import com.eventmanager.repository.SerieEventoRepository;
+import com.eventmanager.service.errors.DatabaseSchemaMismatchException;
+import com.eventmanager.service.errors.EventoCompletoException;
+import com.eventmanager.service.errors.SqlErrorDetails;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ValidationException;
+
+// Eventos recurrentes. Se guarda una fila por serie y las ocurrencias se generan al consultar,
+// solo para la ventana de fechas pedida (sin tope explícito, app.series.ventana desde hoy o
+// desde la posición del cursor). Una ocurrencia se devuelve como EventoView con id null e idSerie.
+@Service
+@Observed(name = "servicio")
+public class SerieEventoService {
+  // Orden de los listados que mezclan eventos y ocurrencias
+  static final Comparator<EventoView> POR_FECHA =
+      Comparator.comparing(EventoView::fecha).thenComparing(EventoView::hora);
+  static final int MAX_OCURRENCIAS = 1000;
+
+  private final SerieEventoRepository repo;
+  private final ClienteRepository clienteRepo;
+  private final ReservaPlazasService reservas;
+  private final long ventanaDias;
+
+  public SerieEventoService(SerieEventoRepository repo, ClienteRepository clienteRepo,
+                            ReservaPlazasService reservas,
+                            @Value("${app.series.ventana:P90D}") Duration ventana) {
+    this.repo = repo;
+    this.clienteRepo = clienteRepo;
+    this.reservas = reservas;
+    this.ventanaDias = ventana.toDays();
+  }
+
+  @Transactional
+  public SerieView crear(SerieCreate req) {
+    if (req.fechaInicio() == null) {
+      throw new ValidationException("La fecha de inicio de la serie es obligatoria");
+    }
+    if (req.fechaInicio().isBefore(LocalDate.now())) {
+      throw new ValidationException("La fecha de inicio de la serie no puede ser anterior a hoy");
+    }
+    var regla = ReglaRecurrencia.parse(req.regla());
+    if (regla.hasta() != null && regla.hasta().isBefore(req.fechaInicio())) {
+      throw new ValidationException("La regla no genera ninguna ocurrencia (UNTIL anterior al inicio)");
+    }
+    if (req.idCreador() == null) {
+      throw new RuntimeException("Cliente creador no encontrado");
+    }
+    return db(() -> {
+      var creador = clienteRepo.findById(req.idCreador())
+          .orElseThrow(() -> new RuntimeException("Cliente creador no encontrado"));
+      var s = new SerieEvento();
+      s.setFechaInicio(req.fechaInicio());
+      s.setHora(req.hora());
+      s.setLugar(req.lugar());
+      s.setTitulo(req.titulo());
+      s.setDescripcion(req.descripcion());
+      s.setIdCreador(creador.getId());
+      s.setTags(req.tags() == null ? new ArrayList<>() : new ArrayList<>(req.tags()));
+      if (req.restricciones() != null) {
+        s.setIdiomasPermitidos(req.restricciones().idiomaRequerido());
+        s.setEdadMinima(req.restricciones().edad_minima());
+        s.setMaxPersonas(req.restricciones().plazasDisponibles());
+      }
+      s.setRegla(req.regla().trim());
+      s.setFechaFin(regla.ultima(req.fechaInicio()));
+      // Como en los eventos, el creador queda apuntado
+      s.getParticipantes().add(creador.getId());
+      return toView(repo.save(s));
+    });
+  }
+
+  // Apuntarse a una serie es apuntarse a todas sus ocurrencias. El aforo va como en los eventos
+  // (ReservaPlazasService.reservar): un UPDATE condicional sobre el contador de la serie, que además
+  // bloquea su fila, así que dos altas a la vez no pasan del máximo y no se carga serie_cliente.
+  public SerieView unirse(SerieAdd dto) {
+    return reservas.conReintentos(() -> {
+      var cliente = perfil(dto);
+      var s = cargar(dto);
+      Elegibilidad.comprobar(cliente.getFechaNacimiento(), cliente.getIdioma(),
+          s.getEdadMinima(), s.getIdiomasPermitidos());
+      if (repo.reservarPlaza(s.getId()) == 0) {
+        if (repo.existsParticipante(s.getId(), dto.idParticipante())) {
+          throw new RuntimeException("El usuario ya está apuntado a esta serie");
+        }
+        throw new EventoCompletoException("La serie está completa");
+      }
+      if (repo.existsParticipante(s.getId(), dto.idParticipante())) {
+        throw new RuntimeException("El usuario ya está apuntado a esta serie");
+      }
+      repo.insertParticipante(s.getId(), dto.idParticipante());
+      return toView(cargar(dto));
+    });
+  }
+
+  public SerieView salir(SerieAdd dto) {
+    return reservas.conReintentos(() -> {
+      perfil(dto);
+      if (repo.deleteParticipante(dto.idSerie(), dto.idParticipante()) == 0) {
+        cargar(dto);
+        throw new RuntimeException("El usuario no está apuntado a esta serie");
+      }
+      repo.liberarPlaza(dto.idSerie());
+      return toView(cargar(dto));
+    });
+  }
+
+  private PerfilCliente perfil(SerieAdd dto) {
+    if (dto.idSerie() == null || dto.idParticipante() == null) {
+      throw new ValidationException("idSerie e idParticipante son obligatorios");
+    }
+    return clienteRepo.findPerfil(dto.idParticipante())
+        .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
+  }
+
+  private SerieEvento cargar(SerieAdd dto) {
+    return repo.findById(dto.idSerie()).orElseThrow(() -> new RuntimeException("Serie no encontrada"));
+  }
+
+  // Ocurrencias de una serie en [desde, hasta]; por defecto desde hoy y durante la ventana
+  @Transactional(readOnly = true)
+  public List<EventoView> ocurrencias(Long serieId, LocalDate desde, LocalDate hasta) {
+    LocalDate d = desde != null ? desde : LocalDate.now();
+    LocalDate h = hasta != null ? hasta : finVentana(d);
+    if (h.isBefore(d)) throw new ValidationException("'hasta' no puede ser anterior a 'desde'");
+    return db(() -> {
+      var s = repo.findById(serieId).orElseThrow(() -> new RuntimeException("Serie no encontrada"));
+      return expandir(List.of(s), d, h, MAX_OCURRENCIAS);
+    });
+  }
+
+  // Para la búsqueda de eventos: ocurrencias en [desde, hasta] de las series que cumplen el filtro,
+  // como mucho `limite` por serie. Las series se descartan por fechas en SQL y por el resto de
+  // filtros aquí (son pocas filas: una por serie, no una por ocurrencia).
+  @Transactional(readOnly = true)
+  public List<EventoView> buscarOcurrencias(EventoFiltro filtro, LocalDate desde, LocalDate hasta, int limite) {
+    if (hasta.isBefore(desde)) return List.of();
+    return db(() -> {
+      var series = repo.findActivasEntre(desde, hasta).stream()
+          .filter(s -> EventoSpecs.cumple(filtro, s.getLugar(), s.getTags(), s.getIdiomasPermitidos(),
+              s.getEdadMinima(), s.getTitulo(), s.getDescripcion()))
+          .toList();
+      return expandir(series, desde, hasta, limite);
+    });
+  }
+
+  @Transactional(readOnly = true)
+  public List<EventoView> ocurrenciasDeParticipante(Long clienteId) {
+    LocalDate hoy = LocalDate.now();
+    return db(() -> expandir(repo.findDeParticipanteEntre(clienteId, hoy, finVentana(hoy)), hoy, finVentana(hoy),
+        MAX_OCURRENCIAS));
+  }
+
+  @Transactional(readOnly = true)
+  public List<EventoView> ocurrenciasDeCreador(Long creadorId) {
+    LocalDate hoy = LocalDate.now();
+    return db(() -> expandir(repo.findDeCreadorEntre(creadorId, hoy, finVentana(hoy)), hoy, finVentana(hoy),
+        MAX_OCURRENCIAS));
+  }
+
+  // Sellos para el ETag: incluyen el día porque la ventana de ocurrencias avanza con la fecha
+  public String selloParticipante(Long clienteId) {
+    return LocalDate.now() + "-" + db(() -> repo.selloParticipante(clienteId));
+  }
+
+  public String selloCreador(Long creadorId) {
+    return LocalDate.now() + "-" + db(() -> repo.selloCreador(creadorId));
+  }
+
+  LocalDate finVentana(LocalDate desde) {
+    return desde.plusDays(ventanaDias);
+  }
+
+  // Eventos + ocurrencias por (fecha, hora); sin ocurrencias se devuelve la lista tal cual
+  public static List<EventoView> mezclar(List<EventoView> eventos, List<EventoView> ocurrencias) {
+    if (ocurrencias.isEmpty()) return eventos;
+    List<EventoView> todas = new ArrayList<>(eventos.size() + ocurrencias.size());
+    todas.addAll(eventos);
+    todas.addAll(ocurrencias);
+    todas.sort(POR_FECHA);
+    return todas;
+  }
+
+  // Participantes de todas las series en una consulta; cada ocurrencia comparte la lista de su serie
+  private List<EventoView> expandir(List<SerieEvento> series, LocalDate desde, LocalDate hasta, int limite) {
+    if (series.isEmpty()) return List.of();
+    Map<Long, IdsOrdenados> participantes = participantes(series);
+    List<EventoView> vistas = new ArrayList<>();
+    for (var s : series) {
+      var ids = participantes.getOrDefault(s.getId(), IdsOrdenados.VACIO);
+      for (LocalDate fecha : ReglaRecurrencia.parse(s.getRegla()).ocurrencias(s.getFechaInicio(), desde, hasta, limite)) {
+        vistas.add(new EventoView(
+            null, fecha, s.getHora(), s.getLugar(),
+            s.getIdiomasPermitidos(), s.getEdadMinima(), s.getMaxPersonas(),
+            s.getTitulo(), s.getDescripcion(), s.getIdCreador(),
+            s.getTags() == null ? List.of() : List.copyOf(s.getTags()),
+            ids, s.getId(), ids.size(), null));
+      }
+    }
+    vistas.sort(POR_FECHA.thenComparing(EventoView::idSerie));
+    return vistas;
+  }
+
+  private Map<Long, IdsOrdenados> participantes(List<SerieEvento> series) {
+    Map<Long, List<Long>> porSerie = new HashMap<>();
+    for (var p : repo.findParticipantesBySerieIds(series.stream().map(SerieEvento::getId).toList())) {
+      porSerie.computeIfAbsent(p.getSerieId(), k -> new ArrayList<>()).add(p.getClienteId());
+    }
+    Map<Long, IdsOrdenados> ids = new HashMap<>();
+    porSerie.forEach((serie, lista) -> ids.put(serie, IdsOrdenados.de(lista)));
+    return ids;
+  }
+
+  private SerieView toView(SerieEvento s) {
+    return new SerieView(
+        s.getId(), s.getFechaInicio(), s.getFechaFin(), s.getRegla(), s.getHora(), s.getLugar(),
+        s.getIdiomasPermitidos(), s.getEdadMinima(), s.getMaxPersonas(),
+        s.getTitulo(), s.getDescripcion(), s.getIdCreador(),
+        s.getTags() == null ? List.of() : List.copyOf(s.getTags()),
+        IdsOrdenados.de(s.getParticipantes()));
+  }
+
+  private <T> T db(Supplier<T> operacion) {
+    try {
+      return operacion.get();
+    } catch (DataAccessException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    } catch (PersistenceException ex) {
+      var det = SqlErrorDetails.from(ex);
+      throw new DatabaseSchemaMismatchException(det.userMessage(), ex);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.eventmanager.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.eventmanager.dto.AuthDtos.UsuarioAutenticado;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Tokens compactos firmados con HMAC-SHA256 (formato JWT HS256: cabecera.payload.firma).
+// Llevan id, username y caducidad, así que verificarlos no necesita ir a la base de datos.
+@Service
+public class TokenService {
+  private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+  private static final String ALGORITMO = "HmacSHA256";
+  private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+  private static final String CABECERA = B64.encodeToString(
+      "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+  private final ObjectMapper json = new ObjectMapper();
+  private final SecretKeySpec clave;
+  private final Duration duracion;
+  private final Clock clock;
+  // Mac no es thread-safe: se clona uno ya inicializado. Un ThreadLocal no sirve con hilos
+  // virtuales (cada petición es un hilo nuevo y acabaría creando e inicializando uno cada vez).
+  private final Mac prototipo;
+
+  @Autowired
+  public TokenService(@Value("${app.auth.token-secret:}") String secreto,
+                      @Value("${app.auth.token-ttl:PT12H}") Duration duracion) {
+    this(secreto, duracion, Clock.systemUTC());
+  }
+
+  TokenService(String secreto, Duration duracion, Clock clock) {
+    this.clave = new SecretKeySpec(claveDe(secreto), ALGORITMO);
+    this.duracion = duracion;
+    this.clock = clock;
+    this.prototipo = nuevoMac();
+  }
+
+  public String emitir(Long userId, String username) {
+    long ahora = clock.instant().getEpochSecond();
+    Map<String, Object> claims = new LinkedHashMap<>();
+    claims.put("sub", String.valueOf(userId));
+    claims.put("username", username);
+    claims.put("iat", ahora);
+    claims.put("exp", ahora + duracion.toSeconds());
+    try {
+      String payload = B64.encodeToString(json.writeValueAsBytes(claims));
+      String firmado = CABECERA + "." + payload;
+      return firmado + "." + B64.encodeToString(firmar(firmado));
+    } catch (Exception ex) {
+      throw new IllegalStateException("No se pudo emitir el token", ex);
+    }
+  }
+
+  // Vacío si el token está mal formado, la firma no cuadra o ha caducado
+  public Optional<UsuarioAutenticado> verificar(String token) {
+    if (token == null) return Optional.empty();
+    int p1 = token.indexOf('.');
+    int p2 = token.lastIndexOf('.');
+    if (p1 <= 0 || p2 == p1) return Optional.empty();
+    try {
+      String firmado = token.substring(0, p2);
+      byte[] firma = B64D.decode(token.substring(p2 + 1));
+      if (!token.substring(0, p1).equals(CABECERA) || !MessageDigest.isEqual(firma, firmar(firmado))) {
+        return Optional.empty();
+      }
+      JsonNode claims = json.readTree(B64D.decode(token.substring(p1 + 1, p2)));
+      if (claims.path("exp").asLong(0) <= clock.instant().getEpochSecond()) {
+        return Optional.empty();
+      }
+      return Optional.of(new UsuarioAutenticado(
+          Long.parseLong(claims.path("sub").asText()), claims.path("username").asText()));
+    } catch (Exception ex) {
+      return Optional.empty();
+    }
+  }
+
+  private byte[] firmar(String contenido) {
+    Mac mac;
+    try {
+      mac = (Mac) prototipo.clone();
+    } catch (CloneNotSupportedException ex) {
+      mac = nuevoMac();
+    }
+    return mac.doFinal(contenido.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Mac nuevoMac() {
+    try {
+      Mac mac = Mac.getInstance(ALGORITMO);
+      mac.init(clave);
+      return mac;
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  // Sin secreto configurado se genera uno aleatorio: los tokens dejan de valer al reiniciar
+  // y no sirven entre nodos, así que en despliegue hay que fijar AUTH_TOKEN_SECRET.
+  private static byte[] claveDe(String secreto) {
+    if (secreto != null && !secreto.isBlank()) {
+      return secreto.getBytes(StandardCharsets.UTF_8);
+    }
+    log.warn("app.auth.token-secret no configurado; se usa una clave aleatoria local");
+    byte[] aleatoria = new byte[32];
+    new SecureRandom().nextBytes(aleatoria);
+    return aleatoria;
+  }
+}
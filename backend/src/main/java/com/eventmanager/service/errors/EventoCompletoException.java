@@ -0,0 +1,7 @@
+package com.eventmanager.service.errors;
+
+public class EventoCompletoException extends RuntimeException {
+  public EventoCompletoException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.eventmanager.service.errors;
+
+// El feed de cambios ya tiene el máximo de suscriptores: se responde 503 y el cliente reintenta
+public class FeedSaturadoException extends RuntimeException {
+  public FeedSaturadoException(String message) {
+    super(message);
+  }
+}
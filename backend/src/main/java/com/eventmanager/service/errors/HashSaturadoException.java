@@ -0,0 +1,8 @@
+package com.eventmanager.service.errors;
+
+// El pool de BCrypt no admite más trabajo: se responde 503 en lugar de encolar sin límite
+public class HashSaturadoException extends RuntimeException {
+  public HashSaturadoException(String message) {
+    super(message);
+  }
+}
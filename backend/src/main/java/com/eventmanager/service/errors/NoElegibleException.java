@@ -0,0 +1,8 @@
+package com.eventmanager.service.errors;
+
+// El cliente no cumple las restricciones (edad mínima, idioma) del evento al que se apunta
+public class NoElegibleException extends RuntimeException {
+  public NoElegibleException(String message) {
+    super(message);
+  }
+}
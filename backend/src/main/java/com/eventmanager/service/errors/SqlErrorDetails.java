@@ -4,6 +4,8 @@ import java.sql.SQLException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.micrometer.core.instrument.Metrics;
+
 public final class SqlErrorDetails {
   private static final Pattern COL_NOT_EXISTS =
       Pattern.compile("column\\s+\"?([^\"]+)\"?\\s+does not exist", Pattern.CASE_INSENSITIVE);
@@ -14,9 +16,27 @@ public final class SqlErrorDetails {
 
   private SqlErrorDetails() {}
 
-  public static record Parsed(String kind, String name, String message, String sqlState) {}
+  public static record Parsed(String kind, String name, String message, String sqlState) {
+    // Mensaje para la respuesta (DatabaseSchemaMismatchException), común a todos los servicios
+    public String userMessage() {
+      String base = switch (kind) {
+        case "COLUMN_NOT_FOUND" -> "Columna inexistente en BD: \"" + name + "\".";
+        case "TABLE_NOT_FOUND"  -> "Tabla inexistente en BD: \"" + name + "\".";
+        case "SQL_SYNTAX_ERROR" -> "Error de sintaxis SQL cerca de: \"" + name + "\".";
+        default -> "Incompatibilidad de esquema entre entidad y base de datos.";
+      };
+      return sqlState != null ? base + " (sqlState=" + sqlState + ")" : base;
+    }
+  }
 
+  // Cada error clasificado cuenta en db.errores{kind=...} (registro global de Micrometer)
   public static Parsed from(Throwable ex) {
+    Parsed p = parse(ex);
+    Metrics.counter("db.errores", "kind", p.kind()).increment();
+    return p;
+  }
+
+  private static Parsed parse(Throwable ex) {
     Throwable root = getRootCause(ex);
     String msg = root.getMessage() != null ? root.getMessage() : String.valueOf(ex.getMessage());
     String sqlState = extractSqlState(root);
@@ -0,0 +1,37 @@
+package com.eventmanager.web;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.service.EventoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Solo para usuarios con ROLE_ADMIN (app.admin.usernames), ver SecurityConfig
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+  private final EventoService eventos;
+  private final ObjectMapper json;
+
+  public AdminController(EventoService eventos, ObjectMapper json) {
+    this.eventos = eventos;
+    this.json = json;
+  }
+
+  // Export completo de eventos en NDJSON, en streaming (memoria constante con cualquier tamaño)
+  @GetMapping(value = "/events/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportarEventos() {
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("eventos.ndjson").build().toString())
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(Ndjson.<EventoView>de(json, eventos::recorrer));
+  }
+}
@@ -7,10 +7,13 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
+// Respuestas asíncronas: el hilo de la petición se suelta mientras BCrypt calcula en su pool
 @RestController @RequestMapping("/api/auth")
 public class AuthController {
   private final AuthService svc;
   public AuthController(AuthService s){this.svc=s;}
-  @PostMapping("/signup") public ResponseEntity<AuthResponse> signup(@Valid @RequestBody SignUpRequest r){ return ResponseEntity.ok(svc.signUp(r)); }
-  @PostMapping("/login")  public ResponseEntity<AuthResponse> login (@Valid @RequestBody LoginRequest  r){ return ResponseEntity.ok(svc.login(r)); }
+  @PostMapping("/signup") public CompletableFuture<ResponseEntity<AuthResponse>> signup(@Valid @RequestBody SignUpRequest r){ return svc.signUpAsync(r).thenApply(ResponseEntity::ok); }
+  @PostMapping("/login")  public CompletableFuture<ResponseEntity<AuthResponse>> login (@Valid @RequestBody LoginRequest  r){ return svc.loginAsync(r).thenApply(ResponseEntity::ok); }
 }
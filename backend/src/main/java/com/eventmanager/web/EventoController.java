@@ -1,41 +1,221 @@
 package com.eventmanager.web;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.eventmanager.domain.Coordenadas;
+import com.eventmanager.dto.AuthDtos.UsuarioAutenticado;
 import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCercano;
 import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.EventoFiltro;
+import com.eventmanager.dto.EventoDtos.EventoPagina;
 import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.dto.EventoDtos.ParticipantesPagina;
+import com.eventmanager.dto.EventoDtos.PuestoEspera;
+import com.eventmanager.dto.EventoDtos.ResultadoLote;
+import com.eventmanager.service.DifusorCambios;
 import com.eventmanager.service.EventoService;
+import com.eventmanager.service.SerieEventoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ValidationException;
 
 @RestController
 @RequestMapping("/api/events")
 public class EventoController {
+  private static final int MAX_EVENTOS_FEED = 1000;
   private final EventoService service;
-  public EventoController(EventoService service) { this.service = service; }
+  private final SerieEventoService series;
+  private final ObjectMapper json;
+  private final DifusorCambios cambios;
+  private final Duration timeoutCambios;
+  public EventoController(EventoService service, SerieEventoService series, ObjectMapper json,
+                          DifusorCambios cambios, @Value("${app.cambios.timeout:PT30M}") Duration timeoutCambios) {
+    this.service = service;
+    this.series = series;
+    this.json = json;
+    this.cambios = cambios;
+    this.timeoutCambios = timeoutCambios;
+  }
 
   @GetMapping
-  public ResponseEntity<List<EventoView>> listar() {
-    return ResponseEntity.ok(service.listar());
+  public ResponseEntity<List<EventoView>> listar(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                                 @RequestParam(defaultValue = Vistas.COMPACTA) String vista, WebRequest request) {
+    return service.conSello(service::selloListado, s -> condicional(request, s + "-" + Vistas.sello(vista, usuario),
+        CacheControl.noCache(), () -> Vistas.aplicar(vista, usuario, service.listar(s))));
+  }
+
+  // Mismo listado en streaming (Accept: application/x-ndjson): un evento por línea, sin
+  // montar la lista entera en memoria. Pensado para tablas grandes.
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> listarStream(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                                            @RequestParam(defaultValue = Vistas.COMPACTA) String vista) {
+    var f = Vistas.segun(vista, usuario);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+        .body(Ndjson.<EventoView>de(json, destino -> service.recorrer(v -> destino.accept(f.apply(v)))));
+  }
+
+  @GetMapping("/search")
+  public ResponseEntity<EventoPagina> buscar(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+      @RequestParam(required = false) String lugar,
+      @RequestParam(required = false) List<String> tags,
+      @RequestParam(required = false) String idioma,
+      @RequestParam(required = false) Integer edad,
+      @RequestParam(name = "q", required = false) String texto,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limite,
+      @RequestParam(defaultValue = Vistas.COMPACTA) String vista,
+      @AuthenticationPrincipal UsuarioAutenticado usuario) {
+    var filtro = new EventoFiltro(desde, hasta, lugar, tags, idioma, edad, texto);
+    return ResponseEntity.ok(pagina(vista, usuario, service.buscar(filtro, cursor, limite)));
+  }
+
+  // Búsqueda de texto por relevancia (título, tags, lugar, descripción; admite prefijos)
+  @GetMapping("/text-search")
+  public List<EventoView> buscarTexto(@RequestParam("q") String texto,
+                                      @RequestParam(required = false) Integer limite,
+                                      @RequestParam(defaultValue = Vistas.COMPACTA) String vista,
+                                      @AuthenticationPrincipal UsuarioAutenticado usuario) {
+    return Vistas.aplicar(vista, usuario, service.buscarTexto(texto, limite));
+  }
+
+  // Eventos futuros en un radio alrededor de lat/lon o de una ciudad, del más cercano al más lejano
+  @GetMapping("/near")
+  public List<EventoCercano> cerca(@RequestParam(required = false) Double lat,
+                                   @RequestParam(required = false) Double lon,
+                                   @RequestParam(required = false) String ciudad,
+                                   @RequestParam(defaultValue = "10") double radioKm,
+                                   @RequestParam(required = false) Integer limite,
+                                   @RequestParam(defaultValue = Vistas.COMPACTA) String vista,
+                                   @AuthenticationPrincipal UsuarioAutenticado usuario) {
+    Coordenadas centro;
+    if (lat != null && lon != null) {
+      try {
+        centro = new Coordenadas(lat, lon);
+      } catch (IllegalArgumentException ex) {
+        throw new ValidationException(ex.getMessage());
+      }
+    } else if (ciudad != null && !ciudad.isBlank()) {
+      centro = service.ubicar(ciudad);
+    } else {
+      throw new ValidationException("Indica lat y lon, o ciudad");
+    }
+    return cercanos(vista, usuario, service.buscarCerca(centro, radioKm, limite));
   }
 
+  // Lo mismo tomando como centro la ciudad del perfil del usuario
+  @GetMapping("/near-me")
+  public List<EventoCercano> cercaDeMi(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                       @RequestParam(defaultValue = "10") double radioKm,
+                                       @RequestParam(required = false) Integer limite,
+                                       @RequestParam(defaultValue = Vistas.COMPACTA) String vista) {
+    return cercanos(vista, usuario, service.buscarCerca(service.ubicarCliente(usuario.id()), radioKm, limite));
+  }
+
+  // Eventos futuros con plazas cuyas restricciones (edad, idioma) cumple el usuario
+  @GetMapping("/eligible")
+  public ResponseEntity<EventoPagina> elegibles(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limite,
+                                                @RequestParam(defaultValue = Vistas.COMPACTA) String vista) {
+    return ResponseEntity.ok(pagina(vista, usuario, service.buscarElegibles(usuario.id(), cursor, limite)));
+  }
+
+  // Incluyen las próximas ocurrencias (app.series.ventana) de las series del usuario
   @GetMapping("/my-events")
-  public ResponseEntity<List<EventoView>> misEventos(@RequestHeader("Authorization") String authHeader) {
-    Long userId = extractUserIdFromToken(authHeader);
-    return ResponseEntity.ok(service.listarMisEventos(userId));
+  public ResponseEntity<List<EventoView>> misEventos(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                                     @RequestParam(defaultValue = Vistas.COMPACTA) String vista, WebRequest request) {
+    return service.conSello(() -> service.selloMisEventos(usuario.id()), s -> condicional(request,
+        s + "-" + series.selloParticipante(usuario.id()) + "-" + Vistas.sello(vista, usuario),
+        CacheControl.noCache().cachePrivate(),
+        () -> Vistas.aplicar(vista, usuario, SerieEventoService.mezclar(service.listarMisEventos(usuario.id(), s),
+                                                                        series.ocurrenciasDeParticipante(usuario.id())))));
   }
 
   @GetMapping("/my-created-events")
-  public ResponseEntity<List<EventoView>> misEventosCreados(@RequestHeader("Authorization") String authHeader) {
-    Long userId = extractUserIdFromToken(authHeader);
-    return ResponseEntity.ok(service.listarMisEventosCreados(userId));
+  public ResponseEntity<List<EventoView>> misEventosCreados(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                                            @RequestParam(defaultValue = Vistas.COMPACTA) String vista, WebRequest request) {
+    return service.conSello(() -> service.selloMisEventosCreados(usuario.id()), s -> condicional(request,
+        s + "-" + series.selloCreador(usuario.id()) + "-" + Vistas.sello(vista, usuario),
+        CacheControl.noCache().cachePrivate(),
+        () -> Vistas.aplicar(vista, usuario, SerieEventoService.mezclar(service.listarMisEventosCreados(usuario.id(), s),
+                                                                        series.ocurrenciasDeCreador(usuario.id())))));
+  }
+
+  // Participantes de un evento por páginas (ids crecientes); el cursor es el último id recibido
+  @GetMapping("/{id}/participants")
+  public ParticipantesPagina participantes(@PathVariable Long id,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limite) {
+    return service.participantes(id, cursor, limite);
+  }
+
+  // Feed de cambios en SSE para no tener que sondear los listados: altas de eventos y contadores de
+  // participantes tras cada join/leave. Con ?eventos=1,2 solo los contadores de esos eventos.
+  // Al expirar (app.cambios.timeout) el navegador se reconecta solo.
+  @GetMapping("/changes")
+  public ResponseEntity<SseEmitter> cambios(@RequestParam(required = false) List<Long> eventos) {
+    if (eventos != null && eventos.size() > MAX_EVENTOS_FEED) {
+      throw new ValidationException("Máximo " + MAX_EVENTOS_FEED + " eventos por suscripción");
+    }
+    var filtro = eventos == null ? Set.<Long>of() : new HashSet<>(eventos);
+    filtro.remove(null);
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.noStore())
+        .header("X-Accel-Buffering", "no")   // sin buffer en nginx
+        .body(Sse.suscribir(cambios, filtro, timeoutCambios));
+  }
+
+  private static EventoPagina pagina(String vista, UsuarioAutenticado usuario, EventoPagina pagina) {
+    return new EventoPagina(Vistas.aplicar(vista, usuario, pagina.eventos()), pagina.siguienteCursor());
+  }
+
+  private static List<EventoCercano> cercanos(String vista, UsuarioAutenticado usuario, List<EventoCercano> cercanos) {
+    var f = Vistas.segun(vista, usuario);
+    return cercanos.stream()
+        .map(c -> new EventoCercano(f.apply(c.evento()), c.latitud(), c.longitud(), c.distanciaKm()))
+        .toList();
+  }
+
+  // GET condicional: si If-None-Match coincide con el sello se responde 304 sin cargar ni
+  // serializar nada. no-cache obliga al navegador a revalidar siempre, así que el frontend
+  // recibe los 304 sin cambios en su código. Se llama dentro de EventoService.conSello, para que
+  // el sello y el cuerpo salgan de la misma transacción.
+  private static <T> ResponseEntity<T> condicional(WebRequest request, String sello, CacheControl cache,
+                                                   Supplier<T> cuerpo) {
+    String etag = "\"" + sello + "\"";
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cache)
+          .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION).build();
+    }
+    return ResponseEntity.ok().eTag(etag).cacheControl(cache)
+        .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION).body(cuerpo.get());
   }
 
   /*
@@ -50,31 +230,64 @@ public class EventoController {
   @GetMapping("/_ping")
   public String ping() { return "events-ok"; }
 
+  // Crear, apuntarse y salir actúan sobre el usuario autenticado: el idCreador o el
+  // idParticipante del cuerpo se ignoran
   @PostMapping
-  public EventoView crearEvento(@RequestBody EventoCreate dto) {
-    return service.crear(dto);
+  public EventoView crearEvento(@AuthenticationPrincipal UsuarioAutenticado usuario, @RequestBody EventoCreate dto) {
+    return service.crear(dto.conCreador(usuario.id()));
   }
 
-  private Long extractUserIdFromToken(String authHeader) {
-    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-      throw new IllegalArgumentException("Token de autenticación inválido");
-    }
-    String token = authHeader.substring(7); // Eliminar "Bearer "
-    if (!token.startsWith("token-")) {
-      throw new IllegalArgumentException("Formato de token inválido");
-    }
-    try {
-      return Long.parseLong(token.substring(6)); // Extraer el ID después de "token-"
-    } catch (NumberFormatException e) {
-      throw new IllegalArgumentException("Token de autenticación inválido");
-    }
+  // Alta de muchos eventos de una vez (recurrentes o importados) a nombre del usuario autenticado;
+  // si uno no es válido no se crea ninguno. El tamaño lo limita app.eventos.max-alta-masiva.
+  @PostMapping("/bulk")
+  public List<EventoView> crearEventos(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                       @RequestBody List<EventoCreate> dtos) {
+    return service.crearLote(dtos.stream().map(d -> d.conCreador(usuario.id())).toList());
   }
+
   @PostMapping("/join")
-  public EventoView UnirseEvento(@RequestBody EventoAdd dto) {
-    return service.addParticipante(dto);
+  public EventoView UnirseEvento(@AuthenticationPrincipal UsuarioAutenticado usuario, @RequestBody EventoAdd dto) {
+    return service.addParticipante(dto.conParticipante(usuario.id()));
   }
   @PostMapping("/leave")
-  public EventoView salirEvento(@RequestBody EventoAdd dto) {
-    return service.removeParticipante(dto);
+  public EventoView salirEvento(@AuthenticationPrincipal UsuarioAutenticado usuario, @RequestBody EventoAdd dto) {
+    return service.removeParticipante(dto.conParticipante(usuario.id()));
+  }
+
+  // Altas/bajas masivas del usuario autenticado: el cuerpo es la lista de ids de evento, una
+  // transacción para todo el lote y el resultado de cada evento
+  @PostMapping("/join/batch")
+  public List<ResultadoLote> unirseLote(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                        @RequestBody List<Long> eventos) {
+    return service.addParticipantes(pares(eventos, usuario));
+  }
+
+  // Lista de espera: si el evento está completo se entra en la cola y, cuando alguien sale, el
+  // primero pasa a estar apuntado automáticamente. Si queda plaza, apuntarse equivale a join.
+  // Siempre actúa sobre el usuario autenticado: el idParticipante del cuerpo se ignora.
+  @PostMapping("/waitlist/join")
+  public PuestoEspera esperar(@AuthenticationPrincipal UsuarioAutenticado usuario, @RequestBody EventoAdd dto) {
+    return service.esperar(dto.conParticipante(usuario.id()));
+  }
+
+  @PostMapping("/waitlist/leave")
+  public PuestoEspera dejarDeEsperar(@AuthenticationPrincipal UsuarioAutenticado usuario, @RequestBody EventoAdd dto) {
+    return service.dejarDeEsperar(dto.conParticipante(usuario.id()));
+  }
+
+  // Total de la cola y, con token, el estado y la posición del propio usuario (nunca la de otro)
+  @GetMapping("/{id}/waitlist")
+  public PuestoEspera puestoEnEspera(@PathVariable Long id, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+    return service.puestoEnEspera(id, usuario != null ? usuario.id() : null);
+  }
+
+  @PostMapping("/leave/batch")
+  public List<ResultadoLote> salirLote(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                       @RequestBody List<Long> eventos) {
+    return service.removeParticipantes(pares(eventos, usuario));
+  }
+
+  private static List<EventoAdd> pares(List<Long> eventos, UsuarioAutenticado usuario) {
+    return eventos.stream().map(id -> new EventoAdd(id, usuario.id())).toList();
   }
 }
@@ -0,0 +1,30 @@
+package com.eventmanager.web;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Respuesta NDJSON (un objeto JSON por línea) escrita según llegan los elementos, sin
+// acumularlos: `fuente` recibe el consumidor que escribe cada elemento en la respuesta.
+final class Ndjson {
+  private Ndjson() {}
+
+  static <T> StreamingResponseBody de(ObjectMapper json, Consumer<Consumer<T>> fuente) {
+    return out -> {
+      fuente.accept(elemento -> {
+        try {
+          out.write(json.writeValueAsBytes(elemento));
+          out.write('\n');
+        } catch (IOException ex) {
+          // normalmente el cliente ha cortado la descarga
+          throw new UncheckedIOException(ex);
+        }
+      });
+      out.flush();
+    };
+  }
+}
@@ -1,10 +1,16 @@
 package com.eventmanager.web;
 
 import com.eventmanager.service.errors.DatabaseSchemaMismatchException;
+import com.eventmanager.service.errors.EventoCompletoException;
+import com.eventmanager.service.errors.FeedSaturadoException;
+import com.eventmanager.service.errors.HashSaturadoException;
+import com.eventmanager.service.errors.NoElegibleException;
+import org.springframework.http.HttpHeaders;
 import jakarta.validation.ValidationException;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,6 +30,12 @@ public class RestExceptionHandler {
     return ResponseEntity.badRequest().body(Map.of("message", msg));
   }
 
+  // Cuerpo que no es JSON o no tiene la forma esperada (p. ej. pares en vez de ids)
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  public ResponseEntity<Map<String,String>> handleIlegible(HttpMessageNotReadableException ex) {
+    return ResponseEntity.badRequest().body(Map.of("message", "Cuerpo de la petición no válido"));
+  }
+
 @ExceptionHandler(DatabaseSchemaMismatchException.class)
   public ResponseEntity<Map<String, Object>> handleSchemaMismatch(DatabaseSchemaMismatchException ex) {
     // Aquí podrías generar un correlationId y loguearlo
@@ -35,12 +47,38 @@ public class RestExceptionHandler {
   }
 
 
+  @ExceptionHandler(EventoCompletoException.class)
+  public ResponseEntity<Map<String,String>> handleEventoCompleto(EventoCompletoException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(Map.of("code", "EVENTO_COMPLETO", "error", ex.getMessage()));
+  }
+
+  @ExceptionHandler(NoElegibleException.class)
+  public ResponseEntity<Map<String,String>> handleNoElegible(NoElegibleException ex) {
+    return ResponseEntity.status(HttpStatus.FORBIDDEN)
+        .body(Map.of("code", "NO_ELEGIBLE", "error", ex.getMessage()));
+  }
+
+  @ExceptionHandler(HashSaturadoException.class)
+  public ResponseEntity<Map<String,String>> handleHashSaturado(HashSaturadoException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "2")
+        .body(Map.of("code", "AUTH_SATURADO", "error", ex.getMessage()));
+  }
+
+  @ExceptionHandler(FeedSaturadoException.class)
+  public ResponseEntity<Map<String,String>> handleFeedSaturado(FeedSaturadoException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "30")
+        .body(Map.of("code", "FEED_SATURADO", "error", ex.getMessage()));
+  }
+
   // Manejar RuntimeException (errores de negocio)
   @ExceptionHandler(RuntimeException.class)
   public ResponseEntity<Map<String,String>> handleRuntime(RuntimeException ex) {
     String message = ex.getMessage();
     // Si el mensaje indica un error de negocio (ya apuntado, no apuntado, etc.), usar 400
-    if (message != null && (message.contains("apuntado") || message.contains("no encontrado"))) {
+    if (message != null && (message.contains("apuntado") || message.contains("no encontrad"))) {
       return ResponseEntity.badRequest().body(Map.of("error", message));
     }
     // Para otros RuntimeException, usar 500
@@ -0,0 +1,58 @@
+package com.eventmanager.web;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.eventmanager.dto.AuthDtos.UsuarioAutenticado;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.dto.SerieDtos.SerieAdd;
+import com.eventmanager.dto.SerieDtos.SerieCreate;
+import com.eventmanager.dto.SerieDtos.SerieView;
+import com.eventmanager.service.SerieEventoService;
+
+// Eventos recurrentes: la serie se crea una vez y sus ocurrencias salen en /api/events/search,
+// my-events y my-created-events sin guardarse una a una
+@RestController
+@RequestMapping("/api/series")
+public class SerieController {
+  private final SerieEventoService service;
+  public SerieController(SerieEventoService service) {
+    this.service = service;
+  }
+
+  // Crear, apuntarse y salirse exigen token: el creador o participante es el usuario autenticado
+  @PostMapping
+  public SerieView crearSerie(@AuthenticationPrincipal UsuarioAutenticado usuario, @RequestBody SerieCreate dto) {
+    return service.crear(dto.conCreador(usuario.id()));
+  }
+
+  @PostMapping("/join")
+  public SerieView unirseSerie(@AuthenticationPrincipal UsuarioAutenticado usuario, @RequestBody SerieAdd dto) {
+    return service.unirse(new SerieAdd(dto.idSerie(), usuario.id()));
+  }
+
+  @PostMapping("/leave")
+  public SerieView salirSerie(@AuthenticationPrincipal UsuarioAutenticado usuario, @RequestBody SerieAdd dto) {
+    return service.salir(new SerieAdd(dto.idSerie(), usuario.id()));
+  }
+
+  @GetMapping("/{id}/occurrences")
+  public List<EventoView> ocurrencias(
+      @PathVariable Long id,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+      @RequestParam(defaultValue = Vistas.COMPACTA) String vista,
+      @AuthenticationPrincipal UsuarioAutenticado usuario) {
+    return Vistas.aplicar(vista, usuario, service.ocurrencias(id, desde, hasta));
+  }
+}
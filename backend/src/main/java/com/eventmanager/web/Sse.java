@@ -0,0 +1,47 @@
+package com.eventmanager.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.eventmanager.dto.EventoDtos.CambioEvento;
+import com.eventmanager.service.DifusorCambios;
+
+// Respuesta SSE conectada a DifusorCambios: un evento `event: <tipo>` con el cambio en JSON por
+// cada cambio y un comentario por latido. La petición es asíncrona, así que el hilo de Tomcat se
+// suelta al devolver el emisor y una conexión inactiva no ocupa ninguno.
+final class Sse {
+  private Sse() {}
+
+  static SseEmitter suscribir(DifusorCambios difusor, Set<Long> eventos, Duration timeout) {
+    var emisor = new SseEmitter(timeout.toMillis());
+    var suscripcion = difusor.suscribir(new DifusorCambios.Destino() {
+      @Override
+      public void enviar(CambioEvento cambio) throws IOException {
+        if (cambio == DifusorCambios.LATIDO) {
+          emisor.send(SseEmitter.event().comment("latido"));
+        } else {
+          emisor.send(SseEmitter.event().name(cambio.tipo()).data(cambio, MediaType.APPLICATION_JSON));
+        }
+      }
+
+      @Override
+      public void cerrar() {
+        emisor.complete();
+      }
+    }, eventos);
+    emisor.onCompletion(() -> difusor.cancelar(suscripcion));
+    emisor.onTimeout(() -> difusor.cancelar(suscripcion));
+    emisor.onError(ex -> difusor.cancelar(suscripcion));
+    try {
+      // Primeros bytes ya: algunos proxies no pasan nada hasta recibirlos
+      emisor.send(SseEmitter.event().reconnectTime(5000).comment("conectado"));
+    } catch (IOException ex) {
+      difusor.cancelar(suscripcion);
+    }
+    return emisor;
+  }
+}
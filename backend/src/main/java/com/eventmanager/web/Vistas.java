@@ -0,0 +1,36 @@
+package com.eventmanager.web;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import com.eventmanager.dto.AuthDtos.UsuarioAutenticado;
+import com.eventmanager.dto.EventoDtos.EventoView;
+
+import jakarta.validation.ValidationException;
+
+// Parámetro ?vista= de los listados de eventos. Por defecto "compacta": sin la lista de
+// participantes, que en eventos grandes es casi todo el JSON, y con numParticipantes y unido para
+// quien pregunta. "completa" devuelve participantesIds; la lista paginada está en /{id}/participants.
+final class Vistas {
+  static final String COMPACTA = "compacta";
+  static final String COMPLETA = "completa";
+
+  private Vistas() {}
+
+  static UnaryOperator<EventoView> segun(String vista, UsuarioAutenticado usuario) {
+    if (COMPLETA.equals(vista)) return v -> v;
+    if (!COMPACTA.equals(vista)) throw new ValidationException("vista debe ser compacta o completa");
+    Long visor = usuario != null ? usuario.id() : null;
+    return v -> v.compacta(visor);
+  }
+
+  static List<EventoView> aplicar(String vista, UsuarioAutenticado usuario, List<EventoView> vistas) {
+    var f = segun(vista, usuario);
+    return vistas.stream().map(f).toList();
+  }
+
+  // Para el ETag: la respuesta cambia según la vista y, en la compacta, según quién pregunta
+  static String sello(String vista, UsuarioAutenticado usuario) {
+    return COMPLETA.equals(vista) ? "c" : usuario != null ? "u" + usuario.id() : "a";
+  }
+}
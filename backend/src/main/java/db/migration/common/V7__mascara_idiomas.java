@@ -0,0 +1,58 @@
+package db.migration.common;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+// Columna idiomas_mask (idiomas_permitidos como máscara de bits, ver Idiomas) y su relleno para
+// los eventos existentes. Va en Java para calcular la máscara en un bucle por lotes. El catálogo y
+// el cálculo se copian aquí tal como eran al escribirla (no se usa Idiomas): una migración aplicada
+// tiene que hacer siempre lo mismo aunque la aplicación cambie después.
+public class V7__mascara_idiomas extends BaseJavaMigration {
+  private static final int LOTE = 500;
+  private static final List<String> CATALOGO = List.of("es", "en", "fr", "de", "it", "pt", "ru", "ca");
+  private static final long OTROS = 1L << 62;
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    var con = context.getConnection();
+    try (Statement st = con.createStatement()) {
+      st.execute("ALTER TABLE evento ADD COLUMN IF NOT EXISTS idiomas_mask BIGINT");
+    }
+    try (Statement select = con.createStatement();
+         ResultSet rs = select.executeQuery("SELECT id, idiomas_permitidos FROM evento "
+             + "WHERE idiomas_permitidos IS NOT NULL AND idiomas_mask IS NULL");
+         PreparedStatement update = con.prepareStatement("UPDATE evento SET idiomas_mask = ? WHERE id = ?")) {
+      int pendientes = 0;
+      while (rs.next()) {
+        Long mascara = mascara(rs.getString(2));
+        if (mascara == null) continue;
+        update.setLong(1, mascara);
+        update.setLong(2, rs.getLong(1));
+        update.addBatch();
+        if (++pendientes == LOTE) {
+          update.executeBatch();
+          pendientes = 0;
+        }
+      }
+      if (pendientes > 0) update.executeBatch();
+    }
+  }
+
+  private static Long mascara(String idiomasPermitidos) {
+    if (idiomasPermitidos == null || idiomasPermitidos.isBlank()) return null;
+    long mascara = 0;
+    for (String idioma : idiomasPermitidos.split(",")) {
+      String codigo = idioma.replace(" ", "").toLowerCase(Locale.ROOT);
+      if (codigo.isEmpty()) continue;
+      int i = CATALOGO.indexOf(codigo);
+      mascara |= i >= 0 ? 1L << i : OTROS;
+    }
+    return mascara == 0 ? null : mascara;
+  }
+}
@@ -0,0 +1,114 @@
+package db.migration.common;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+// Coordenadas de los eventos (latitud, longitud y celda de la rejilla, ver Coordenadas) con el
+// índice para la búsqueda por radio, y su relleno geocodificando el lugar de los eventos
+// existentes. Los lugares que no encuentra quedan a NULL.
+// No usa Gazetteer ni Coordenadas: el nomenclátor es una copia congelada (db/datos/V9__nomenclator.csv)
+// y la búsqueda y la rejilla se copian aquí tal como eran, para que la migración aplicada no cambie
+// de resultado al cambiar la aplicación.
+public class V9__coordenadas_eventos extends BaseJavaMigration {
+  private static final int LOTE = 500;
+  private static final String NOMENCLATOR = "db/datos/V9__nomenclator.csv";
+  private static final double TAM_CELDA = 0.1;
+  private static final long FILAS = Math.round(180 / TAM_CELDA);
+  private static final long COLUMNAS = Math.round(360 / TAM_CELDA);
+  private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^a-z0-9]+");
+  private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+  private final Map<String, double[]> lugares = new HashMap<>();
+  private List<String> nombres;
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    var con = context.getConnection();
+    try (Statement st = con.createStatement()) {
+      st.execute("ALTER TABLE evento ADD COLUMN IF NOT EXISTS latitud DOUBLE PRECISION");
+      st.execute("ALTER TABLE evento ADD COLUMN IF NOT EXISTS longitud DOUBLE PRECISION");
+      st.execute("ALTER TABLE evento ADD COLUMN IF NOT EXISTS geo_celda BIGINT");
+      st.execute("CREATE INDEX IF NOT EXISTS ix_evento_geo_celda ON evento (geo_celda, fecha)");
+    }
+    cargarNomenclator();
+    try (Statement select = con.createStatement();
+         ResultSet rs = select.executeQuery("SELECT id, lugar FROM evento WHERE geo_celda IS NULL");
+         PreparedStatement update = con.prepareStatement(
+             "UPDATE evento SET latitud = ?, longitud = ?, geo_celda = ? WHERE id = ?")) {
+      int pendientes = 0;
+      while (rs.next()) {
+        double[] c = geocodificar(rs.getString(2));
+        if (c == null) continue;
+        update.setDouble(1, c[0]);
+        update.setDouble(2, c[1]);
+        update.setLong(3, celda(c[0], c[1]));
+        update.setLong(4, rs.getLong(1));
+        update.addBatch();
+        if (++pendientes == LOTE) {
+          update.executeBatch();
+          pendientes = 0;
+        }
+      }
+      if (pendientes > 0) update.executeBatch();
+    }
+  }
+
+  private void cargarNomenclator() throws Exception {
+    var entrada = V9__coordenadas_eventos.class.getClassLoader().getResourceAsStream(NOMENCLATOR);
+    if (entrada == null) throw new IllegalStateException("No se encuentra " + NOMENCLATOR);
+    try (var lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+      String linea;
+      while ((linea = lector.readLine()) != null) {
+        if (linea.isBlank() || linea.startsWith("#")) continue;
+        String[] campos = linea.split(";");
+        lugares.put(normalizar(campos[0]),
+            new double[] {Double.parseDouble(campos[1].trim()), Double.parseDouble(campos[2].trim())});
+      }
+    }
+    nombres = lugares.keySet().stream()
+        .sorted(Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()))
+        .toList();
+  }
+
+  // Texto entero, cada trozo entre comas desde el final y el nombre más largo que aparezca como palabras
+  private double[] geocodificar(String lugar) {
+    if (lugar == null || lugar.isBlank()) return null;
+    var exacto = lugares.get(normalizar(lugar));
+    if (exacto != null) return exacto;
+    String[] trozos = lugar.split(",");
+    for (int i = trozos.length - 1; i >= 0; i--) {
+      var c = lugares.get(normalizar(trozos[i]));
+      if (c != null) return c;
+    }
+    String texto = " " + normalizar(lugar) + " ";
+    for (String nombre : nombres) {
+      if (texto.contains(" " + nombre + " ")) return lugares.get(nombre);
+    }
+    return null;
+  }
+
+  private static long celda(double latitud, double longitud) {
+    long fila = Math.min(FILAS - 1, (long) Math.floor((latitud + 90) / TAM_CELDA));
+    long columna = Math.min(COLUMNAS - 1, (long) Math.floor((longitud + 180) / TAM_CELDA));
+    return fila * COLUMNAS + columna;
+  }
+
+  private static String normalizar(String texto) {
+    String sinAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+    return NO_ALFANUMERICO.matcher(sinAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+  }
+}
@@ -0,0 +1,9 @@
+-- Latido para medir el retraso de la réplica de lectura (ver RetrasoReplica): cada instancia de la
+-- aplicación escribe su hora en su propia fila de la primaria y la lee en la réplica. Con una sola
+-- fila varias instancias se pisarían el latido. Las filas de instancias que ya no existen las borra
+-- la siguiente que arranca. Sin réplica configurada no se usa.
+
+CREATE TABLE IF NOT EXISTS replica_latido_instancia (
+  instancia VARCHAR(64) PRIMARY KEY,
+  instante  BIGINT NOT NULL
+);
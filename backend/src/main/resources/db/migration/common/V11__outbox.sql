@@ -0,0 +1,19 @@
+-- Outbox de las escrituras de eventos (ver Outbox y DespachadorOutbox): cada alta o join/leave deja
+-- una fila en su misma transacción y un hilo de fondo las procesa por lotes y las borra.
+-- disponible: cuándo toca el siguiente intento; NULL si agotó los reintentos (queda con su error).
+-- entregado_a: manejadores que ya lo han procesado (separados por comas); en los reintentos solo se
+-- llama a los que faltan.
+
+CREATE TABLE IF NOT EXISTS outbox (
+  id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  tipo         VARCHAR(40) NOT NULL,
+  evento_id    BIGINT NOT NULL,
+  cliente_id   BIGINT,
+  creado       TIMESTAMP NOT NULL,
+  disponible   TIMESTAMP,
+  intentos     INTEGER DEFAULT 0 NOT NULL,
+  ultimo_error VARCHAR(500),
+  entregado_a  VARCHAR(500)
+);
+
+CREATE INDEX IF NOT EXISTS ix_outbox_disponible ON outbox (disponible, id);
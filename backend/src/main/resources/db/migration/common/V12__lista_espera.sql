@@ -0,0 +1,14 @@
+-- Lista de espera de eventos completos (ver ListaEsperaService). turno es una identidad global:
+-- dentro de un evento, el orden de turno es el de llegada. El índice (evento_id, turno, cliente_id)
+-- da la cabeza de la cola y la posición de cada uno sin ordenar ni leer la tabla; lleva cliente_id
+-- para que H2 lo prefiera al que crea solo para la FK de evento_id.
+
+CREATE TABLE IF NOT EXISTS lista_espera (
+  turno      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  evento_id  BIGINT NOT NULL REFERENCES evento (id) ON DELETE CASCADE,
+  cliente_id BIGINT NOT NULL REFERENCES cliente (id) ON DELETE CASCADE,
+  creado     TIMESTAMP NOT NULL,
+  UNIQUE (cliente_id, evento_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_lista_espera_cola ON lista_espera (evento_id, turno, cliente_id);
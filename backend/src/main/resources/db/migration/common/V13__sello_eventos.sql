@@ -0,0 +1,13 @@
+-- Sello del listado de eventos para el ETag de GET /api/events. Cada escritura que cambia el listado
+-- (altas, joins/leaves, promociones de la lista de espera) suma 1 a una de las 16 ranuras en su
+-- misma transacción (ver Outbox); el sello es la suma. Leerlo cuesta 16 filas sea cual sea el tamaño
+-- de `evento`, y repartir en ranuras evita que todas las escrituras esperen por la misma fila.
+
+CREATE TABLE IF NOT EXISTS sello_eventos (
+  ranura  INTEGER PRIMARY KEY,
+  version BIGINT NOT NULL
+);
+
+INSERT INTO sello_eventos (ranura, version) VALUES
+  (0, 0), (1, 0), (2, 0), (3, 0), (4, 0), (5, 0), (6, 0), (7, 0),
+  (8, 0), (9, 0), (10, 0), (11, 0), (12, 0), (13, 0), (14, 0), (15, 0);
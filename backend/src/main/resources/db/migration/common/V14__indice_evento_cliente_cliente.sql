@@ -0,0 +1,4 @@
+-- "Mis eventos" y su sello de ETag buscan evento_cliente por cliente_id. V2 contaba con que la PK
+-- empieza por cliente_id, pero en las bases que creó Hibernate con ddl-auto antes de Flyway la PK
+-- puede ser (evento_id, cliente_id), y V1 no cambia una PK existente. Índice explícito para todas.
+CREATE INDEX IF NOT EXISTS ix_evento_cliente_cliente ON evento_cliente (cliente_id, evento_id);
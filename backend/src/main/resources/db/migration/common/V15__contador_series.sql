@@ -0,0 +1,9 @@
+-- Contador de participantes de cada serie, como evento.num_participantes: el aforo se comprueba
+-- con un UPDATE condicional sobre la fila de la serie en vez de contar serie_cliente.
+-- Se rellena a partir de serie_cliente para las series que ya existían.
+
+ALTER TABLE serie_evento ADD COLUMN IF NOT EXISTS num_participantes INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE serie_evento s
+SET num_participantes = (SELECT COUNT(*) FROM serie_cliente sc WHERE sc.serie_id = s.id)
+WHERE num_participantes <> (SELECT COUNT(*) FROM serie_cliente sc WHERE sc.serie_id = s.id);
@@ -0,0 +1,11 @@
+-- Índices de las consultas calientes de eventos (válidos en Postgres y H2)
+
+-- Participantes por evento: carga por lotes de ids (findParticipanteIdsByEventoIds), join/leave.
+-- La PK empieza por cliente_id y no sirve para buscar por evento_id.
+CREATE INDEX IF NOT EXISTS ix_evento_cliente_evento ON evento_cliente (evento_id, cliente_id);
+
+-- "Mis eventos creados" y su sello de ETag, ya en el orden del listado
+CREATE INDEX IF NOT EXISTS ix_evento_creador_fecha ON evento (id_creador, fecha, hora);
+
+-- Búsqueda paginada por keyset: ORDER BY fecha, hora, id y filtros de rango de fechas
+CREATE INDEX IF NOT EXISTS ix_evento_fecha_hora_id ON evento (fecha, hora, id);
@@ -0,0 +1,29 @@
+-- Eventos recurrentes: una fila por serie con su regla; las ocurrencias no se guardan.
+-- fecha_fin es la última ocurrencia (NULL = sin fin) para descartar series fuera de la ventana.
+
+CREATE TABLE IF NOT EXISTS serie_evento (
+  id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  titulo             VARCHAR(255) NOT NULL,
+  descripcion        VARCHAR(255),
+  lugar              VARCHAR(255) NOT NULL,
+  hora               TIME(6) NOT NULL,
+  tags               VARCHAR(255) ARRAY,
+  idiomas_permitidos VARCHAR(255),
+  edad_minima        INTEGER,
+  max_personas       INTEGER,
+  id_creador         BIGINT,
+  fecha_inicio       DATE NOT NULL,
+  fecha_fin          DATE,
+  regla              VARCHAR(255) NOT NULL,
+  version            BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS serie_cliente (
+  serie_id   BIGINT NOT NULL REFERENCES serie_evento (id),
+  cliente_id BIGINT NOT NULL REFERENCES cliente (id),
+  PRIMARY KEY (serie_id, cliente_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_serie_cliente_cliente ON serie_cliente (cliente_id);
+CREATE INDEX IF NOT EXISTS ix_serie_evento_ventana ON serie_evento (fecha_inicio, fecha_fin);
+CREATE INDEX IF NOT EXISTS ix_serie_evento_creador ON serie_evento (id_creador);
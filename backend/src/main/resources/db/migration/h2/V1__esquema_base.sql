@@ -0,0 +1,40 @@
+-- Esquema base: el mismo que generaba Hibernate con ddl-auto.
+-- Idempotente para poder aplicarse sobre bases creadas antes de Flyway (baseline-version 0):
+-- las tablas existentes se dejan como están y solo se añaden las columnas que falten.
+
+CREATE TABLE IF NOT EXISTS cliente (
+  id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  nombre           VARCHAR(255) NOT NULL,
+  apellidos        VARCHAR(255) NOT NULL,
+  username         VARCHAR(255) NOT NULL UNIQUE,
+  correo           VARCHAR(255) NOT NULL UNIQUE,
+  fecha_nacimiento DATE NOT NULL,
+  ciudad           VARCHAR(255),
+  idioma           VARCHAR(255),
+  password_hash    VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS evento (
+  id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  fecha         DATE NOT NULL,
+  hora          TIME(6) NOT NULL,
+  lugar         VARCHAR(255) NOT NULL,
+  restricciones JSON,
+  titulo        VARCHAR(255) NOT NULL,
+  descripcion   VARCHAR(255),
+  tags          VARCHAR(255) ARRAY,
+  id_creador    BIGINT
+);
+
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS idiomas_permitidos VARCHAR(255);
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS edad_minima INTEGER;
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS max_personas INTEGER;
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS num_participantes INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- La PK (cliente_id, evento_id) sirve también para buscar los eventos de un cliente
+CREATE TABLE IF NOT EXISTS evento_cliente (
+  cliente_id BIGINT NOT NULL REFERENCES cliente (id),
+  evento_id  BIGINT NOT NULL REFERENCES evento (id),
+  PRIMARY KEY (cliente_id, evento_id)
+);
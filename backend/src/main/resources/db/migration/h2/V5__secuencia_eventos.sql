@@ -0,0 +1,7 @@
+-- Ids de evento por secuencia con incremento 50 (ver la versión de postgresql).
+-- En H2 la base es siempre nueva (memoria), así que la secuencia empieza en 1.
+
+CREATE SEQUENCE IF NOT EXISTS evento_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE evento ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE evento ALTER COLUMN id SET DEFAULT NEXT VALUE FOR evento_seq;
@@ -0,0 +1,7 @@
+-- Login/registro buscan sin distinguir mayúsculas (lower(username) = lower(?)); las UNIQUE
+-- sobre la columna tal cual no sirven para esa comparación.
+CREATE INDEX IF NOT EXISTS ix_cliente_username_lower ON cliente (lower(username));
+CREATE INDEX IF NOT EXISTS ix_cliente_correo_lower ON cliente (lower(correo));
+
+-- Filtro por tags de /api/events/search (contención de arrays)
+CREATE INDEX IF NOT EXISTS ix_evento_tags ON evento USING gin (tags);
@@ -0,0 +1,13 @@
+-- Eventos anteriores a las columnas derivadas: ddl-auto las añadió vacías (contador a 0).
+-- Se rellenan a partir de evento_cliente y del JSON de restricciones.
+
+UPDATE evento e
+SET num_participantes = (SELECT COUNT(*) FROM evento_cliente ec WHERE ec.evento_id = e.id)
+WHERE num_participantes <> (SELECT COUNT(*) FROM evento_cliente ec WHERE ec.evento_id = e.id);
+
+UPDATE evento
+SET idiomas_permitidos = restricciones ->> 'idiomas_permitidos',
+    edad_minima        = (restricciones ->> 'edad_minima')::integer,
+    max_personas       = (restricciones ->> 'max_personas')::integer
+WHERE restricciones IS NOT NULL
+  AND idiomas_permitidos IS NULL AND edad_minima IS NULL AND max_personas IS NULL;
@@ -0,0 +1,10 @@
+-- Ids de evento por secuencia con incremento 50: Hibernate reserva bloques de 50 ids (pooled)
+-- y puede agrupar los INSERT en batch. La secuencia arranca por encima del id máximo actual.
+-- La columna deja de ser IDENTITY y usa la secuencia como default, para que los INSERT hechos
+-- a mano o desde scripts sigan sin pedir id y no choquen con los bloques de Hibernate.
+
+CREATE SEQUENCE IF NOT EXISTS evento_seq INCREMENT BY 50;
+SELECT setval('evento_seq', (SELECT COALESCE(MAX(id), 0) FROM evento) + 50);
+
+ALTER TABLE evento ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE evento ALTER COLUMN id SET DEFAULT nextval('evento_seq');
@@ -0,0 +1,17 @@
+-- Búsqueda de texto (GET /api/events/text-search): tsvector generado con título (peso A), tags (B),
+-- lugar (C) y descripción (D) e índice GIN. Configuración 'simple': sin stemming ni stopwords,
+-- porque los eventos están en varios idiomas; las consultas son por prefijo ("jazz:*").
+
+-- array_to_string no es IMMUTABLE y una columna generada lo exige
+CREATE OR REPLACE FUNCTION evento_tags_texto(tags VARCHAR[]) RETURNS TEXT
+  LANGUAGE sql IMMUTABLE PARALLEL SAFE
+  AS $$ SELECT array_to_string(tags, ' ') $$;
+
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS busqueda tsvector GENERATED ALWAYS AS (
+  setweight(to_tsvector('simple', coalesce(titulo, '')), 'A') ||
+  setweight(to_tsvector('simple', coalesce(evento_tags_texto(tags), '')), 'B') ||
+  setweight(to_tsvector('simple', coalesce(lugar, '')), 'C') ||
+  setweight(to_tsvector('simple', coalesce(descripcion, '')), 'D')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_evento_busqueda ON evento USING gin (busqueda);
@@ -0,0 +1,71 @@
+package com.eventmanager;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+// Pool de 2 conexiones, como por defecto: si el hilo de la petición tocara la BD, open-in-view se
+// quedaría esa conexión hasta responder, y dos altas a la vez dejarían sin conexión a sus INSERT.
+@SpringBootTest(properties = {
+    "app.pruebas.bd=authwebpooldb",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.connection-timeout=2000"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class AuthControllerTest {
+
+  @Autowired MockMvc mvc;
+
+  @Test
+  void altasALaVez_noSeQuedanSinConexion() throws Exception {
+    var marta = empezar("/api/auth/signup", alta("martap", "marta@ex.com"));
+    var luis = empezar("/api/auth/signup", alta("luisr", "luis@ex.com"));
+    mvc.perform(asyncDispatch(marta))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.username").value("martap"))
+        .andExpect(jsonPath("$.token").isNotEmpty());
+    mvc.perform(asyncDispatch(luis)).andExpect(status().isOk());
+    asincrono("/api/auth/login", "{\"usernameOrEmail\":\"martap\",\"password\":\"Abc!123\"}")
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.token").isNotEmpty());
+  }
+
+  @Test
+  void erroresDeValidacion_400() throws Exception {
+    asincrono("/api/auth/signup", alta("pedrop", "pedro@ex.com")).andExpect(status().isOk());
+    asincrono("/api/auth/signup", alta("pedrop", "otro@ex.com"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Username en uso."));
+    asincrono("/api/auth/login", "{\"usernameOrEmail\":\"pedrop\",\"password\":\"Mala!123\"}")
+        .andExpect(status().isBadRequest());
+    asincrono("/api/auth/login", "{\"usernameOrEmail\":\"nadie\",\"password\":\"Abc!123\"}")
+        .andExpect(status().isBadRequest());
+  }
+
+  private ResultActions asincrono(String ruta, String json) throws Exception {
+    return mvc.perform(asyncDispatch(empezar(ruta, json)));
+  }
+
+  private MvcResult empezar(String ruta, String json) throws Exception {
+    return mvc.perform(post(ruta).contentType(MediaType.APPLICATION_JSON).content(json))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
+
+  private static String alta(String username, String correo) {
+    return "{\"nombre\":\"Marta\",\"apellidos\":\"Ruiz\",\"username\":\"" + username + "\",\"correo\":\"" + correo
+        + "\",\"fechaNacimiento\":\"1995-04-12\",\"ciudad\":\"BCN\",\"idioma\":\"es\",\"password\":\"Abc!123\"}";
+  }
+}
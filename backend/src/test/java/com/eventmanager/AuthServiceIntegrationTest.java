@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.eventmanager.domain.Cliente;
@@ -20,27 +21,12 @@ import com.eventmanager.repository.ClienteRepository;
 import com.eventmanager.service.AuthService;
 
 import jakarta.validation.ValidationException;
-import org.springframework.test.context.DynamicPropertyRegistry;
-import org.springframework.test.context.DynamicPropertySource;
 
-
-@SpringBootTest
+@SpringBootTest(properties = "app.pruebas.bd=authdb")
+@ActiveProfiles("test")
 @Transactional // Cada test se revierte al finalizar
 public class AuthServiceIntegrationTest {
 
-    @org.springframework.test.context.DynamicPropertySource
-    static void h2(DynamicPropertyRegistry r) {
-        r.add("spring.datasource.url", () -> "jdbc:h2:mem:authdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
-        r.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
-        r.add("spring.datasource.username", () -> "sa");
-        r.add("spring.datasource.password", () -> "");
-        r.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
-        r.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
-        r.add("spring.sql.init.mode", () -> "never");
-        r.add("spring.jpa.properties.hibernate.type.preferred_json_mapper", () -> "jackson");
-
-    }
-
     @Autowired ClienteRepository clienteRepository;
     @Autowired AuthService authService;
 
@@ -3,12 +3,16 @@ package com.eventmanager;
 import com.eventmanager.dto.AuthDtos.*;
 import com.eventmanager.repository.ClienteRepository;
 import com.eventmanager.service.AuthService;
+import com.eventmanager.service.PasswordHasher;
+import com.eventmanager.service.TokenService;
 import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Optional;
 
@@ -22,7 +26,9 @@ public class AuthServiceTest {
   @BeforeEach
   void setup() {
     repo = Mockito.mock(ClienteRepository.class);
-    service = new AuthService(repo, new BCryptPasswordEncoder());
+    service = new AuthService(repo,
+        new PasswordHasher(new BCryptPasswordEncoder(), new SimpleMeterRegistry(), 2, 8, Duration.ofSeconds(10)),
+        new TokenService("secreto-test", Duration.ofHours(1)), Runnable::run);
   }
 
   @Test
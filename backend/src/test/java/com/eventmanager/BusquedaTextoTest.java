@@ -0,0 +1,104 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.IndiceInvertido;
+
+@SpringBootTest(properties = "app.pruebas.bd=busquedadb")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class BusquedaTextoTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+
+  @AfterEach
+  void limpiar() {
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void ordenaPorCampo_yCasaPorPrefijo() throws Exception {
+    Long creador = clienteRepo.save(cliente()).getId();
+    Long enDescripcion = crear(creador, "Noche de música", "Concierto de jazz en directo", "Girona", List.of());
+    Long enTitulo = crear(creador, "Jazz al parque", null, "Barcelona", List.of());
+    Long enTag = crear(creador, "Concierto", null, "Madrid", List.of("jazz"));
+    crear(creador, "Teatro", "Obra clásica", "Barcelona", List.of("teatro"));
+
+    assertEquals(List.of(enTitulo, enTag, enDescripcion), ids("JAZ"));
+    // todos los términos, cada uno en cualquier campo
+    assertEquals(List.of(enTitulo), ids("jazz barcel"));
+    assertEquals(List.of(enTag, enDescripcion), ids("conci jazz"));
+    assertEquals(List.of(), ids("jazz teatro"));
+    assertEquals(List.of(), ids("  ¿?  "));
+    assertEquals(1, eventoService.buscarTexto("jazz", 1).size());
+
+    // un evento nuevo entra en el índice en la siguiente búsqueda
+    Long nuevo = crear(creador, "Jam session", "jazz", "Lleida", List.of());
+    assertEquals(List.of(enTitulo, enTag, enDescripcion, nuevo), ids("jazz"));
+
+    mvc.perform(get("/api/events/text-search").param("q", "música"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].titulo").value("Noche de música"));
+  }
+
+  @Test
+  void indiceInvertido_mejorCampoPorTermino() {
+    var indice = new IndiceInvertido();
+    indice.anadir(1, "Cine", "cine de verano", "Girona", List.of());
+    indice.anadir(2, "Verano", null, "Girona", List.of("cine"));
+    indice.anadir(3, "Cinefórum", null, null, null);
+
+    assertEquals(List.of("cine", "fórum", "2025"), IndiceInvertido.terminos("Cine-fórum 2025"));
+    // 1: cine en título (1.0); 3: cinefórum en título (1.0); 2: cine en tags (0.4)
+    assertEquals(List.of(1L, 3L, 2L), indice.buscar(List.of("cine"), 10));
+    // 2: verano título + cine tags = 1.4; 1: cine título + verano descripción = 1.1
+    assertEquals(List.of(2L, 1L), indice.buscar(List.of("verano", "cine"), 10));
+    assertEquals(List.of(2L), indice.buscar(List.of("verano", "cine"), 1));
+  }
+
+  private List<Long> ids(String q) {
+    return eventoService.buscarTexto(q, 10).stream().map(EventoView::id).toList();
+  }
+
+  private Long crear(Long creador, String titulo, String descripcion, String lugar, List<String> tags) {
+    return eventoService.crear(new EventoCreate(LocalDate.now().plusDays(5), LocalTime.of(20, 0), lugar, null,
+        tags, titulo, descripcion, creador)).id();
+  }
+
+  private static Cliente cliente() {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername("creador");
+    c.setCorreo("creador@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
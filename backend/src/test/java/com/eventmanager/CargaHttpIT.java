@@ -0,0 +1,69 @@
+package com.eventmanager.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.eventmanager.carga.EjecutorCarga;
+import com.eventmanager.carga.GeneradorDatos;
+import com.eventmanager.carga.InformeCarga;
+
+// Prueba de carga HTTP contra los controladores reales (Tomcat en puerto libre).
+// Siembra datos con semilla fija, lanza la mezcla signup/login/listar/join/leave y deja
+// req/s y p50/p90/p99 por endpoint en consola y en target/carga-resultado.json.
+// Por defecto usa H2 en memoria; con SPRING_DATASOURCE_URL va contra esa base (que sea desechable).
+// mvn -Dtest=CargaHttpIT -Dcarga.usuarios=64 -Dcarga.duracion=PT1M test
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("carga")
+class CargaHttpIT {
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    String url = System.getenv("SPRING_DATASOURCE_URL");
+    if (url != null && !url.isBlank()) return;
+    r.add("spring.datasource.url", () -> "jdbc:h2:mem:cargadb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    r.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+    r.add("spring.datasource.username", () -> "sa");
+    r.add("spring.datasource.password", () -> "");
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    r.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
+    r.add("spring.sql.init.mode", () -> "never");
+    r.add("spring.jpa.properties.hibernate.type.preferred_json_mapper", () -> "jackson");
+  }
+
+  @LocalServerPort int port;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired PasswordEncoder encoder;
+
+  @Test
+  void mezclaDeTrafico_sinErrores() throws Exception {
+    var datosCfg = GeneradorDatos.Config.desdePropiedades();
+    var cargaCfg = EjecutorCarga.Config.desdePropiedades();
+    var datos = GeneradorDatos.sembrar(jdbc, encoder, datosCfg);
+
+    InformeCarga informe = new EjecutorCarga("http://localhost:" + port, datos, cargaCfg).ejecutar();
+    var filas = informe.resumen(cargaCfg.duracion());
+
+    Map<String, Object> parametros = new LinkedHashMap<>();
+    parametros.put("datos", datosCfg);
+    parametros.put("carga", cargaCfg);
+    informe.imprimir(filas, System.out);
+    informe.guardarJson(filas, parametros, Path.of("target", "carga-resultado.json"));
+
+    assertFalse(filas.isEmpty(), "no se midió ninguna petición");
+    assertEquals(0, filas.stream().mapToLong(InformeCarga.Fila::errores).sum(), "hubo 5xx o timeouts");
+  }
+}
@@ -0,0 +1,48 @@
+package com.eventmanager;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.Test;
+
+import com.eventmanager.config.ConexionesAcotadasDataSource;
+
+public class ConexionesAcotadasDataSourceTest {
+
+  @Test
+  void sinPermisos_esperaYFalla_yCerrarLosDevuelve() throws Exception {
+    DataSource pool = mock(DataSource.class);
+    Connection real = mock(Connection.class);
+    when(pool.getConnection()).thenReturn(real);
+    var ds = new ConexionesAcotadasDataSource(pool, 1, Duration.ofMillis(50));
+
+    Connection c1 = ds.getConnection();
+    assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+
+    c1.close();
+    c1.close(); // un segundo close no libera otro permiso
+    Connection c2 = ds.getConnection();
+    assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+    c2.close();
+    verify(real, times(3)).close();
+  }
+
+  @Test
+  void siElPoolFalla_noSePierdeElPermiso() throws Exception {
+    DataSource pool = mock(DataSource.class);
+    when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("caído"))
+        .thenReturn(mock(Connection.class));
+    var ds = new ConexionesAcotadasDataSource(pool, 1, Duration.ofMillis(50));
+
+    assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+    ds.getConnection().close();
+  }
+}
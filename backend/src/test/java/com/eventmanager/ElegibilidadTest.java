@@ -0,0 +1,164 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.domain.Idiomas;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.EventoFiltro;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.dto.EventoDtos.ResultadoLote;
+import com.eventmanager.dto.EventoDtos.RestriccionesCreate;
+import com.eventmanager.dto.SerieDtos.SerieAdd;
+import com.eventmanager.dto.SerieDtos.SerieCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.repository.SerieEventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.SerieEventoService;
+import com.eventmanager.service.TokenService;
+import com.eventmanager.service.errors.NoElegibleException;
+
+@SpringBootTest(properties = "app.pruebas.bd=elegibilidaddb")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class ElegibilidadTest {
+
+  private static final LocalDate FECHA = LocalDate.now().plusDays(10);
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired SerieEventoService serieService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired SerieEventoRepository serieRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired TokenService tokens;
+  @Autowired JdbcTemplate jdbc;
+
+  @AfterEach
+  void limpiar() {
+    eventoRepo.deleteAll();
+    serieRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void mascara_catalogoYOtros() {
+    assertNull(Idiomas.mascara(" "));
+    assertEquals(0b11L, Idiomas.mascara("es, EN"));
+    assertEquals(Idiomas.OTROS | 1L, Idiomas.mascara("eu,es"));
+    assertEquals(true, Idiomas.admite("eu,es", "EU"));
+    assertEquals(false, Idiomas.admite("eu,es", "gl"));
+    assertEquals(true, Idiomas.admite(null, "gl"));
+  }
+
+  @Test
+  void elegibles_filtraPorEdadIdiomaPlazasYParticipacion() throws Exception {
+    Long creador = clienteRepo.save(cliente("creador", LocalDate.of(1980, 1, 1), "es")).getId();
+    Long menor = clienteRepo.save(cliente("menor", LocalDate.now().minusYears(16), "fr")).getId();
+    Long libre = crear(creador, "Libre", null, null, null);
+    crear(creador, "Adultos", null, 18, null);
+    crear(creador, "Castellano", "es,en", null, null);
+    Long frances = crear(creador, "Francés", " FR , de", 16, null);
+    crear(creador, "Euskera", "eu", null, null);
+    crear(creador, "Completo", null, null, 1);
+    Long apuntado = crear(creador, "Ya apuntado", null, null, null);
+    eventoService.addParticipante(new EventoAdd(apuntado, menor));
+
+    assertEquals(Idiomas.mascara("fr,de"),
+        jdbc.queryForObject("SELECT idiomas_mask FROM evento WHERE id = ?", Long.class, frances));
+
+    List<Long> ids = new ArrayList<>();
+    String cursor = null;
+    do {
+      var pagina = eventoService.buscarElegibles(menor, cursor, 1);
+      pagina.eventos().forEach(v -> ids.add(v.id()));
+      cursor = pagina.siguienteCursor();
+    } while (cursor != null);
+    assertEquals(List.of(libre, frances), ids);
+
+    mvc.perform(get("/api/events/eligible").header("Authorization", "Bearer " + tokens.emitir(menor, "menor")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.eventos.length()").value(2));
+    mvc.perform(get("/api/events/eligible")).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void idiomaFueraDelCatalogo_comparaElTexto() {
+    Long creador = clienteRepo.save(cliente("creador", LocalDate.of(1980, 1, 1), "es")).getId();
+    Long vasco = clienteRepo.save(cliente("vasco", LocalDate.of(1990, 1, 1), "eu")).getId();
+    Long euskera = crear(creador, "Euskera", "eu,es", null, null);
+    crear(creador, "Gallego", "gl", null, null);
+
+    assertEquals(List.of(euskera),
+        eventoService.buscarElegibles(vasco, null, 10).eventos().stream().map(EventoView::id).toList());
+    var filtro = new EventoFiltro(null, null, null, null, "EU", null, null);
+    assertEquals(1, eventoService.buscar(filtro, null, 10).eventos().size());
+    filtro = new EventoFiltro(null, null, null, null, "es", null, null);
+    assertEquals(1, eventoService.buscar(filtro, null, 10).eventos().size());
+  }
+
+  @Test
+  void join_aplicaLasMismasReglas() throws Exception {
+    Long creador = clienteRepo.save(cliente("creador", LocalDate.of(1980, 1, 1), "es")).getId();
+    Long menor = clienteRepo.save(cliente("menor", LocalDate.now().minusYears(16), "fr")).getId();
+    Long sinIdioma = clienteRepo.save(cliente("sinidioma", LocalDate.of(1990, 1, 1), null)).getId();
+    Long adultos = crear(creador, "Adultos", null, 18, null);
+    Long castellano = crear(creador, "Castellano", "es", null, null);
+
+    mvc.perform(post("/api/events/join").header("Authorization", "Bearer " + tokens.emitir(menor, "menor"))
+            .contentType(MediaType.APPLICATION_JSON).content("{\"idEvento\":" + adultos + "}"))
+        .andExpect(status().isForbidden())
+        .andExpect(jsonPath("$.code").value("NO_ELEGIBLE"));
+
+    List<ResultadoLote> lote = eventoService.addParticipantes(List.of(
+        new EventoAdd(castellano, menor), new EventoAdd(castellano, sinIdioma), new EventoAdd(adultos, sinIdioma)));
+    assertEquals(List.of("NO_ELEGIBLE", "OK", "OK"), lote.stream().map(ResultadoLote::resultado).toList());
+
+    Long serie = serieService.crear(new SerieCreate(FECHA, LocalTime.of(10, 0), "Girona",
+        new RestriccionesCreate("es", 18, null), List.of(), "Serie", null, creador, "FREQ=WEEKLY")).id();
+    assertThrows(NoElegibleException.class, () -> serieService.unirse(new SerieAdd(serie, menor)));
+    assertEquals(2, serieService.unirse(new SerieAdd(serie, sinIdioma)).participantesIds().size());
+  }
+
+  private Long crear(Long creador, String titulo, String idiomas, Integer edad, Integer plazas) {
+    var restricciones = idiomas == null && edad == null && plazas == null
+        ? null : new RestriccionesCreate(idiomas, edad, plazas);
+    return eventoService.crear(new EventoCreate(FECHA, LocalTime.of(10, 0), "Girona", restricciones,
+        List.of(), titulo, null, creador)).id();
+  }
+
+  private static Cliente cliente(String username, LocalDate nacimiento, String idioma) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(nacimiento);
+    c.setIdioma(idioma);
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,153 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.dto.EventoDtos.RestriccionesCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.TokenService;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ValidationException;
+
+@SpringBootTest(properties = {
+    "app.pruebas.bd=altamasivadb",
+    "app.eventos.max-alta-masiva=150",
+    "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class EventoAltaMasivaTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired EntityManagerFactory emf;
+  @Autowired TokenService tokens;
+
+  @AfterEach
+  void limpiar() {
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void crearLote_insertaEnBatch() {
+    List<Long> creadores = List.of(guardar("a"), guardar("b"), guardar("c"));
+    List<EventoCreate> reqs = new ArrayList<>();
+    for (int i = 0; i < 120; i++) reqs.add(evento(creadores.get(i % 3), "Evento " + i));
+
+    var stats = emf.unwrap(SessionFactory.class).getStatistics();
+    stats.clear();
+    List<EventoView> vistas = eventoService.crearLote(reqs);
+
+    assertEquals(120, vistas.size());
+    assertEquals(120, vistas.stream().map(EventoView::id).distinct().count());
+    assertEquals(List.of(creadores.get(1)), vistas.get(1).participantesIds());
+    assertEquals(120, jdbc.queryForObject("SELECT COUNT(*) FROM evento WHERE num_participantes = 1", Integer.class));
+    assertEquals(120, jdbc.queryForObject("SELECT COUNT(*) FROM evento_cliente", Integer.class));
+    // 240 filas (evento + evento_cliente) en batches de 50, más 3 viajes a la secuencia y
+    // la consulta de creadores: muy lejos de una sentencia por fila
+    assertTrue(stats.getPrepareStatementCount() < 30, "sentencias: " + stats.getPrepareStatementCount());
+  }
+
+  @Test
+  void crearLote_todoONada() {
+    Long creador = guardar("a");
+    var reqs = List.of(evento(creador, "Bien"), evento(-1L, "Creador inexistente"));
+
+    var ex = assertThrows(ValidationException.class, () -> eventoService.crearLote(reqs));
+    assertEquals("Evento 1: Cliente creador no encontrado", ex.getMessage());
+    assertEquals(0, eventoRepo.count());
+  }
+
+  @Test
+  void insertSinId_usaLaMismaSecuencia() {
+    Long creador = guardar("a");
+    eventoService.crearLote(List.of(evento(creador, "Hibernate")));
+    jdbc.update("INSERT INTO evento (fecha, hora, lugar, titulo, id_creador) "
+        + "VALUES (DATE '2030-01-01', TIME '10:00:00', 'Madrid', 'SQL', ?)", creador);
+    eventoService.crearLote(List.of(evento(creador, "Hibernate 2")));
+
+    assertEquals(3, jdbc.queryForObject("SELECT COUNT(DISTINCT id) FROM evento", Integer.class));
+  }
+
+  @Test
+  void endpointBulk_aNombreDelUsuarioDelToken() throws Exception {
+    Long creador = guardar("a");
+    Long otro = guardar("b");
+    String auth = "Bearer " + tokens.emitir(creador, "a");
+    // el idCreador del cuerpo no cuenta: manda el token
+    String uno = "{\"fecha\":\"2030-05-01\",\"hora\":\"20:00:00\",\"lugar\":\"Girona\",\"titulo\":\"T\",\"idCreador\":" + otro + "}";
+
+    mvc.perform(post("/api/events/bulk").contentType(MediaType.APPLICATION_JSON).content("[" + uno + "]"))
+        .andExpect(status().isUnauthorized());
+    mvc.perform(post("/api/events/bulk").header("Authorization", auth)
+            .contentType(MediaType.APPLICATION_JSON).content("[" + uno + "," + uno + "]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[1].idCreador").value(creador))
+        .andExpect(jsonPath("$[1].participantesIds[0]").value(creador));
+    mvc.perform(post("/api/events/bulk").header("Authorization", auth).contentType(MediaType.APPLICATION_JSON)
+            .content("[" + uno + ",{\"lugar\":\"Girona\",\"titulo\":\"Sin fecha\"}]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Evento 1: La fecha del evento es obligatoria"));
+    assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM evento WHERE id_creador = ?", Integer.class, otro));
+  }
+
+  @Test
+  void endpointBulk_limiteDeTamano() throws Exception {
+    Long creador = guardar("a");
+    String uno = "{\"fecha\":\"2030-05-01\",\"hora\":\"20:00:00\",\"lugar\":\"Girona\",\"titulo\":\"T\"}";
+    String cuerpo = "[" + String.join(",", Collections.nCopies(151, uno)) + "]";
+
+    mvc.perform(post("/api/events/bulk").header("Authorization", "Bearer " + tokens.emitir(creador, "a"))
+            .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Máximo 150 eventos por petición."));
+    assertEquals(0, eventoRepo.count());
+  }
+
+  private EventoCreate evento(Long creador, String titulo) {
+    return new EventoCreate(LocalDate.of(2030, 5, 1), LocalTime.of(20, 0), "Girona",
+        new RestriccionesCreate("es", null, 100), List.of("importado"), titulo, "Alta masiva", creador);
+  }
+
+  private Long guardar(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return clienteRepo.save(c).getId();
+  }
+}
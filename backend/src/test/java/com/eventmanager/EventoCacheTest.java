@@ -0,0 +1,95 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.service.EventoCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EventoCacheTest {
+
+  private final EventoCache cache = new EventoCache(new SimpleMeterRegistry(), 100, 100, Duration.ofMinutes(5));
+  // Lo que hay "en la BD": el nº de participantes del evento 1
+  private final AtomicInteger participantes = new AtomicInteger(1);
+
+  @Test
+  void joinDuranteElListado_noDejaLaVistaViejaEnCache() throws Exception {
+    var dentro = new CountDownLatch(1);
+    var seguir = new CountDownLatch(1);
+    // el listado lee la BD antes del join y tarda en devolver
+    var lento = CompletableFuture.supplyAsync(() -> cache.todos(null, () -> {
+      var leidas = List.of(vista(1L, participantes.get()));
+      dentro.countDown();
+      esperar(seguir);
+      return leidas;
+    }, this::porIds));
+    assertTrue(dentro.await(5, TimeUnit.SECONDS));
+
+    participantes.set(2);
+    cache.alCambiarParticipantes(1L, 7L);   // join confirmado mientras el listado sigue cargando
+    seguir.countDown();
+    assertEquals(1, lento.get(5, TimeUnit.SECONDS).get(0).numParticipantes());
+
+    assertEquals(2, cache.todos(null, this::todos, this::porIds).get(0).numParticipantes());
+  }
+
+  @Test
+  void joinDuranteLaRecargaDeVistas_noDejaLaVistaViejaEnCache() throws Exception {
+    cache.todos(null, this::todos, this::porIds);   // lista de ids cacheada
+    cache.alCambiarParticipantes(1L, 7L);     // vista del 1 fuera: la siguiente lectura la recarga
+
+    var dentro = new CountDownLatch(1);
+    var seguir = new CountDownLatch(1);
+    Function<Set<Long>, List<EventoView>> recargaLenta = ids -> {
+      var leidas = porIds(ids);
+      dentro.countDown();
+      esperar(seguir);
+      return leidas;
+    };
+    var lento = CompletableFuture.supplyAsync(() -> cache.todos(null, this::todos, recargaLenta));
+    assertTrue(dentro.await(5, TimeUnit.SECONDS));
+
+    participantes.set(2);
+    cache.alCambiarParticipantes(1L, 8L);
+    seguir.countDown();
+    lento.get(5, TimeUnit.SECONDS);
+
+    assertEquals(2, cache.todos(null, this::todos, this::porIds).get(0).numParticipantes());
+  }
+
+  private List<EventoView> todos() {
+    return List.of(vista(1L, participantes.get()));
+  }
+
+  private List<EventoView> porIds(Set<Long> ids) {
+    return ids.stream().map(id -> vista(id, participantes.get())).toList();
+  }
+
+  private static void esperar(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static EventoView vista(Long id, int numParticipantes) {
+    return new EventoView(id, LocalDate.of(2030, 1, 1), LocalTime.NOON, "Lugar", null, null, null,
+        "Evento", null, 1L, List.of(), null, null, numParticipantes, null);
+  }
+}
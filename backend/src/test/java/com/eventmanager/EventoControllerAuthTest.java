@@ -0,0 +1,106 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.TokenService;
+
+@SpringBootTest(properties = "app.pruebas.bd=authwebdb")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class EventoControllerAuthTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired TokenService tokens;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired EventoRepository eventoRepo;
+
+  @Test
+  void misEventos_conTokenValido() throws Exception {
+    mvc.perform(get("/api/events/my-events").header("Authorization", "Bearer " + tokens.emitir(7L, "ana")))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void misEventos_sinTokenOInvalido_401() throws Exception {
+    mvc.perform(get("/api/events/my-events")).andExpect(status().isUnauthorized());
+    mvc.perform(get("/api/events/my-created-events").header("Authorization", "Bearer token-7"))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void listadoPublico_ignoraTokenInvalido() throws Exception {
+    mvc.perform(get("/api/events").header("Authorization", "Bearer token-7")).andExpect(status().isOk());
+  }
+
+  @Test
+  void crearApuntarseYSalir_actuanSobreElUsuarioDelToken() throws Exception {
+    Long creador = clienteRepo.save(cliente("creadora")).getId();
+    Long ana = clienteRepo.save(cliente("anaweb")).getId();
+    String comoCreador = "Bearer " + tokens.emitir(creador, "creadora");
+    String comoAna = "Bearer " + tokens.emitir(ana, "anaweb");
+    String nuevo = "{\"fecha\":\"" + LocalDate.now().plusDays(5) + "\",\"hora\":\"18:00\",\"lugar\":\"Lleida\","
+        + "\"tags\":[],\"titulo\":\"Taller\",\"idCreador\":" + ana + "}";
+
+    mvc.perform(post("/api/events").contentType(MediaType.APPLICATION_JSON).content(nuevo))
+        .andExpect(status().isUnauthorized());
+    mvc.perform(post("/api/events/join").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"idEvento\":1,\"idParticipante\":" + ana + "}"))
+        .andExpect(status().isUnauthorized());
+    mvc.perform(post("/api/events/leave").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"idEvento\":1,\"idParticipante\":" + ana + "}"))
+        .andExpect(status().isUnauthorized());
+
+    // el idCreador del cuerpo se ignora: el evento es de quien llama
+    String json = mvc.perform(post("/api/events").header("Authorization", comoCreador)
+            .contentType(MediaType.APPLICATION_JSON).content(nuevo))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.idCreador").value(creador))
+        .andReturn().getResponse().getContentAsString();
+    Long evento = Long.valueOf(json.replaceAll(".*\"id\":(\\d+).*", "$1"));
+
+    // ana se apunta aunque el cuerpo diga otro participante, y su leave no saca a la creadora
+    String otro = "{\"idEvento\":" + evento + ",\"idParticipante\":" + creador + "}";
+    mvc.perform(post("/api/events/join").header("Authorization", comoAna)
+            .contentType(MediaType.APPLICATION_JSON).content(otro))
+        .andExpect(status().isOk());
+    assertEquals(List.of(creador, ana), participantes(evento));
+    mvc.perform(post("/api/events/leave").header("Authorization", comoAna)
+            .contentType(MediaType.APPLICATION_JSON).content(otro))
+        .andExpect(status().isOk());
+    assertEquals(List.of(creador), participantes(evento));
+  }
+
+  private List<Long> participantes(Long evento) {
+    return eventoRepo.findParticipanteIdsByEventoIds(List.of(evento)).stream()
+        .map(EventoRepository.ParticipanteIds::getClienteId).sorted().toList();
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
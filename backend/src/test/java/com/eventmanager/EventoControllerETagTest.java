@@ -0,0 +1,149 @@
+package com.eventmanager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.hamcrest.Matchers.contains;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.TokenService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+    "app.pruebas.bd=etagdb",
+    "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class EventoControllerETagTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired TokenService tokens;
+  @Autowired EntityManagerFactory emf;
+  @Autowired JdbcTemplate jdbc;
+
+  private Long creadorId;
+  private Long eventoId;
+
+  @BeforeEach
+  void setUp() {
+    creadorId = clienteRepo.save(cliente("creador" + System.nanoTime())).getId();
+    eventoId = eventoService.crear(new EventoCreate(LocalDate.of(2029, 3, 1), LocalTime.NOON, "Lleida",
+        null, List.of("etag"), "Con ETag", "desc", creadorId)).id();
+  }
+
+  @Test
+  void listado_304SiNoCambia_ySinCargarEventos() throws Exception {
+    String etag = mvc.perform(get("/api/events"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Cache-Control", "no-cache"))
+        .andReturn().getResponse().getHeader("ETag");
+    assertNotNull(etag);
+
+    Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+    stats.clear();
+    mvc.perform(get("/api/events").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", etag))
+        .andExpect(content().string(""));
+    assertEquals(1, stats.getPrepareStatementCount()); // solo el sello
+    assertEquals(0, stats.getEntityLoadCount());
+
+    // un join cambia el listado (participantes) y por tanto el ETag
+    Long otro = clienteRepo.save(cliente("otro" + System.nanoTime())).getId();
+    eventoService.addParticipante(new EventoAdd(eventoId, otro));
+    String nuevo = mvc.perform(get("/api/events").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+    assertNotEquals(etag, nuevo);
+  }
+
+  @Test
+  void selloListado_cambiaConCadaEscritura() {
+    Long otro = clienteRepo.save(cliente("sello" + System.nanoTime())).getId();
+    String antes = eventoService.selloListado();
+    eventoService.addParticipante(new EventoAdd(eventoId, otro));
+    String trasJoin = eventoService.selloListado();
+    assertNotEquals(antes, trasJoin);
+    eventoService.removeParticipante(new EventoAdd(eventoId, otro));
+    String trasLeave = eventoService.selloListado();
+    assertNotEquals(trasJoin, trasLeave);
+    eventoService.crearLote(List.of(new EventoCreate(LocalDate.of(2029, 5, 1), LocalTime.NOON, "Lleida",
+        null, List.of("etag"), "Lote", "desc", creadorId)));
+    assertNotEquals(trasLeave, eventoService.selloListado());
+    assertEquals(eventoService.selloListado(), eventoService.selloListado());
+  }
+
+  @Test
+  void escrituraDesdeOtraInstancia_noDejaElCuerpoViejoBajoElETagNuevo() throws Exception {
+    String auth = "Bearer " + tokens.emitir(creadorId, "creador");
+    String filtro = "$[?(@.id == " + eventoId + ")].numParticipantes";
+    mvc.perform(get("/api/events")).andExpect(jsonPath(filtro).value(contains(1)));
+    mvc.perform(get("/api/events/my-created-events").header("Authorization", auth))
+        .andExpect(jsonPath(filtro).value(contains(1)));
+
+    // un join hecho en otra instancia: cambia la BD y los sellos, pero la caché de esta no se entera
+    Long otro = clienteRepo.save(cliente("remoto" + System.nanoTime())).getId();
+    jdbc.update("INSERT INTO evento_cliente (evento_id, cliente_id) VALUES (?, ?)", eventoId, otro);
+    jdbc.update("UPDATE evento SET num_participantes = num_participantes + 1, version = version + 1 WHERE id = ?",
+        eventoId);
+    jdbc.update("UPDATE sello_eventos SET version = version + 1 WHERE ranura = 0");
+
+    mvc.perform(get("/api/events")).andExpect(jsonPath(filtro).value(contains(2)));
+    mvc.perform(get("/api/events/my-created-events").header("Authorization", auth))
+        .andExpect(jsonPath(filtro).value(contains(2)));
+  }
+
+  @Test
+  void misEventos_etagPorUsuario() throws Exception {
+    String auth = "Bearer " + tokens.emitir(creadorId, "creador");
+    String etag = mvc.perform(get("/api/events/my-created-events").header("Authorization", auth))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Cache-Control", "no-cache, private"))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mvc.perform(get("/api/events/my-created-events").header("Authorization", auth).header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    eventoService.crear(new EventoCreate(LocalDate.of(2029, 4, 1), LocalTime.NOON, "Lleida",
+        null, List.of("etag"), "Otro", "desc", creadorId));
+    mvc.perform(get("/api/events/my-created-events").header("Authorization", auth).header("If-None-Match", etag))
+        .andExpect(status().isOk());
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
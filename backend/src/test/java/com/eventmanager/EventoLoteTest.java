@@ -0,0 +1,181 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.ResultadoLote;
+import com.eventmanager.dto.EventoDtos.RestriccionesCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.TokenService;
+
+@SpringBootTest(properties = {
+    "app.pruebas.bd=lotedb",
+    "app.reservas.max-lote=10"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class EventoLoteTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired TokenService tokens;
+
+  @AfterEach
+  void limpiar() {
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void unirseLote_resultadoPorPar() {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long conSitio = crearEvento(creador, null);
+    Long aforo3 = crearEvento(creador, 3); // creador + 2 plazas
+    List<Long> c = clientes(4);
+
+    var resultados = eventoService.addParticipantes(List.of(
+        new EventoAdd(conSitio, c.get(0)),
+        new EventoAdd(conSitio, c.get(0)),      // repetido en el lote
+        new EventoAdd(conSitio, creador),       // ya apuntado
+        new EventoAdd(aforo3, c.get(0)),
+        new EventoAdd(aforo3, c.get(1)),
+        new EventoAdd(aforo3, c.get(2)),        // sin plazas
+        new EventoAdd(-1L, c.get(3)),
+        new EventoAdd(conSitio, -1L),
+        new EventoAdd(null, c.get(3))));
+
+    assertEquals(List.of("OK", "DUPLICADO", "YA_APUNTADO", "OK", "OK", "EVENTO_COMPLETO",
+        "EVENTO_NO_ENCONTRADO", "CLIENTE_NO_ENCONTRADO", "DATOS_INCOMPLETOS"),
+        resultados.stream().map(ResultadoLote::resultado).toList());
+    assertOcupacion(conSitio, 2);
+    assertOcupacion(aforo3, 3);
+  }
+
+  @Test
+  void salirLote_borraYDescuenta() {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long evento = crearEvento(creador, null);
+    List<Long> c = clientes(3);
+    eventoService.addParticipantes(List.of(new EventoAdd(evento, c.get(0)), new EventoAdd(evento, c.get(1))));
+
+    var resultados = eventoService.removeParticipantes(List.of(
+        new EventoAdd(evento, c.get(0)),
+        new EventoAdd(evento, c.get(2)),
+        new EventoAdd(evento, c.get(1))));
+
+    assertEquals(List.of("OK", "NO_APUNTADO", "OK"), resultados.stream().map(ResultadoLote::resultado).toList());
+    assertOcupacion(evento, 1);
+  }
+
+  @Test
+  void endpoints_lote_actuanSobreElUsuarioDelToken() throws Exception {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long evento = crearEvento(creador, null);
+    Long otro = crearEvento(creador, null);
+    Long yo = clientes(1).get(0);
+    String auth = "Bearer " + tokens.emitir(yo, "c0");
+    String cuerpo = "[" + evento + "," + otro + "," + evento + "]";
+
+    mvc.perform(post("/api/events/join/batch").header("Authorization", auth)
+            .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].idParticipante").value(yo))
+        .andExpect(jsonPath("$[0].resultado").value("OK"))
+        .andExpect(jsonPath("$[1].resultado").value("OK"))
+        .andExpect(jsonPath("$[2].resultado").value("DUPLICADO"));
+    mvc.perform(post("/api/events/leave/batch").header("Authorization", auth)
+            .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].resultado").value("OK"))
+        .andExpect(jsonPath("$[1].resultado").value("OK"));
+    assertOcupacion(evento, 1);
+    assertOcupacion(otro, 1);
+  }
+
+  @Test
+  void endpoints_lote_noActuanPorOtroUsuario() throws Exception {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long evento = crearEvento(creador, null);
+    Long yo = clientes(1).get(0);
+
+    // sin token no hay lote
+    mvc.perform(post("/api/events/leave/batch").contentType(MediaType.APPLICATION_JSON).content("[" + evento + "]"))
+        .andExpect(status().isUnauthorized());
+    // el par de antes ya no vale: no se puede nombrar a otro participante
+    mvc.perform(post("/api/events/leave/batch").header("Authorization", "Bearer " + tokens.emitir(yo, "c0"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"idEvento\":" + evento + ",\"idParticipante\":" + creador + "}]"))
+        .andExpect(status().isBadRequest());
+    // con token solo se sale el propio usuario: el creador sigue dentro
+    mvc.perform(post("/api/events/leave/batch").header("Authorization", "Bearer " + tokens.emitir(yo, "c0"))
+            .contentType(MediaType.APPLICATION_JSON).content("[" + evento + "]"))
+        .andExpect(jsonPath("$[0].idParticipante").value(yo))
+        .andExpect(jsonPath("$[0].resultado").value("NO_APUNTADO"));
+    assertOcupacion(evento, 1);
+  }
+
+  @Test
+  void loteDemasiadoGrande_400() throws Exception {
+    StringBuilder cuerpo = new StringBuilder("[");
+    for (int i = 0; i < 11; i++) cuerpo.append(i > 0 ? "," : "").append(i + 1);
+    mvc.perform(post("/api/events/join/batch").header("Authorization", "Bearer " + tokens.emitir(1L, "ana"))
+            .contentType(MediaType.APPLICATION_JSON).content(cuerpo + "]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Máximo 10 elementos por lote."));
+  }
+
+  private void assertOcupacion(Long eventoId, int esperado) {
+    assertEquals(esperado, jdbc.queryForObject(
+        "SELECT COUNT(*) FROM evento_cliente WHERE evento_id = ?", Integer.class, eventoId));
+    assertEquals(esperado, jdbc.queryForObject(
+        "SELECT num_participantes FROM evento WHERE id = ?", Integer.class, eventoId));
+  }
+
+  private List<Long> clientes(int n) {
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < n; i++) ids.add(clienteRepo.save(cliente("c" + i)).getId());
+    return ids;
+  }
+
+  private Long crearEvento(Long creadorId, Integer maxPersonas) {
+    return eventoService.crear(new EventoCreate(
+        LocalDate.of(2028, 6, 1), LocalTime.of(20, 0), "Valencia",
+        new RestriccionesCreate(null, null, maxPersonas), List.of("concierto"),
+        "Concierto", "Lote", creadorId)).id();
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
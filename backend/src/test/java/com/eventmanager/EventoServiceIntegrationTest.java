@@ -7,40 +7,32 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.DynamicPropertyRegistry;
-import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.ActiveProfiles;
 
 import com.eventmanager.domain.Cliente;
 import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.EventoFiltro;
 import com.eventmanager.dto.EventoDtos.EventoView;
 import com.eventmanager.dto.EventoDtos.RestriccionesCreate;
 import com.eventmanager.repository.ClienteRepository;
 import com.eventmanager.repository.EventoRepository;
 import com.eventmanager.service.EventoService;
+import com.eventmanager.service.errors.EventoCompletoException;
 
 import jakarta.transaction.Transactional;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.pruebas.bd=testdb")
+@ActiveProfiles("test")
 @Transactional
 public class EventoServiceIntegrationTest {
 
   // Usa H2 en memoria y genera el esquema desde @Entity
-  @DynamicPropertySource
-  static void overrideProps(DynamicPropertyRegistry r) {
-    r.add("spring.datasource.url", () -> "jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
-    r.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
-    r.add("spring.datasource.username", () -> "sa");
-    r.add("spring.datasource.password", () -> "");
-    r.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
-    r.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
-    r.add("spring.sql.init.mode", () -> "never");
-    r.add("spring.jpa.properties.hibernate.type.preferred_json_mapper", () -> "jackson");
-  }
 
   @Autowired
   private EventoRepository eventoRepository;
@@ -168,4 +160,72 @@ public class EventoServiceIntegrationTest {
     EventoView actualizadoDespuesSalir = eventoService.removeParticipante(removeDto); 
     assertEquals(1, actualizadoDespuesSalir.participantesIds().size()); // Solo el creador
   }
+
+  @Test
+  void buscar_filtraYPaginaPorCursor() {
+    for (int i = 0; i < 5; i++) {
+      eventoService.crear(new EventoCreate(
+          LocalDate.of(2028, 3, 1 + i),
+          LocalTime.of(10, 0, 0),
+          "Girona centro",
+          new RestriccionesCreate(i % 2 == 0 ? "es,en" : "fr", 18, 20),
+          List.of(i % 2 == 0 ? "rutas" : "cine"),
+          "Ruta " + i,
+          "Salida número " + i,
+          creadorId));
+    }
+    eventoService.crear(new EventoCreate(
+        LocalDate.of(2028, 3, 2), LocalTime.of(9, 0, 0), "Lleida",
+        null, List.of("rutas"), "Otra ruta", "fuera de filtro", creadorId));
+
+    var filtro = new EventoFiltro(LocalDate.of(2028, 3, 1), LocalDate.of(2028, 3, 31),
+        "girona", List.of("rutas"), "en", 18, "ruta");
+
+    var primera = eventoService.buscar(filtro, null, 2);
+    assertEquals(List.of("Ruta 0", "Ruta 2"), primera.eventos().stream().map(EventoView::titulo).toList());
+    assertNotNull(primera.siguienteCursor());
+
+    var segunda = eventoService.buscar(filtro, primera.siguienteCursor(), 2);
+    assertEquals(List.of("Ruta 4"), segunda.eventos().stream().map(EventoView::titulo).toList());
+    assertEquals(null, segunda.siguienteCursor());
+
+    var menores = new EventoFiltro(null, null, "girona", null, null, 16, null);
+    assertTrue(eventoService.buscar(menores, null, 10).eventos().isEmpty());
+  }
+
+  @Test
+  void unirse_respetaMaxPersonasYNoDuplica() {
+    var creado = eventoService.crear(new EventoCreate(
+        LocalDate.of(2027, 12, 2), LocalTime.of(19, 0, 0), "Bilbao",
+        new RestriccionesCreate("es", 18, 2), List.of("cena"),
+        "EventoPequeño", "Solo dos plazas", creadorId));
+
+    Long uno = guardarCliente("plaza1").getId();
+    Long dos = guardarCliente("plaza2").getId();
+
+    var lleno = eventoService.addParticipante(new com.eventmanager.dto.EventoDtos.EventoAdd(creado.id(), uno));
+    assertEquals(2, lleno.participantesIds().size());
+
+    assertThrows(RuntimeException.class,
+        () -> eventoService.addParticipante(new com.eventmanager.dto.EventoDtos.EventoAdd(creado.id(), uno)));
+    assertThrows(EventoCompletoException.class,
+        () -> eventoService.addParticipante(new com.eventmanager.dto.EventoDtos.EventoAdd(creado.id(), dos)));
+
+    // Al salir uno se libera la plaza
+    eventoService.removeParticipante(new com.eventmanager.dto.EventoDtos.EventoAdd(creado.id(), uno));
+    var conDos = eventoService.addParticipante(new com.eventmanager.dto.EventoDtos.EventoAdd(creado.id(), dos));
+    assertTrue(conDos.participantesIds().contains(dos));
+    assertEquals(2, eventoRepository.findById(creado.id()).map(e -> e.getNumParticipantes()).orElseThrow());
+  }
+
+  private Cliente guardarCliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setPasswordHash("12345");
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1995, 5, 5));
+    return clienteRepo.save(c);
+  }
 }
@@ -0,0 +1,133 @@
+package com.eventmanager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoCache;
+import com.eventmanager.service.EventoService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Comprueba que los listados no hacen N+1: el nº de sentencias no depende del nº de eventos
+@SpringBootTest(properties = {
+    "app.pruebas.bd=querycountdb",
+    "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+public class EventoServiceQueryCountTest {
+
+  @Autowired private EventoService eventoService;
+  @Autowired private EventoRepository eventoRepo;
+  @Autowired private ClienteRepository clienteRepo;
+  @Autowired private EntityManagerFactory emf;
+  @Autowired private EventoCache cache;
+  @Autowired private MeterRegistry registry;
+
+  private Statistics stats;
+  private Long creadorId;
+  private Long participanteId;
+
+  @BeforeEach
+  void setUp() {
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+    cache.invalidarTodo(); // deleteAll no pasa por el servicio
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+    creadorId = clienteRepo.save(cliente("creador")).getId();
+    participanteId = clienteRepo.save(cliente("participante")).getId();
+  }
+
+  @Test
+  void listados_usanNumeroConstanteDeSentencias() {
+    // sin caché: se mide la consulta en sí
+    crearEventos(2);
+    long listarPocos = sinCache(() -> eventoService.listar());
+    long misPocos = sinCache(() -> eventoService.listarMisEventos(participanteId));
+    long creadosPocos = sinCache(() -> eventoService.listarMisEventosCreados(creadorId));
+
+    crearEventos(10);
+    assertEquals(12, eventoService.listar().size());
+    assertEquals(listarPocos, sinCache(() -> eventoService.listar()));
+    assertEquals(misPocos, sinCache(() -> eventoService.listarMisEventos(participanteId)));
+    assertEquals(creadosPocos, sinCache(() -> eventoService.listarMisEventosCreados(creadorId)));
+
+    // eventos + participantes
+    assertEquals(2, listarPocos);
+  }
+
+  @Test
+  void listados_cacheados_noVuelvenABD_yJoinSoloRecargaLoTocado() {
+    crearEventos(5);
+    var primero = eventoService.listar();
+    eventoService.listarMisEventos(participanteId);
+    double aciertos = aciertos("eventos.vistas");
+
+    assertEquals(0, sentencias(() -> eventoService.listar()));
+    assertEquals(0, sentencias(() -> eventoService.listarMisEventos(participanteId)));
+    assertEquals(aciertos + 10, aciertos("eventos.vistas"));
+
+    // join: se invalida la vista de ese evento y la lista del que se apunta, nada más
+    Long otro = clienteRepo.save(cliente("otro")).getId();
+    Long eventoId = primero.get(2).id();
+    eventoService.addParticipante(new EventoAdd(eventoId, otro));
+
+    assertEquals(2, sentencias(() -> eventoService.listar())); // evento + participantes del tocado
+    EventoView tocado = eventoService.listar().stream()
+        .filter(v -> v.id().equals(eventoId)).findFirst().orElseThrow();
+    assertEquals(3, tocado.participantesIds().size());
+    assertEquals(1, eventoService.listarMisEventos(otro).size());
+  }
+
+  private double aciertos(String cache) {
+    return registry.get("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter().count();
+  }
+
+  private long sinCache(Supplier<?> llamada) {
+    cache.invalidarTodo();
+    return sentencias(llamada);
+  }
+
+  private long sentencias(Supplier<?> llamada) {
+    stats.clear();
+    llamada.get();
+    return stats.getPrepareStatementCount();
+  }
+
+  private void crearEventos(int n) {
+    for (int i = 0; i < n; i++) {
+      var creado = eventoService.crear(new EventoCreate(
+          LocalDate.of(2028, 1, 1).plusDays(i), LocalTime.of(12, 0), "Tarragona",
+          null, List.of("test"), "Evento " + i, "desc", creadorId));
+      eventoService.addParticipante(new EventoAdd(creado.id(), participanteId));
+    }
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
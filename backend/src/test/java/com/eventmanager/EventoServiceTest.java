@@ -1,5 +1,6 @@
 package com.eventmanager;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
@@ -8,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -15,14 +17,20 @@ import com.eventmanager.domain.Evento;
 import com.eventmanager.domain.Evento.Restricciones;
 import com.eventmanager.dto.EventoDtos.EventoView;
 import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoCache;
 import com.eventmanager.service.EventoService;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @org.junit.jupiter.api.extension.ExtendWith(MockitoExtension.class)
 class EventoServiceTest {
 
   @Mock
   EventoRepository repo;
 
+  @Spy
+  EventoCache cache = new EventoCache(new SimpleMeterRegistry(), 100, 100, Duration.ofMinutes(1));
+
   @InjectMocks
   EventoService service;
 
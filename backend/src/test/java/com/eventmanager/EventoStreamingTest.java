@@ -0,0 +1,134 @@
+package com.eventmanager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.domain.Evento;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.TokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// NDJSON en streaming: más eventos que un bloque (500) para recorrer varios bloques
+@SpringBootTest(properties = {
+    "app.pruebas.bd=streamingdb",
+    "app.admin.usernames=jefa"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EventoStreamingTest {
+  private static final int SUELTOS = 1100;
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired TokenService tokens;
+  @Autowired ObjectMapper json;
+
+  private Long creadorId;
+  private Long participanteId;
+  private Long conParticipantes;
+
+  @BeforeAll
+  void datos() {
+    creadorId = clienteRepo.save(cliente("creador")).getId();
+    participanteId = clienteRepo.save(cliente("participante")).getId();
+    conParticipantes = eventoService.crear(new EventoCreate(LocalDate.of(2029, 1, 1), LocalTime.NOON,
+        "Girona", null, List.of("stream"), "Con gente", "desc", creadorId)).id();
+    eventoService.addParticipante(new EventoAdd(conParticipantes, participanteId));
+
+    List<Evento> sueltos = new ArrayList<>();
+    for (int i = 0; i < SUELTOS; i++) {
+      var e = new Evento();
+      e.setFecha(LocalDate.of(2029, 2, 1));
+      e.setHora(LocalTime.NOON);
+      e.setLugar("Girona");
+      e.setTitulo("Suelto " + i);
+      e.setIdCreador(creadorId);
+      sueltos.add(e);
+    }
+    eventoRepo.saveAll(sueltos);
+  }
+
+  @Test
+  void export_admin_todasLasFilasEnOrden() throws Exception {
+    String auth = "Bearer " + tokens.emitir(99L, "jefa");
+    var lineas = ndjson(get("/api/admin/events/export").header("Authorization", auth));
+
+    assertEquals(SUELTOS + 1, lineas.size());
+    for (int i = 1; i < lineas.size(); i++) {
+      assertTrue(lineas.get(i).get("id").asLong() > lineas.get(i - 1).get("id").asLong());
+    }
+    var primero = lineas.get(0);
+    assertEquals(conParticipantes, primero.get("id").asLong());
+    assertEquals(2, primero.get("participantesIds").size());
+  }
+
+  @Test
+  void export_sinRolAdmin_403_ySinToken_401() throws Exception {
+    mvc.perform(get("/api/admin/events/export").header("Authorization", "Bearer " + tokens.emitir(1L, "ana")))
+        .andExpect(status().isForbidden());
+    mvc.perform(get("/api/admin/events/export")).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void listado_conAcceptNdjson_vaEnStreaming_yPorDefectoSigueSiendoArray() throws Exception {
+    var lineas = ndjson(get("/api/events").accept(MediaType.APPLICATION_NDJSON));
+    assertEquals(SUELTOS + 1, lineas.size());
+
+    mvc.perform(get("/api/events"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    mvc.perform(get("/api/events").header("Accept", "application/json, text/plain, */*"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+  }
+
+  private List<JsonNode> ndjson(MockHttpServletRequestBuilder peticion) throws Exception {
+    var async = mvc.perform(peticion).andExpect(request().asyncStarted()).andReturn();
+    String cuerpo = mvc.perform(asyncDispatch(async))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+    List<JsonNode> lineas = new ArrayList<>();
+    for (String linea : cuerpo.split("\n")) lineas.add(json.readTree(linea));
+    return lineas;
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,125 @@
+package com.eventmanager;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.TokenService;
+
+@SpringBootTest(properties = "app.pruebas.bd=compactadb")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class EventoVistaCompactaTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired TokenService tokens;
+
+  @AfterEach
+  void limpiar() {
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void listados_compactosPorDefecto_conUnidoSegunQuienPregunta() throws Exception {
+    var creador = clienteRepo.save(cliente("creador"));
+    var otro = clienteRepo.save(cliente("otro"));
+    Long evento = eventoService.crear(new EventoCreate(LocalDate.now().plusDays(5), LocalTime.NOON, "Girona",
+        null, List.of(), "Grande", null, creador.getId())).id();
+    String authCreador = "Bearer " + tokens.emitir(creador.getId(), creador.getUsername());
+    String authOtro = "Bearer " + tokens.emitir(otro.getId(), otro.getUsername());
+
+    mvc.perform(get("/api/events"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].numParticipantes").value(1))
+        .andExpect(jsonPath("$[0].participantesIds").doesNotExist())
+        .andExpect(jsonPath("$[0].unido").doesNotExist());
+    mvc.perform(get("/api/events").header("Authorization", authCreador))
+        .andExpect(jsonPath("$[0].unido").value(true));
+    String etagOtro = mvc.perform(get("/api/events").header("Authorization", authOtro))
+        .andExpect(jsonPath("$[0].unido").value(false))
+        .andReturn().getResponse().getHeader("ETag");
+    // el ETag distingue a quien pregunta: la respuesta compacta no es la misma
+    String etagCreador = mvc.perform(get("/api/events").header("Authorization", authCreador))
+        .andReturn().getResponse().getHeader("ETag");
+    assertNotEquals(etagOtro, etagCreador);
+
+    mvc.perform(get("/api/events/search").header("Authorization", authCreador))
+        .andExpect(jsonPath("$.eventos[0].unido").value(true))
+        .andExpect(jsonPath("$.eventos[0].participantesIds").doesNotExist());
+    mvc.perform(get("/api/events/my-events").header("Authorization", authCreador))
+        .andExpect(jsonPath("$[0].id").value(evento))
+        .andExpect(jsonPath("$[0].unido").value(true));
+    mvc.perform(get("/api/events").param("vista", "completa"))
+        .andExpect(jsonPath("$[0].participantesIds[0]").value(creador.getId()))
+        .andExpect(jsonPath("$[0].numParticipantes").value(1));
+    mvc.perform(get("/api/events").param("vista", "todo"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void participantes_paginadosPorId() throws Exception {
+    var creador = clienteRepo.save(cliente("creador"));
+    Long evento = eventoService.crear(new EventoCreate(LocalDate.now().plusDays(5), LocalTime.NOON, "Girona",
+        null, List.of(), "Grande", null, creador.getId())).id();
+    List<Long> todos = new ArrayList<>(List.of(creador.getId()));
+    for (int i = 0; i < 4; i++) {
+      Long id = clienteRepo.save(cliente("p" + i)).getId();
+      eventoService.addParticipante(new EventoAdd(evento, id));
+      todos.add(id);
+    }
+    todos.sort(null);
+
+    var primera = eventoService.participantes(evento, null, 3);
+    assertEquals(todos.subList(0, 3), primera.ids());
+    assertEquals(5, primera.total());
+    var segunda = eventoService.participantes(evento, primera.siguienteCursor(), 3);
+    assertEquals(todos.subList(3, 5), segunda.ids());
+    assertEquals(null, segunda.siguienteCursor());
+
+    mvc.perform(get("/api/events/" + evento + "/participants").param("limite", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.ids.length()").value(2))
+        .andExpect(jsonPath("$.total").value(5))
+        .andExpect(jsonPath("$.siguienteCursor").value(String.valueOf(todos.get(1))));
+    mvc.perform(get("/api/events/-1/participants"))
+        .andExpect(status().isBadRequest());
+    mvc.perform(get("/api/events/" + evento + "/participants").param("cursor", "abc"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,151 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.domain.Coordenadas;
+import com.eventmanager.dto.EventoDtos.EventoCercano;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.Gazetteer;
+import com.eventmanager.service.TokenService;
+
+@SpringBootTest(properties = "app.pruebas.bd=cercanosdb")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class EventosCercanosTest {
+  private static final Coordenadas BARCELONA = new Coordenadas(41.3874, 2.1686);
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired Gazetteer gazetteer;
+  @Autowired TokenService tokens;
+  @Autowired JdbcTemplate jdbc;
+
+  @AfterEach
+  void limpiar() {
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void gazetteer_reconoceLugaresEscritosAMano() {
+    var barcelona = gazetteer.geocodificar("Barcelona").orElseThrow();
+    assertEquals(barcelona, gazetteer.geocodificar("Sala Apolo, BARCELONA").orElseThrow());
+    assertEquals(barcelona, gazetteer.geocodificar("Concierto en el centro de barcelona").orElseThrow());
+    assertEquals(gazetteer.geocodificar("Lleida"), gazetteer.geocodificar("Lérida"));
+    assertTrue(gazetteer.geocodificar("Rambla Just Oliveras, L'Hospitalet de Llobregat").isPresent());
+    // gana el nombre más largo que aparece en el texto
+    assertEquals(39.5696, gazetteer.geocodificar("Puerto de Palma de Mallorca").orElseThrow().latitud());
+    assertEquals(Optional.empty(), gazetteer.geocodificar("Mi casa"));
+    assertEquals(Optional.empty(), gazetteer.geocodificar("Valenciana"));
+  }
+
+  @Test
+  void rejilla_losRangosCubrenTodoElCirculo() {
+    var azar = new Random(7);
+    for (double radio : new double[] {0.5, 5, 37, 300}) {
+      var rangos = BARCELONA.caja(radio).rangosCeldas();
+      for (int i = 0; i < 2000; i++) {
+        var p = new Coordenadas(BARCELONA.latitud() + (azar.nextDouble() - 0.5) * radio / 50,
+                                BARCELONA.longitud() + (azar.nextDouble() - 0.5) * radio / 40);
+        if (BARCELONA.distanciaKm(p) > radio) continue;
+        long celda = p.celda();
+        assertTrue(rangos.stream().anyMatch(r -> r[0] <= celda && celda <= r[1]), () -> p + " fuera de los rangos");
+      }
+    }
+  }
+
+  @Test
+  void buscaPorRadio_delMasCercanoAlMasLejano() throws Exception {
+    Long creador = clienteRepo.save(cliente("creador", null)).getId();
+    Long centro = crear(creador, "Plaça de Catalunya, Barcelona");
+    Long badalona = crear(creador, "Badalona");
+    Long sabadell = crear(creador, "Teatre Principal, Sabadell");
+    crear(creador, "Madrid");
+    crear(creador, "Sin ubicación conocida");
+
+    assertEquals(List.of(centro, badalona), ids(eventoService.buscarCerca(BARCELONA, 10, null)));
+    assertEquals(List.of(centro, badalona, sabadell), ids(eventoService.buscarCerca(BARCELONA, 25, null)));
+    assertEquals(List.of(centro), ids(eventoService.buscarCerca(BARCELONA, 25, 1)));
+
+    // los eventos pasados no salen
+    jdbc.update("UPDATE evento SET fecha = ? WHERE id = ?", LocalDate.now().minusDays(1), badalona);
+    assertEquals(List.of(centro, sabadell), ids(eventoService.buscarCerca(BARCELONA, 25, null)));
+
+    mvc.perform(get("/api/events/near").param("lat", "41.39").param("lon", "2.17").param("radioKm", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].evento.id").value(centro))
+        .andExpect(jsonPath("$[0].distanciaKm").value(0.31));
+    mvc.perform(get("/api/events/near").param("ciudad", "Madrid").param("radioKm", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].evento.lugar").value("Madrid"));
+    mvc.perform(get("/api/events/near").param("ciudad", "Atlántida"))
+        .andExpect(status().isBadRequest());
+    mvc.perform(get("/api/events/near").param("lat", "41.39").param("lon", "2.17").param("radioKm", "5000"))
+        .andExpect(status().isBadRequest());
+    mvc.perform(get("/api/events/near").param("lat", "141").param("lon", "2.17"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void cercaDeMi_usaLaCiudadDelPerfil() throws Exception {
+    var sinCiudad = clienteRepo.save(cliente("sinciudad", null));
+    var enBadalona = clienteRepo.save(cliente("badaloni", "Badalona"));
+    Long evento = crear(enBadalona.getId(), "Barcelona");
+
+    mvc.perform(get("/api/events/near-me").param("radioKm", "15")
+            .header("Authorization", "Bearer " + tokens.emitir(enBadalona.getId(), enBadalona.getUsername())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].evento.id").value(evento));
+    mvc.perform(get("/api/events/near-me")
+            .header("Authorization", "Bearer " + tokens.emitir(sinCiudad.getId(), sinCiudad.getUsername())))
+        .andExpect(status().isBadRequest());
+    mvc.perform(get("/api/events/near-me")).andExpect(status().isUnauthorized());
+  }
+
+  private Long crear(Long creador, String lugar) {
+    return eventoService.crear(new EventoCreate(LocalDate.now().plusDays(3), LocalTime.of(20, 0), lugar, null,
+        List.of(), "Evento en " + lugar, null, creador)).id();
+  }
+
+  private static List<Long> ids(List<EventoCercano> cercanos) {
+    return cercanos.stream().map(c -> c.evento().id()).toList();
+  }
+
+  private Cliente cliente(String username, String ciudad) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setCiudad(ciudad);
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,243 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.CambioEvento;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.DespachadorOutbox;
+import com.eventmanager.service.DifusorCambios;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.errors.FeedSaturadoException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = {
+    "app.pruebas.bd=feeddb",
+    "app.cambios.latido=PT1H"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class FeedCambiosTest {
+
+  // Sin despachador: con varias instancias el outbox lo puede vaciar otra, y el feed no depende de él
+  @MockBean DespachadorOutbox despachador;
+
+  // Destino de prueba: guarda lo recibido en una cola
+  static class Recogedor implements DifusorCambios.Destino {
+    final BlockingQueue<CambioEvento> recibidos = new LinkedBlockingQueue<>();
+
+    @Override
+    public void enviar(CambioEvento cambio) {
+      recibidos.add(cambio);
+    }
+
+    @Override
+    public void cerrar() {
+    }
+
+    // Espera hasta recibir un cambio que cumpla la condición; devuelve todos los recibidos hasta él
+    List<CambioEvento> hasta(Predicate<CambioEvento> condicion) throws InterruptedException {
+      List<CambioEvento> vistos = new ArrayList<>();
+      while (true) {
+        var c = recibidos.poll(5, TimeUnit.SECONDS);
+        assertNotNull(c, "No ha llegado el cambio esperado; recibidos: " + vistos);
+        vistos.add(c);
+        if (condicion.test(c)) return vistos;
+      }
+    }
+
+    // Espera hasta haber recibido, en cualquier orden, un cambio que cumpla cada condición
+    @SafeVarargs
+    final void hastaVer(Predicate<CambioEvento>... condiciones) throws InterruptedException {
+      List<CambioEvento> vistos = new ArrayList<>();
+      for (var condicion : condiciones) {
+        if (vistos.stream().noneMatch(condicion)) vistos.addAll(hasta(condicion));
+      }
+    }
+  }
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired DifusorCambios difusor;
+
+  private final List<DifusorCambios.Suscripcion> abiertas = new ArrayList<>();
+
+  @AfterEach
+  void limpiar() {
+    abiertas.forEach(difusor::cancelar);
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void altasYJoins_llegan_alFeed() throws Exception {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long otro = clienteRepo.save(cliente("otro")).getId();
+    Long vigilado = crearEvento(creador);
+
+    var todo = new Recogedor();
+    var filtrado = new Recogedor();
+    abiertas.add(difusor.suscribir(todo, Set.of()));
+    abiertas.add(difusor.suscribir(filtrado, Set.of(vigilado)));
+
+    Long nuevo = crearEvento(creador);
+    eventoService.addParticipante(new EventoAdd(vigilado, otro));
+    eventoService.addParticipante(new EventoAdd(nuevo, otro));
+
+    // el alta puede despacharse después del join de nuevo (y llegar ya con 2): no importa el orden
+    todo.hastaVer(
+        c -> "creado".equals(c.tipo()) && nuevo.equals(c.idEvento())
+            && c.evento() != null && c.evento().participantesIds() == null,
+        c -> "participantes".equals(c.tipo()) && vigilado.equals(c.idEvento()) && c.numParticipantes() == 2);
+
+    // el filtrado solo recibe el contador de su evento
+    var delFiltrado = filtrado.hasta(c -> vigilado.equals(c.idEvento()));
+    assertEquals(1, delFiltrado.size());
+    eventoService.removeParticipante(new EventoAdd(vigilado, otro));
+    var salida = filtrado.hasta(c -> vigilado.equals(c.idEvento()));
+    assertEquals(List.of(1), salida.stream().map(CambioEvento::numParticipantes).toList());
+  }
+
+  @Test
+  void endpoint_abreUnaRespuestaSseAsincrona() throws Exception {
+    mvc.perform(get("/api/events/changes").param("eventos", "1", "2"))
+        .andExpect(request().asyncStarted())
+        .andExpect(status().isOk())
+        .andExpect(result -> assertTrue(MediaType.TEXT_EVENT_STREAM.isCompatibleWith(
+            MediaType.parseMediaType(result.getResponse().getContentType()))));
+  }
+
+  @Test
+  void clienteLento_pierdeLoPendienteYRecibeDesbordado() throws Exception {
+    try (var pequeno = new DifusorCambios(new SimpleMeterRegistry(), 2, 10, Duration.ofHours(1))) {
+      var dentro = new CountDownLatch(1);
+      var seguir = new CountDownLatch(1);
+      List<String> recibidos = new ArrayList<>();
+      var hecho = new CountDownLatch(3);
+      pequeno.suscribir(new DifusorCambios.Destino() {
+        @Override
+        public void enviar(CambioEvento cambio) {
+          dentro.countDown();
+          try {
+            seguir.await();
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+          recibidos.add(cambio.tipo() + (cambio.idEvento() != null ? cambio.idEvento() : ""));
+          hecho.countDown();
+        }
+
+        @Override
+        public void cerrar() {
+        }
+      }, Set.of());
+
+      pequeno.publicar(List.of(contador(1)));
+      assertTrue(dentro.await(5, TimeUnit.SECONDS));   // enviando el 1, bloqueado
+      pequeno.publicar(List.of(contador(2), contador(3), contador(4), contador(5)));
+      seguir.countDown();
+      assertTrue(hecho.await(5, TimeUnit.SECONDS));
+      assertEquals(List.of("participantes1", "desbordado", "participantes5"), recibidos);
+    }
+  }
+
+  @Test
+  void suscriptoresInactivos_noOcupanHilos() {
+    try (var difusorLocal = new DifusorCambios(new SimpleMeterRegistry(), 16, 5000, Duration.ofHours(1))) {
+      int antes = Thread.activeCount();
+      for (int i = 0; i < 2000; i++) {
+        difusorLocal.suscribir(new Recogedor(), Set.of());
+      }
+      assertTrue(Thread.activeCount() - antes < 10);
+    }
+  }
+
+  @Test
+  void maxSuscriptores_seRespetaConAltasALaVez() throws Exception {
+    try (var difusorLocal = new DifusorCambios(new SimpleMeterRegistry(), 16, 3, Duration.ofHours(1))) {
+      ExecutorService pool = Executors.newFixedThreadPool(20);
+      var salida = new CountDownLatch(1);
+      List<Future<DifusorCambios.Suscripcion>> futuros = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        futuros.add(pool.submit(() -> {
+          salida.await();
+          try {
+            return difusorLocal.suscribir(new Recogedor(), Set.of());
+          } catch (FeedSaturadoException ex) {
+            return null;
+          }
+        }));
+      }
+      salida.countDown();
+      List<DifusorCambios.Suscripcion> dentro = new ArrayList<>();
+      for (var f : futuros) {
+        var s = f.get(10, TimeUnit.SECONDS);
+        if (s != null) dentro.add(s);
+      }
+      pool.shutdown();
+      assertEquals(3, dentro.size());
+
+      // cancelar dos veces devuelve una sola plaza
+      difusorLocal.cancelar(dentro.get(0));
+      difusorLocal.cancelar(dentro.get(0));
+      assertNotNull(difusorLocal.suscribir(new Recogedor(), Set.of()));
+      assertThrows(FeedSaturadoException.class, () -> difusorLocal.suscribir(new Recogedor(), Set.of()));
+    }
+  }
+
+  private static CambioEvento contador(long id) {
+    return new CambioEvento("participantes", id, 1, null, null);
+  }
+
+  private Long crearEvento(Long creador) {
+    return eventoService.crear(new EventoCreate(LocalDate.now().plusDays(3), LocalTime.NOON, "Girona",
+        null, List.of(), "Evento", null, creador)).id();
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
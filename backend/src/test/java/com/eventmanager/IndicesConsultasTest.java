@@ -0,0 +1,162 @@
+package com.eventmanager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.domain.Coordenadas;
+import com.eventmanager.domain.Evento;
+import com.eventmanager.dto.EventoDtos.EventoFiltro;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.repository.EventoSpecs;
+import com.eventmanager.service.BuscadorCercanos;
+
+// Regresión de planes: el esquema lo crean las migraciones de Flyway (Hibernate solo valida) y
+// se hace EXPLAIN del SQL que genera cada método del repositorio, capturado con un
+// StatementInspector. Si alguien cambia una consulta o quita un índice, deja de usarlo y falla.
+// Los índices funcionales y GIN son solo de Postgres: ver IndicesPostgresIT.
+@SpringBootTest(properties = "app.pruebas.bd=indicesdb")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IndicesConsultasTest {
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", () -> Captura.class.getName());
+  }
+
+  public static class Captura implements StatementInspector {
+    public static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      SQL.add(sql);
+      return sql;
+    }
+  }
+
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired JdbcTemplate jdbc;
+
+  private Long clienteId;
+  private Long creadorId;
+  private List<Long> eventoIds;
+
+  @BeforeAll
+  void datos() {
+    List<Cliente> clientes = new ArrayList<>();
+    for (int i = 0; i < 200; i++) clientes.add(cliente("u" + i));
+    clientes = clienteRepo.saveAll(clientes);
+    List<Evento> eventos = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      var e = new Evento();
+      e.setFecha(LocalDate.of(2029, 1, 1).plusDays(i % 90));
+      e.setHora(LocalTime.of(8 + i % 12, 0));
+      e.setLugar("Lugar " + i);
+      e.setTitulo("Evento " + i);
+      e.setTags(List.of("t" + i % 7));
+      e.setIdCreador(clientes.get(i % 50).getId());
+      eventos.add(e);
+    }
+    eventoIds = eventoRepo.saveAll(eventos).stream().map(Evento::getId).toList();
+    List<Object[]> participaciones = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      for (int j = 0; j < 5; j++) {
+        participaciones.add(new Object[] { eventoIds.get(i), clientes.get((i + j * 37) % 200).getId() });
+      }
+    }
+    jdbc.batchUpdate("INSERT INTO evento_cliente (evento_id, cliente_id) VALUES (?, ?)", participaciones);
+    jdbc.execute("ANALYZE");
+    clienteId = clientes.get(3).getId();
+    creadorId = clientes.get(4).getId();
+  }
+
+  @Test
+  void eventosDeUnParticipante_usanLaPk() {
+    // ix_evento_cliente_cliente (V14) o la PK, que en H2 empieza por cliente_id: acceso por índice, no tableScan
+    assertIndice(": cliente_id = ?1", () -> eventoRepo.findEventosByParticipanteId(clienteId), clienteId);
+    assertIndice(": cliente_id = ?1", () -> eventoRepo.selloParticipante(clienteId), clienteId);
+  }
+
+  @Test
+  void eventosCreados_usanIndiceCreadorFecha() {
+    assertIndice("ix_evento_creador_fecha", () -> eventoRepo.findByIdCreadorOrderByFechaAscHoraAsc(creadorId), creadorId);
+    assertIndice("ix_evento_creador_fecha", () -> eventoRepo.selloCreador(creadorId), creadorId);
+  }
+
+  @Test
+  void participantesPorEvento_usanIndiceEvento() {
+    var ids = eventoIds.subList(0, 3);
+    assertIndice("ix_evento_cliente_evento", () -> eventoRepo.findParticipanteIdsByEventoIds(ids), ids.toArray());
+  }
+
+  @Test
+  void listaDeEspera_usaIndiceCola() {
+    Long evento = eventoIds.get(7);
+    List<Object[]> cola = new ArrayList<>();
+    for (int i = 0; i < 20; i++) cola.add(new Object[] { evento, clienteId + i });
+    jdbc.batchUpdate("INSERT INTO lista_espera (evento_id, cliente_id, creado) VALUES (?, ?, CURRENT_TIMESTAMP)", cola);
+    assertIndice("ix_lista_espera_cola", () -> eventoRepo.findPrimeroEnEspera(evento), evento);
+    assertIndice("ix_lista_espera_cola", () -> eventoRepo.findPosicionEspera(evento, clienteId + 5),
+        evento, evento, clienteId + 5);
+  }
+
+  @Test
+  void busquedaPorRangoDeFechas_usaIndiceFechaHora() {
+    var desde = LocalDate.of(2029, 3, 1);
+    var filtro = new EventoFiltro(desde, desde.plusDays(2), null, null, null, null, null);
+    assertIndice("ix_evento_fecha_hora_id",
+        () -> eventoRepo.findBy(EventoSpecs.filtro(filtro), q -> q.sortBy(EventoSpecs.ORDEN).limit(21).all()),
+        desde, desde.plusDays(2));
+  }
+
+  @Test
+  void busquedaPorRadio_usaIndiceGeoCelda() {
+    // BuscadorCercanos va por JDBC (no pasa por el StatementInspector): se comprueba su SQL directamente
+    var caja = new Coordenadas(41.3874, 2.1686).caja(10);
+    var rangos = caja.rangosCeldas();
+    List<Object> args = new ArrayList<>();
+    rangos.forEach(r -> { args.add(r[0]); args.add(r[1]); });
+    args.addAll(List.of(LocalDate.of(2029, 1, 1), caja.latMin(), caja.latMax(), caja.lonMin(), caja.lonMax()));
+    String plan = String.join("\n",
+        jdbc.queryForList("EXPLAIN " + BuscadorCercanos.consulta(rangos.size()), String.class, args.toArray()));
+    assertTrue(plan.toLowerCase().contains("ix_evento_geo_celda"), () -> "Se esperaba ix_evento_geo_celda en:\n" + plan);
+  }
+
+  // Ejecuta la llamada, coge la última sentencia que ha lanzado y comprueba su plan
+  private void assertIndice(String indice, Runnable llamada, Object... args) {
+    Captura.SQL.clear();
+    llamada.run();
+    String sql = Captura.SQL.get(Captura.SQL.size() - 1);
+    String plan = String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class, args));
+    assertTrue(plan.toLowerCase().contains(indice.toLowerCase()), () -> "Se esperaba " + indice + " en:\n" + plan);
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,84 @@
+package com.eventmanager.integration;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eventmanager.IndicesConsultasTest.Captura;
+import com.eventmanager.dto.EventoDtos.EventoFiltro;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.repository.EventoSpecs;
+
+// Índices solo de Postgres (funcionales lower(...), GIN de tags y de búsqueda de texto) contra la base real.
+// Con tablas pequeñas Postgres prefiere seq scan, así que se desactiva en la transacción para
+// comprobar que el índice es utilizable por la consulta tal como la genera el repositorio.
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.eventmanager.IndicesConsultasTest$Captura")
+@Tag("supabase")
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".*postgresql.*")
+class IndicesPostgresIT {
+
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired JdbcTemplate jdbc;
+
+  @Test
+  @Transactional
+  void loginYRegistro_usanIndicesLower() {
+    assertIndice("ix_cliente_username_lower", () -> clienteRepo.findByUsernameIgnoreCase("Ana"), "Ana");
+    assertIndice("ix_cliente_username_lower", () -> clienteRepo.existsByUsernameIgnoreCase("Ana"), "Ana");
+    assertIndice("ix_cliente_correo_lower", () -> clienteRepo.findByCorreoIgnoreCase("a@b.com"), "a@b.com");
+    assertIndice("ix_cliente_correo_lower", () -> clienteRepo.existsByCorreoIgnoreCase("a@b.com"), "a@b.com");
+  }
+
+  @Test
+  @Transactional
+  void busquedaPorTag_usaGin() {
+    var filtro = new EventoFiltro(null, null, null, List.of("musica"), null, null, null);
+    assertIndice("ix_evento_tags",
+        () -> eventoRepo.findBy(EventoSpecs.filtro(filtro), q -> q.sortBy(EventoSpecs.ORDEN).limit(21).all()),
+        "musica");
+  }
+
+  @Test
+  @Transactional
+  void busquedaDeTexto_usaGin() {
+    assertIndice("ix_evento_busqueda", () -> eventoRepo.buscarTexto("jazz:* & barc:*", 20), "jazz:* & barc:*", 20);
+  }
+
+  private void assertIndice(String indice, Runnable llamada, Object... args) {
+    jdbc.execute("SET LOCAL enable_seqscan = off");
+    Captura.SQL.clear();
+    llamada.run();
+    String sql = Captura.SQL.get(Captura.SQL.size() - 1);
+    String plan = String.join("\n", jdbc.queryForList("EXPLAIN " + conLiterales(sql, args), String.class));
+    assertTrue(plan.contains(indice), () -> "Se esperaba " + indice + " en:\n" + plan);
+  }
+
+  // EXPLAIN no admite parámetros enlazados: se sustituyen los ? por literales, en orden
+  private static String conLiterales(String sql, Object... args) {
+    StringBuilder out = new StringBuilder();
+    int i = 0;
+    for (char c : sql.toCharArray()) {
+      if (c == '?' && i < args.length) {
+        Object a = args[i++];
+        out.append(a instanceof Number ? a.toString() : "'" + a.toString().replace("'", "''") + "'");
+      } else {
+        out.append(c);
+      }
+    }
+    return out.toString();
+  }
+}
@@ -0,0 +1,279 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.RestriccionesCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.TokenService;
+
+@SpringBootTest(properties = {
+    "app.pruebas.bd=esperadb",
+    "spring.datasource.hikari.maximum-pool-size=8"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class ListaEsperaTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired TokenService tokens;
+
+  @AfterEach
+  void limpiar() {
+    jdbc.update("DELETE FROM lista_espera");
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void colaPorOrdenDeLlegada_yPromocionAlSalir() throws Exception {
+    Long evento = crearEvento(2);   // creador + 1 plaza
+    List<Long> c = clientes("fifo", 4);
+    String puesto = "/api/events/" + evento + "/waitlist";
+
+    // con plaza libre, apuntarse a la lista es un join normal
+    mvc.perform(post("/api/events/waitlist/join").header("Authorization", bearer(c.get(0)))
+            .contentType(MediaType.APPLICATION_JSON).content(cuerpo(evento)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.estado").value("APUNTADO"));
+    mvc.perform(post("/api/events/join").header("Authorization", bearer(c.get(1)))
+            .contentType(MediaType.APPLICATION_JSON).content(cuerpo(evento)))
+        .andExpect(status().isConflict());
+
+    for (int i = 1; i < 4; i++) {
+      mvc.perform(post("/api/events/waitlist/join").header("Authorization", bearer(c.get(i)))
+              .contentType(MediaType.APPLICATION_JSON).content(cuerpo(evento)))
+          .andExpect(jsonPath("$.estado").value("EN_ESPERA"))
+          .andExpect(jsonPath("$.posicion").value(i));
+    }
+    // repetir no cambia el sitio; estar ya dentro es un error
+    mvc.perform(post("/api/events/waitlist/join").header("Authorization", bearer(c.get(1)))
+            .contentType(MediaType.APPLICATION_JSON).content(cuerpo(evento)))
+        .andExpect(jsonPath("$.posicion").value(1));
+    mvc.perform(post("/api/events/waitlist/join").header("Authorization", bearer(c.get(0)))
+            .contentType(MediaType.APPLICATION_JSON).content(cuerpo(evento)))
+        .andExpect(status().isBadRequest());
+
+    mvc.perform(post("/api/events/waitlist/leave").header("Authorization", bearer(c.get(2)))
+            .contentType(MediaType.APPLICATION_JSON).content(cuerpo(evento)))
+        .andExpect(jsonPath("$.estado").value("FUERA"))
+        .andExpect(jsonPath("$.enEspera").value(2));
+    mvc.perform(get(puesto).header("Authorization", bearer(c.get(3))))
+        .andExpect(jsonPath("$.estado").value("EN_ESPERA"))
+        .andExpect(jsonPath("$.posicion").value(2));
+
+    // sale el de dentro: entra el primero de la cola en la misma operación
+    eventoService.removeParticipante(new EventoAdd(evento, c.get(0)));
+    mvc.perform(get(puesto).header("Authorization", bearer(c.get(1))))
+        .andExpect(jsonPath("$.estado").value("APUNTADO"));
+    mvc.perform(get(puesto).header("Authorization", bearer(c.get(3))))
+        .andExpect(jsonPath("$.posicion").value(1))
+        .andExpect(jsonPath("$.enEspera").value(1));
+    assertOcupacion(evento, 2);
+
+    // por lotes también promociona
+    eventoService.removeParticipantes(List.of(new EventoAdd(evento, c.get(1))));
+    mvc.perform(get(puesto).header("Authorization", bearer(c.get(3))))
+        .andExpect(jsonPath("$.estado").value("APUNTADO"));
+    mvc.perform(get(puesto)).andExpect(jsonPath("$.enEspera").value(0));
+    assertOcupacion(evento, 2);
+
+    mvc.perform(get("/api/events/-1/waitlist")).andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void listaDeEspera_soloParaElUsuarioDelToken() throws Exception {
+    Long evento = crearEvento(1);   // solo el creador: completo
+    List<Long> c = clientes("token", 2);
+    String puesto = "/api/events/" + evento + "/waitlist";
+
+    mvc.perform(post("/api/events/waitlist/join").contentType(MediaType.APPLICATION_JSON).content(par(evento, c.get(0))))
+        .andExpect(status().isUnauthorized());
+    mvc.perform(post("/api/events/waitlist/leave").contentType(MediaType.APPLICATION_JSON).content(par(evento, c.get(0))))
+        .andExpect(status().isUnauthorized());
+
+    // el idParticipante del cuerpo se ignora: entra quien llama
+    mvc.perform(post("/api/events/waitlist/join").header("Authorization", bearer(c.get(1)))
+            .contentType(MediaType.APPLICATION_JSON).content(par(evento, c.get(0))))
+        .andExpect(jsonPath("$.estado").value("EN_ESPERA"))
+        .andExpect(jsonPath("$.posicion").value(1));
+    assertEquals("FUERA", eventoService.puestoEnEspera(evento, c.get(0)).estado());
+    // c0 no está en la cola: su leave falla y no saca a c1
+    mvc.perform(post("/api/events/waitlist/leave").header("Authorization", bearer(c.get(0)))
+            .contentType(MediaType.APPLICATION_JSON).content(par(evento, c.get(1))))
+        .andExpect(status().isBadRequest());
+    assertEquals("EN_ESPERA", eventoService.puestoEnEspera(evento, c.get(1)).estado());
+
+    // un /leave a nombre del creador no lo saca ni hace correr la cola: sin token 401, y con el
+    // token de otro actúa sobre ese otro (que no está dentro)
+    Long creador = eventoRepo.findById(evento).orElseThrow().getIdCreador();
+    mvc.perform(post("/api/events/leave").contentType(MediaType.APPLICATION_JSON).content(par(evento, creador)))
+        .andExpect(status().isUnauthorized());
+    mvc.perform(post("/api/events/leave").header("Authorization", bearer(c.get(0)))
+            .contentType(MediaType.APPLICATION_JSON).content(par(evento, creador)))
+        .andExpect(status().isBadRequest());
+    assertEquals("APUNTADO", eventoService.puestoEnEspera(evento, creador).estado());
+    assertEquals("EN_ESPERA", eventoService.puestoEnEspera(evento, c.get(1)).estado());
+    assertOcupacion(evento, 1);
+
+    // sin token solo el total, aunque se pida el puesto de otro
+    mvc.perform(get(puesto).param("cliente", c.get(1).toString()))
+        .andExpect(jsonPath("$.enEspera").value(1))
+        .andExpect(jsonPath("$.idParticipante").doesNotExist())
+        .andExpect(jsonPath("$.posicion").doesNotExist());
+    mvc.perform(get(puesto).param("cliente", c.get(1).toString()).header("Authorization", bearer(c.get(0))))
+        .andExpect(jsonPath("$.estado").value("FUERA"));
+  }
+
+  @Test
+  void salidasConcurrentes_promocionanEnOrdenSinRepetir() throws Exception {
+    int dentro = 6;
+    Long evento = crearEvento(1 + dentro);
+    List<Long> apuntados = clientes("dentro", dentro);
+    apuntados.forEach(id -> eventoService.addParticipante(new EventoAdd(evento, id)));
+    List<Long> cola = clientes("cola", dentro + 2);
+    cola.forEach(id -> eventoService.esperar(new EventoAdd(evento, id)));
+
+    var errores = aLaVez(apuntados.stream()
+        .map(id -> (Runnable) () -> eventoService.removeParticipante(new EventoAdd(evento, id)))
+        .toList());
+
+    assertEquals(List.of(), errores);
+    assertOcupacion(evento, 1 + dentro);
+    for (int i = 0; i < cola.size(); i++) {
+      var p = eventoService.puestoEnEspera(evento, cola.get(i));
+      if (i < dentro) {
+        assertEquals("APUNTADO", p.estado());
+      } else {
+        assertEquals("EN_ESPERA", p.estado());
+        assertEquals(i - dentro + 1, p.posicion());
+      }
+    }
+  }
+
+  @Test
+  void salidaYColaALaVez_nuncaQuedaPlazaLibreConGenteEsperando() throws Exception {
+    Long evento = crearEvento(2);
+    Long creador = eventoRepo.findById(evento).orElseThrow().getIdCreador();
+    List<Long> c = clientes("carrera", 2);
+    eventoService.addParticipante(new EventoAdd(evento, c.get(0)));
+
+    // uno sale y otro se pone en la cola al mismo tiempo: sea cual sea el orden, el segundo acaba
+    // dentro (por plaza libre o por promoción) y la cola queda vacía
+    for (int ronda = 0; ronda < 10; ronda++) {
+      Long sale = ronda % 2 == 0 ? c.get(0) : c.get(1);
+      Long entra = ronda % 2 == 0 ? c.get(1) : c.get(0);
+      var errores = aLaVez(List.of(
+          () -> eventoService.removeParticipante(new EventoAdd(evento, sale)),
+          () -> eventoService.esperar(new EventoAdd(evento, entra))));
+      assertEquals(List.of(), errores);
+      assertOcupacion(evento, 2);
+      assertEquals("APUNTADO", eventoService.puestoEnEspera(evento, entra).estado());
+      assertEquals("FUERA", eventoService.puestoEnEspera(evento, sale).estado());
+      assertEquals(0, eventoService.puestoEnEspera(evento, creador).enEspera());
+    }
+  }
+
+  // Lanza las tareas a la vez y devuelve los errores
+  private static List<String> aLaVez(List<Runnable> tareas) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(tareas.size());
+    CountDownLatch salida = new CountDownLatch(1);
+    List<Future<String>> futuros = new ArrayList<>();
+    for (Runnable t : tareas) {
+      futuros.add(pool.submit(() -> {
+        salida.await();
+        try {
+          t.run();
+          return null;
+        } catch (RuntimeException ex) {
+          return ex.toString();
+        }
+      }));
+    }
+    salida.countDown();
+    List<String> errores = new ArrayList<>();
+    for (var f : futuros) {
+      String error = f.get(30, TimeUnit.SECONDS);
+      if (error != null) errores.add(error);
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    return errores;
+  }
+
+  private void assertOcupacion(Long eventoId, int esperado) {
+    assertEquals(esperado, jdbc.queryForObject(
+        "SELECT COUNT(*) FROM evento_cliente WHERE evento_id = ?", Integer.class, eventoId));
+    assertEquals(esperado, jdbc.queryForObject(
+        "SELECT num_participantes FROM evento WHERE id = ?", Integer.class, eventoId));
+  }
+
+  private String bearer(Long cliente) {
+    return "Bearer " + tokens.emitir(cliente, clienteRepo.findById(cliente).orElseThrow().getUsername());
+  }
+
+  private static String cuerpo(Long evento) {
+    return "{\"idEvento\":" + evento + "}";
+  }
+
+  private static String par(Long evento, Long cliente) {
+    return "{\"idEvento\":" + evento + ",\"idParticipante\":" + cliente + "}";
+  }
+
+  private List<Long> clientes(String prefijo, int n) {
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < n; i++) ids.add(clienteRepo.save(cliente(prefijo + i)).getId());
+    return ids;
+  }
+
+  private Long crearEvento(int maxPersonas) {
+    Long creadorId = clienteRepo.save(cliente("creador" + System.nanoTime())).getId();
+    return eventoService.crear(new EventoCreate(
+        LocalDate.now().plusDays(10), LocalTime.of(20, 0), "Valencia",
+        new RestriccionesCreate(null, null, maxPersonas), List.of("concierto"),
+        "Concierto", "Plazas limitadas", creadorId)).id();
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,51 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eventmanager.domain.Coordenadas;
+import com.eventmanager.domain.Idiomas;
+
+// Las migraciones de relleno (V7 idiomas_mask, V9 coordenadas) sobre eventos que ya existían
+// antes de ellas: se migra hasta V6, se insertan eventos y se sigue hasta la última.
+public class MigracionesTest {
+
+  @Test
+  void rellenoDeIdiomasYCoordenadas_sobreEventosExistentes() {
+    var ds = new JdbcDataSource();
+    ds.setURL("jdbc:h2:mem:migracionesdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    ds.setUser("sa");
+    var jdbc = new JdbcTemplate(ds);
+
+    flyway(ds, "6").migrate();
+    jdbc.update("INSERT INTO evento (fecha, hora, lugar, titulo, idiomas_permitidos) "
+        + "VALUES (DATE '2030-01-01', TIME '12:00:00', 'Sala Apolo, Barcelona', 'Uno', 'es, CA,xx')");
+    jdbc.update("INSERT INTO evento (fecha, hora, lugar, titulo) "
+        + "VALUES (DATE '2030-01-01', TIME '12:00:00', 'Un sitio que no existe', 'Dos')");
+    flyway(ds, "latest").migrate();
+
+    Map<String, Object> uno = jdbc.queryForMap("SELECT * FROM evento WHERE titulo = 'Uno'");
+    assertEquals(Idiomas.mascara("es, CA,xx"), uno.get("idiomas_mask"));
+    var esperado = new Coordenadas((Double) uno.get("latitud"), (Double) uno.get("longitud"));
+    assertEquals(41.38, esperado.latitud(), 0.1);
+    assertEquals(esperado.celda(), uno.get("geo_celda"));
+
+    Map<String, Object> dos = jdbc.queryForMap("SELECT * FROM evento WHERE titulo = 'Dos'");
+    assertNull(dos.get("idiomas_mask"));
+    assertNull(dos.get("geo_celda"));
+  }
+
+  private static Flyway flyway(JdbcDataSource ds, String version) {
+    return Flyway.configure().dataSource(ds)
+        .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+        .target(version)
+        .load();
+  }
+}
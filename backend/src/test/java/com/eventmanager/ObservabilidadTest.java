@@ -0,0 +1,69 @@
+package com.eventmanager;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.service.TokenService;
+import com.eventmanager.service.errors.SqlErrorDetails;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// /actuator/prometheus expone los timers por endpoint, repositorio y servicio, el pool y Hibernate,
+// y solo a administradores. Las estadísticas de Hibernate van desactivadas por defecto: aquí se encienden.
+@SpringBootTest(properties = {
+    "app.pruebas.bd=metricasdb",
+    "app.admin.usernames=jefa",
+    "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class ObservabilidadTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired MeterRegistry registry;
+  @Autowired TokenService tokens;
+
+  @Test
+  void scrape_incluyeMetricasDelCaminoCaliente() throws Exception {
+    mvc.perform(get("/api/events")).andExpect(status().isOk());
+
+    mvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + tokens.emitir(99L, "jefa")))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+        .andExpect(content().string(containsString("uri=\"/api/events\"")))
+        .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count{")))
+        .andExpect(content().string(containsString("servicio_seconds_count{")))
+        .andExpect(content().string(containsString("class=\"com.eventmanager.service.EventoService\"")))
+        .andExpect(content().string(containsString("hikaricp_connections_active")))
+        .andExpect(content().string(containsString("hibernate_statements_total")));
+  }
+
+  @Test
+  void actuator_soloHealthEsPublico() throws Exception {
+    mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    mvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+    mvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+    mvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + tokens.emitir(1L, "ana")))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void erroresSql_cuentanPorTipo() {
+    double antes = registry.counter("db.errores", "kind", "COLUMN_NOT_FOUND").count();
+    SqlErrorDetails.from(new SQLException("ERROR: column \"foo\" does not exist", "42703"));
+    assertEquals(antes + 1, registry.counter("db.errores", "kind", "COLUMN_NOT_FOUND").count());
+  }
+}
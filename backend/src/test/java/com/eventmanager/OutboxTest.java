@@ -0,0 +1,170 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.DespachadorOutbox;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.ManejadorOutbox;
+import com.eventmanager.service.Outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Solo despacha tras cada commit o cuando el test llama a drenar(); reintentos sin espera
+@SpringBootTest(properties = {
+    "app.pruebas.bd=outboxdb",
+    "app.outbox.intervalo=PT1H",
+    "app.outbox.reintento=PT0S",
+    "app.outbox.max-intentos=3"})
+@ActiveProfiles("test")
+public class OutboxTest {
+
+  // Apunta lo que le llega y falla con los mensajes del evento `fallarCon`
+  static class Grabador implements ManejadorOutbox {
+    final List<Outbox.Mensaje> recibidos = new CopyOnWriteArrayList<>();
+    volatile Long fallarCon;
+
+    @Override
+    public void manejar(List<Outbox.Mensaje> mensajes) {
+      if (mensajes.stream().anyMatch(m -> m.eventoId() == (fallarCon == null ? -1 : fallarCon))) {
+        throw new IllegalStateException("fallo provocado");
+      }
+      recibidos.addAll(mensajes);
+    }
+  }
+
+  @TestConfiguration
+  static class Config {
+    @Bean
+    Grabador grabador() {
+      return new Grabador();
+    }
+  }
+
+  @Autowired EventoService eventoService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired DespachadorOutbox despachador;
+  @Autowired Grabador grabador;
+  @Autowired MeterRegistry registry;
+  @Autowired JdbcTemplate jdbc;
+
+  @AfterEach
+  void limpiar() {
+    grabador.fallarCon = null;
+    grabador.recibidos.clear();
+    jdbc.update("DELETE FROM outbox");
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void escrituras_dejanMensaje_ySeEntreganTrasElCommit() {
+    double unidos = actividad("unido");
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long otro = clienteRepo.save(cliente("otro")).getId();
+    Long evento = crearEvento(creador);
+    eventoService.addParticipante(new EventoAdd(evento, otro));
+    eventoService.removeParticipante(new EventoAdd(evento, otro));
+    // rollback: el mensaje no llega a existir
+    assertThrows(RuntimeException.class, () -> eventoService.addParticipante(new EventoAdd(evento, creador)));
+
+    esperar(() -> grabador.recibidos.size() >= 3 && pendientes() == 0);
+    assertEquals(List.of(Outbox.EVENTO_CREADO, Outbox.PARTICIPANTE_UNIDO, Outbox.PARTICIPANTE_SALIDO),
+        grabador.recibidos.stream().map(Outbox.Mensaje::tipo).toList());
+    assertEquals(creador, grabador.recibidos.get(0).clienteId());
+    assertEquals(otro, grabador.recibidos.get(1).clienteId());
+    assertTrue(grabador.recibidos.stream().allMatch(m -> m.eventoId() == evento));
+    assertEquals(unidos + 1, actividad("unido"));
+  }
+
+  @Test
+  void mensajeQueFalla_seReintentaSoloEnSuManejadorYAcabaDescartado() {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long otro = clienteRepo.save(cliente("otro")).getId();
+    Long bueno = crearEvento(creador);
+    Long malo = crearEvento(creador);
+    esperar(() -> grabador.recibidos.size() == 2);
+
+    double unidos = actividad("unido");
+    grabador.fallarCon = malo;
+    eventoService.addParticipantes(List.of(new EventoAdd(malo, otro), new EventoAdd(bueno, otro)));
+    esperar(() -> {
+      despachador.drenar();
+      return jdbc.queryForObject("SELECT COUNT(*) FROM outbox WHERE disponible IS NULL", Integer.class) == 1;
+    });
+
+    assertEquals(bueno, grabador.recibidos.get(2).eventoId());
+    assertEquals(3, grabador.recibidos.size());
+    // los contadores de actividad lo han recibido una sola vez: los reintentos son solo del que falla
+    assertEquals(unidos + 2, actividad("unido"));
+    Map<String, Object> fila = jdbc.queryForMap(
+        "SELECT evento_id, intentos, disponible, ultimo_error, entregado_a FROM outbox");
+    assertEquals(malo, ((Number) fila.get("evento_id")).longValue());
+    assertEquals(3, ((Number) fila.get("intentos")).intValue());
+    assertNull(fila.get("disponible"));
+    assertEquals("fallo provocado", fila.get("ultimo_error"));
+    assertTrue(((String) fila.get("entregado_a")).contains("ActividadEventos"));
+  }
+
+  private int pendientes() {
+    return jdbc.queryForObject("SELECT COUNT(*) FROM outbox", Integer.class);
+  }
+
+  private double actividad(String tipo) {
+    var contador = registry.find("eventos.actividad").tag("tipo", tipo).counter();
+    return contador == null ? 0 : contador.count();
+  }
+
+  private static void esperar(BooleanSupplier condicion) {
+    long limite = System.currentTimeMillis() + 5000;
+    while (!condicion.getAsBoolean()) {
+      if (System.currentTimeMillis() > limite) throw new AssertionError("El outbox no se ha despachado a tiempo");
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new AssertionError(ex);
+      }
+    }
+  }
+
+  private Long crearEvento(Long creador) {
+    return eventoService.crear(new EventoCreate(LocalDate.now().plusDays(3), LocalTime.NOON, "Girona",
+        null, List.of(), "Evento", null, creador)).id();
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,84 @@
+package com.eventmanager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.eventmanager.service.PasswordHasher;
+import com.eventmanager.service.errors.HashSaturadoException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PasswordHasherTest {
+
+  @Test
+  void hash_y_matches_en_el_pool() {
+    var registry = new SimpleMeterRegistry();
+    var hasher = new PasswordHasher(new BCryptPasswordEncoder(4), registry, 2, 4, Duration.ofSeconds(10));
+    String hash = hasher.hash("Abc!123");
+    assertTrue(hasher.matches("Abc!123", hash));
+    assertFalse(hasher.matches("otra", hash));
+
+    assertEquals(1, registry.get("auth.hash.tiempo").tag("operacion", "hash").timer().count());
+    assertEquals(2, registry.get("auth.hash.tiempo").tag("operacion", "matches").timer().count());
+  }
+
+  @Test
+  void pool_lleno_rechaza_sin_esperar() throws Exception {
+    var liberar = new CountDownLatch(1);
+    var empezado = new CountDownLatch(1);
+    PasswordEncoder lento = new PasswordEncoder() {
+      public String encode(CharSequence raw) {
+        empezado.countDown();
+        try { liberar.await(10, TimeUnit.SECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        return "h";
+      }
+      public boolean matches(CharSequence raw, String hash) { return true; }
+    };
+    var registry = new SimpleMeterRegistry();
+    var hasher = new PasswordHasher(lento, registry, 1, 1, Duration.ofSeconds(10));
+
+    var enCurso = CompletableFuture.supplyAsync(() -> hasher.hash("a"));
+    empezado.await(5, TimeUnit.SECONDS);
+    var encolado = CompletableFuture.supplyAsync(() -> hasher.hash("b"));
+    while (hasher.enCola() == 0) Thread.onSpinWait();
+
+    assertThrows(HashSaturadoException.class, () -> hasher.hash("c"));
+    assertEquals(1.0, registry.get("auth.hash.rechazos").counter().count());
+
+    liberar.countDown();
+    assertEquals("h", enCurso.get(5, TimeUnit.SECONDS));
+    assertEquals("h", encolado.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void async_noBloqueaAlLlamante_yCaducaEnCola() throws Exception {
+    var liberar = new CountDownLatch(1);
+    PasswordEncoder lento = new PasswordEncoder() {
+      public String encode(CharSequence raw) {
+        try { liberar.await(10, TimeUnit.SECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        return "h";
+      }
+      public boolean matches(CharSequence raw, String hash) { return true; }
+    };
+    var registry = new SimpleMeterRegistry();
+    var hasher = new PasswordHasher(lento, registry, 1, 4, Duration.ofMillis(300));
+
+    var enCurso = hasher.hashAsync("a");   // vuelve sin esperar a BCrypt
+    assertFalse(enCurso.isDone());
+    var caducado = hasher.hashAsync("b");
+    var ex = assertThrows(java.util.concurrent.ExecutionException.class, () -> caducado.get(5, TimeUnit.SECONDS));
+    assertTrue(ex.getCause() instanceof HashSaturadoException);
+    assertTrue(registry.get("auth.hash.rechazos").counter().count() >= 1.0);
+    liberar.countDown();
+  }
+}
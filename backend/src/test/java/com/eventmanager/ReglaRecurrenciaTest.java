@@ -0,0 +1,67 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.eventmanager.service.ReglaRecurrencia;
+
+import jakarta.validation.ValidationException;
+
+public class ReglaRecurrenciaTest {
+
+  private static final LocalDate LUNES = LocalDate.of(2030, 1, 7);
+
+  @Test
+  void semanal_conDias_yCount() {
+    var r = ReglaRecurrencia.parse("FREQ=WEEKLY;BYDAY=TU,TH;COUNT=5");
+    var fechas = r.ocurrencias(LUNES, LUNES, LUNES.plusYears(1), 100);
+    assertEquals(List.of(LocalDate.of(2030, 1, 8), LocalDate.of(2030, 1, 10), LocalDate.of(2030, 1, 15),
+        LocalDate.of(2030, 1, 17), LocalDate.of(2030, 1, 22)), fechas);
+    assertEquals(LocalDate.of(2030, 1, 22), r.ultima(LUNES));
+  }
+
+  @Test
+  void count_seCuentaDesdeElInicio_aunqueLaVentanaEmpieceDespues() {
+    var r = ReglaRecurrencia.parse("FREQ=DAILY;COUNT=10");
+    var fechas = r.ocurrencias(LUNES, LUNES.plusDays(8), LUNES.plusDays(30), 100);
+    assertEquals(List.of(LUNES.plusDays(8), LUNES.plusDays(9)), fechas);
+  }
+
+  @Test
+  void sinFin_soloExpandeLaVentana() {
+    var r = ReglaRecurrencia.parse("RRULE:FREQ=WEEKLY;INTERVAL=2");
+    assertNull(r.ultima(LUNES));
+    var desde = LUNES.plusYears(50);
+    var fechas = r.ocurrencias(LUNES, desde, desde.plusWeeks(6), 100);
+    assertEquals(3, fechas.size());
+    fechas.forEach(f -> {
+      assertEquals(0, java.time.temporal.ChronoUnit.WEEKS.between(LUNES, f) % 2);
+      assertTrue(!f.isBefore(desde));
+    });
+    assertEquals(2, r.ocurrencias(LUNES, desde, desde.plusYears(1), 2).size());
+  }
+
+  @Test
+  void mensual_seSaltaLosMesesSinEseDia_yRespetaUntil() {
+    var inicio = LocalDate.of(2030, 1, 31);
+    var r = ReglaRecurrencia.parse("FREQ=MONTHLY;UNTIL=20300630");
+    assertEquals(List.of(inicio, LocalDate.of(2030, 3, 31), LocalDate.of(2030, 5, 31)),
+        r.ocurrencias(inicio, inicio, inicio.plusYears(1), 100));
+    assertEquals(LocalDate.of(2030, 6, 30), r.ultima(inicio));
+  }
+
+  @Test
+  void reglasInvalidas() {
+    for (String regla : List.of("", "COUNT=3", "FREQ=YEARLY", "FREQ=DAILY;INTERVAL=0", "FREQ=DAILY;BYDAY=MO",
+        "FREQ=WEEKLY;BYDAY=XX", "FREQ=DAILY;COUNT=2;UNTIL=2030-01-01", "FREQ=DAILY;COUNT=5000", "FREQ=DAILY;FOO=1")) {
+      assertThrows(ValidationException.class, () -> ReglaRecurrencia.parse(regla), regla);
+    }
+  }
+}
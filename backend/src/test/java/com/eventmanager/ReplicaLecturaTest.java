@@ -0,0 +1,136 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eventmanager.config.RetrasoReplica;
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.service.ClienteService;
+import com.eventmanager.service.DespachadorOutbox;
+
+import jakarta.validation.ValidationException;
+
+// Primaria y réplica son dos H2 distintas sin replicación entre ellas: lo que se inserta solo en
+// la réplica dice por dónde ha ido cada lectura, y el latido de la réplica se escribe a mano
+// para simular que está al día, atrasada o caída. El programador de RetrasoReplica no llega a
+// correr (comprobar-cada de una hora): se llama a comprobar() directamente.
+@SpringBootTest(properties = {
+    "app.pruebas.bd=primariadb",
+    "app.datasource.replica.max-retraso=PT5S",
+    "app.datasource.replica.comprobar-cada=PT1H"})
+@ActiveProfiles("test")
+public class ReplicaLecturaTest {
+  private static final String REPLICA = "jdbc:h2:mem:replicadb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    // La réplica tiene que tener ya el esquema, como una réplica real de la primaria
+    Flyway.configure().dataSource(REPLICA, "sa", "")
+        .locations("classpath:db/migration/common", "classpath:db/migration/h2").load().migrate();
+    r.add("app.datasource.replica.url", () -> REPLICA);
+  }
+
+  @Autowired ClienteService clienteService;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired RetrasoReplica retraso;
+  @Autowired PlatformTransactionManager txManager;
+  @Autowired @Qualifier("primaria") DataSource primaria;
+  @Autowired @Qualifier("replica") DataSource replica;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired DespachadorOutbox despachador;
+
+  @Test
+  void lecturasALaReplica_mientrasEsteAlDia() {
+    var enReplica = new JdbcTemplate(replica);
+    var enPrimaria = new JdbcTemplate(primaria);
+    enReplica.update("INSERT INTO cliente (id, nombre, apellidos, username, correo, fecha_nacimiento, password_hash) "
+        + "VALUES (900, 'Solo', 'Replica', 'soloreplica', 'solo@replica.com', DATE '1990-01-01', 'x')");
+
+    latidoEnReplica(System.currentTimeMillis());
+    assertTrue(retraso.replicaAlDia());
+    assertEquals("soloreplica", clienteService.getById(900L).username());
+    assertEquals(1, contarClientes(true));
+    assertEquals(0, contarClientes(false));   // las transacciones de escritura leen de la primaria
+
+    // leer desde una transacción de escritura, escribir y deshacer, o drenar un outbox vacío no
+    // cuentan como escritura: la réplica sigue al día
+    var tx = new TransactionTemplate(txManager);
+    tx.executeWithoutResult(s -> {
+      jdbc.update("UPDATE cliente SET nombre = 'Otro' WHERE id = 900");
+      s.setRollbackOnly();
+    });
+    despachador.drenar();
+    retraso.comprobar();
+    assertTrue(retraso.replicaAlDia());
+
+    // una escritura va a la primaria, y hasta que la réplica la tenga se lee de la primaria
+    Long nuevo = clienteRepo.save(cliente("nuevo")).getId();
+    assertEquals(1, enPrimaria.queryForObject("SELECT COUNT(*) FROM cliente WHERE id = ?", Integer.class, nuevo));
+    assertEquals(0, enReplica.queryForObject("SELECT COUNT(*) FROM cliente WHERE id = ?", Integer.class, nuevo));
+    retraso.comprobar();
+    assertFalse(retraso.replicaAlDia());
+    assertThrows(ValidationException.class, () -> clienteService.getById(900L));
+    assertEquals("nuevo", clienteService.getById(nuevo).username());
+
+    latidoEnReplica(System.currentTimeMillis());
+    assertEquals("soloreplica", clienteService.getById(900L).username());
+
+    // réplica atrasada
+    latidoEnReplica(System.currentTimeMillis() - 60_000);
+    assertFalse(retraso.replicaAlDia());
+    assertTrue(retraso.retrasoMs() >= 60_000);
+    assertEquals(0, contarClientes(true));
+
+    // réplica caída (o sin la tabla del latido)
+    enReplica.execute("DROP TABLE replica_latido_instancia");
+    retraso.comprobar();
+    assertFalse(retraso.replicaAlDia());
+    assertEquals(-1, retraso.retrasoMs());
+    assertThrows(ValidationException.class, () -> clienteService.getById(900L));
+  }
+
+  // Simula que la réplica ha aplicado hasta el latido `instante` y lo comprueba
+  private void latidoEnReplica(long instante) {
+    var enReplica = new JdbcTemplate(replica);
+    enReplica.update("DELETE FROM replica_latido_instancia WHERE instancia = ?", retraso.instancia());
+    enReplica.update("INSERT INTO replica_latido_instancia (instancia, instante) VALUES (?, ?)",
+        retraso.instancia(), instante);
+    retraso.comprobar();
+  }
+
+  private int contarClientes(boolean soloLectura) {
+    var tx = new TransactionTemplate(txManager);
+    tx.setReadOnly(soloLectura);
+    return tx.execute(s -> jdbc.queryForObject("SELECT COUNT(*) FROM cliente WHERE id = 900", Integer.class));
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,133 @@
+package com.eventmanager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoAdd;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.RestriccionesCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.errors.EventoCompletoException;
+
+// N hilos compitiendo por las mismas plazas: nunca se supera max_personas
+@SpringBootTest(properties = {
+    "app.pruebas.bd=reservasdb",
+    "spring.datasource.hikari.maximum-pool-size=8"})
+@ActiveProfiles("test")
+public class ReservaPlazasConcurrenciaTest {
+
+  @Autowired private EventoService eventoService;
+  @Autowired private EventoRepository eventoRepo;
+  @Autowired private ClienteRepository clienteRepo;
+  @Autowired private JdbcTemplate jdbc;
+
+  @AfterEach
+  void limpiar() {
+    eventoRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void ultimaPlaza_laConsigueExactamenteUno() throws Exception {
+    Long eventoId = crearEvento(2); // creador + 1 plaza libre
+    var resultado = competir(eventoId, 20);
+
+    assertEquals(1, resultado.ok());
+    assertEquals(19, resultado.completos());
+    assertEquals(0, resultado.otros());
+    assertOcupacion(eventoId, 2);
+  }
+
+  @Test
+  void muchasPlazas_seLlenanSinOverbooking() throws Exception {
+    Long eventoId = crearEvento(11); // creador + 10 plazas
+    var resultado = competir(eventoId, 40);
+
+    assertEquals(10, resultado.ok());
+    assertEquals(30, resultado.completos());
+    assertEquals(0, resultado.otros());
+    assertOcupacion(eventoId, 11);
+  }
+
+  private record Resultado(int ok, int completos, int otros) {}
+
+  private Resultado competir(Long eventoId, int hilos) throws Exception {
+    List<Long> clientes = new ArrayList<>();
+    for (int i = 0; i < hilos; i++) clientes.add(clienteRepo.save(cliente("c" + eventoId + "_" + i)).getId());
+
+    ExecutorService pool = Executors.newFixedThreadPool(hilos);
+    CountDownLatch salida = new CountDownLatch(1);
+    List<Future<String>> futuros = new ArrayList<>();
+    for (Long clienteId : clientes) {
+      Callable<String> join = () -> {
+        salida.await();
+        try {
+          eventoService.addParticipante(new EventoAdd(eventoId, clienteId));
+          return "ok";
+        } catch (EventoCompletoException ex) {
+          return "completo";
+        } catch (RuntimeException ex) {
+          return "otro: " + ex;
+        }
+      };
+      futuros.add(pool.submit(join));
+    }
+    salida.countDown();
+
+    int ok = 0, completos = 0, otros = 0;
+    for (var f : futuros) {
+      switch (f.get(30, TimeUnit.SECONDS)) {
+        case "ok" -> ok++;
+        case "completo" -> completos++;
+        default -> otros++;
+      }
+    }
+    pool.shutdown();
+    return new Resultado(ok, completos, otros);
+  }
+
+  private void assertOcupacion(Long eventoId, int esperado) {
+    assertEquals(esperado, jdbc.queryForObject(
+        "SELECT COUNT(*) FROM evento_cliente WHERE evento_id = ?", Integer.class, eventoId));
+    assertEquals(esperado, jdbc.queryForObject(
+        "SELECT num_participantes FROM evento WHERE id = ?", Integer.class, eventoId));
+  }
+
+  private Long crearEvento(int maxPersonas) {
+    Long creadorId = clienteRepo.save(cliente("creador" + System.nanoTime())).getId();
+    return eventoService.crear(new EventoCreate(
+        LocalDate.of(2028, 6, 1), LocalTime.of(20, 0), "Valencia",
+        new RestriccionesCreate(null, null, maxPersonas), List.of("concierto"),
+        "Concierto", "Plazas limitadas", creadorId)).id();
+  }
+
+  private Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,247 @@
+package com.eventmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eventmanager.domain.Cliente;
+import com.eventmanager.dto.EventoDtos.EventoCreate;
+import com.eventmanager.dto.EventoDtos.EventoFiltro;
+import com.eventmanager.dto.EventoDtos.EventoView;
+import com.eventmanager.dto.EventoDtos.RestriccionesCreate;
+import com.eventmanager.dto.SerieDtos.SerieAdd;
+import com.eventmanager.dto.SerieDtos.SerieCreate;
+import com.eventmanager.repository.ClienteRepository;
+import com.eventmanager.repository.EventoRepository;
+import com.eventmanager.repository.SerieEventoRepository;
+import com.eventmanager.service.EventoService;
+import com.eventmanager.service.SerieEventoService;
+import com.eventmanager.service.TokenService;
+import com.eventmanager.service.errors.EventoCompletoException;
+
+@SpringBootTest(properties = "app.pruebas.bd=seriesdb")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class SerieEventoTest {
+
+  private static final LocalDate INICIO = LocalDate.of(2030, 1, 1);
+
+  @Autowired MockMvc mvc;
+  @Autowired EventoService eventoService;
+  @Autowired SerieEventoService serieService;
+  @Autowired EventoRepository eventoRepo;
+  @Autowired SerieEventoRepository serieRepo;
+  @Autowired ClienteRepository clienteRepo;
+  @Autowired TokenService tokens;
+
+  @AfterEach
+  void limpiar() {
+    eventoRepo.deleteAll();
+    serieRepo.deleteAll();
+    clienteRepo.deleteAll();
+  }
+
+  @Test
+  void buscar_mezclaEventosYOcurrencias_paginandoPorCursor() {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long serie = serieService.crear(serie(creador, INICIO, LocalTime.of(9, 0), "FREQ=DAILY;COUNT=5", null)).id();
+    Long e1 = eventoService.crear(evento(creador, INICIO.plusDays(1), LocalTime.of(9, 0))).id();
+    Long e2 = eventoService.crear(evento(creador, INICIO.plusDays(2), LocalTime.of(8, 0))).id();
+    var filtro = new EventoFiltro(INICIO, INICIO.plusDays(30), null, null, null, null, null);
+
+    List<String> vistos = new ArrayList<>();
+    String cursor = null;
+    int paginas = 0;
+    do {
+      var pagina = eventoService.buscar(filtro, cursor, 3);
+      pagina.eventos().forEach(v -> vistos.add(v.fecha().getDayOfMonth() + ":" + clave(v)));
+      cursor = pagina.siguienteCursor();
+      paginas++;
+    } while (cursor != null);
+
+    assertEquals(List.of("1:S" + serie, "2:E" + e1, "2:S" + serie, "3:E" + e2, "3:S" + serie,
+        "4:S" + serie, "5:S" + serie), vistos);
+    assertEquals(3, paginas);
+  }
+
+  @Test
+  void buscar_aplicaLosFiltrosALasSeries() {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    serieService.crear(serie(creador, INICIO, LocalTime.of(9, 0), "FREQ=WEEKLY;COUNT=4", null));
+    var enGirona = new EventoFiltro(INICIO, null, "giro", List.of("yoga"), "es", 30, "clase");
+    var enLleida = new EventoFiltro(INICIO, null, "lleida", null, null, null, null);
+    var menores = new EventoFiltro(INICIO, null, null, null, null, 10, null);
+
+    assertEquals(4, eventoService.buscar(enGirona, null, 10).eventos().size());
+    assertEquals(0, eventoService.buscar(enLleida, null, 10).eventos().size());
+    assertEquals(0, eventoService.buscar(menores, null, 10).eventos().size());
+  }
+
+  @Test
+  void misEventos_incluyeLasProximasOcurrencias_yCambiaElETag() throws Exception {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long ana = clienteRepo.save(cliente("ana")).getId();
+    LocalDate hoy = LocalDate.now();
+    Long serie = serieService.crear(serie(creador, hoy, LocalTime.of(23, 0), "FREQ=WEEKLY;COUNT=3", null)).id();
+    eventoService.crear(evento(creador, hoy.plusDays(1), LocalTime.of(10, 0)));
+    String bearer = "Bearer " + tokens.emitir(ana, "ana");
+
+    mvc.perform(get("/api/events/my-events").header("Authorization", bearer))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+    serieService.unirse(new SerieAdd(serie, ana));
+
+    String etag = mvc.perform(get("/api/events/my-events").header("Authorization", bearer))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3))
+        .andExpect(jsonPath("$[0].id").doesNotExist())
+        .andExpect(jsonPath("$[0].idSerie").value(serie))
+        .andExpect(jsonPath("$[2].fecha").value(hoy.plusWeeks(2).toString()))
+        .andReturn().getResponse().getHeader("ETag");
+    mvc.perform(get("/api/events/my-events").header("Authorization", bearer).header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    serieService.salir(new SerieAdd(serie, ana));
+    String despues = mvc.perform(get("/api/events/my-events").header("Authorization", bearer))
+        .andExpect(jsonPath("$.length()").value(0))
+        .andReturn().getResponse().getHeader("ETag");
+    assertNotEquals(etag, despues);
+
+    var creados = serieService.ocurrenciasDeCreador(creador);
+    assertEquals(3, creados.size());
+    assertNull(creados.get(0).id());
+  }
+
+  @Test
+  void endpoints_crearUnirseYOcurrencias() throws Exception {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long ana = clienteRepo.save(cliente("ana")).getId();
+    Long bea = clienteRepo.save(cliente("bea")).getId();
+    String comoCreador = "Bearer " + tokens.emitir(creador, "creador");
+    String comoAna = "Bearer " + tokens.emitir(ana, "ana");
+    // idCreador e idParticipante del cuerpo no cuentan: manda el token
+    String body = "{\"fechaInicio\":\"2030-01-01\",\"hora\":\"19:00:00\",\"lugar\":\"Girona\",\"titulo\":\"Club\","
+        + "\"regla\":\"FREQ=MONTHLY;COUNT=12\",\"restricciones\":{\"plazasDisponibles\":2},\"idCreador\":" + bea + "}";
+
+    mvc.perform(post("/api/series").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isUnauthorized());
+    String id = mvc.perform(post("/api/series").header("Authorization", comoCreador)
+            .contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.fechaFin").value("2030-12-01"))
+        .andExpect(jsonPath("$.idCreador").value(creador))
+        .andExpect(jsonPath("$.participantesIds[0]").value(creador))
+        .andReturn().getResponse().getContentAsString().replaceAll(".*\"id\":(\\d+).*", "$1");
+
+    mvc.perform(post("/api/series/join").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"idSerie\":" + id + ",\"idParticipante\":" + ana + "}"))
+        .andExpect(status().isUnauthorized());
+    mvc.perform(post("/api/series/join").header("Authorization", comoAna).contentType(MediaType.APPLICATION_JSON)
+            .content("{\"idSerie\":" + id + ",\"idParticipante\":" + bea + "}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.participantesIds.length()").value(2))
+        .andExpect(jsonPath("$.participantesIds[1]").value(ana));
+    mvc.perform(post("/api/series/join").header("Authorization", "Bearer " + tokens.emitir(bea, "bea"))
+            .contentType(MediaType.APPLICATION_JSON).content("{\"idSerie\":" + id + "}"))
+        .andExpect(status().isConflict());
+    mvc.perform(post("/api/series/join").header("Authorization", comoAna).contentType(MediaType.APPLICATION_JSON)
+            .content("{\"idSerie\":" + id + "}"))
+        .andExpect(status().isBadRequest());
+    mvc.perform(post("/api/series/join").header("Authorization", comoAna).contentType(MediaType.APPLICATION_JSON)
+            .content("{\"idSerie\":-1}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Serie no encontrada"));
+    // ana no puede sacar al creador: se intenta salir ella misma
+    mvc.perform(post("/api/series/leave").header("Authorization", comoAna).contentType(MediaType.APPLICATION_JSON)
+            .content("{\"idSerie\":" + id + ",\"idParticipante\":" + creador + "}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.participantesIds.length()").value(1))
+        .andExpect(jsonPath("$.participantesIds[0]").value(creador));
+    mvc.perform(post("/api/series").header("Authorization", comoCreador).contentType(MediaType.APPLICATION_JSON)
+            .content(body.replace("COUNT=12", "FREQ=YEARLY")))
+        .andExpect(status().isBadRequest());
+
+    mvc.perform(post("/api/series/join").header("Authorization", comoAna).contentType(MediaType.APPLICATION_JSON)
+            .content("{\"idSerie\":" + id + "}"))
+        .andExpect(status().isOk());
+    mvc.perform(get("/api/series/" + id + "/occurrences").param("desde", "2030-03-15").param("hasta", "2030-06-30"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3))
+        .andExpect(jsonPath("$[0].fecha").value("2030-04-01"))
+        .andExpect(jsonPath("$[0].numParticipantes").value(2))
+        .andExpect(jsonPath("$[0].participantesIds").doesNotExist());
+    mvc.perform(get("/api/series/" + id + "/occurrences").param("desde", "2030-03-15").param("vista", "completa"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].participantesIds.length()").value(2));
+  }
+
+  @Test
+  void unirse_concurrente_respetaElAforo() throws Exception {
+    Long creador = clienteRepo.save(cliente("creador")).getId();
+    Long serie = serieService.crear(serie(creador, INICIO, LocalTime.of(9, 0), "FREQ=DAILY", 3)).id();
+    List<Long> clientes = new ArrayList<>();
+    for (int i = 0; i < 8; i++) clientes.add(clienteRepo.save(cliente("c" + i)).getId());
+
+    List<Callable<Boolean>> altas = clientes.stream().<Callable<Boolean>>map(c -> () -> {
+      try {
+        serieService.unirse(new SerieAdd(serie, c));
+        return true;
+      } catch (EventoCompletoException ex) {
+        return false;
+      }
+    }).toList();
+    int ok = 0;
+    try (var pool = Executors.newFixedThreadPool(8)) {
+      for (Future<Boolean> f : pool.invokeAll(altas)) if (f.get()) ok++;
+    }
+
+    assertEquals(2, ok);
+    assertEquals(3, serieService.ocurrencias(serie, INICIO, INICIO).get(0).participantesIds().size());
+    assertEquals(3, serieRepo.findById(serie).orElseThrow().getNumParticipantes());
+  }
+
+  private static String clave(EventoView v) {
+    return v.idSerie() != null ? "S" + v.idSerie() : "E" + v.id();
+  }
+
+  private static SerieCreate serie(Long creador, LocalDate inicio, LocalTime hora, String regla, Integer plazas) {
+    return new SerieCreate(inicio, hora, "Girona", new RestriccionesCreate("es,en", 18, plazas),
+        List.of("yoga"), "Clase de yoga", "Clase semanal", creador, regla);
+  }
+
+  private static EventoCreate evento(Long creador, LocalDate fecha, LocalTime hora) {
+    return new EventoCreate(fecha, hora, "Barcelona", null, List.of("otro"), "Evento suelto", null, creador);
+  }
+
+  private static Cliente cliente(String username) {
+    Cliente c = new Cliente();
+    c.setNombre("Nombre");
+    c.setApellidos("Apellidos");
+    c.setUsername(username);
+    c.setCorreo(username + "@test.com");
+    c.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+    c.setPasswordHash("hash");
+    return c;
+  }
+}
@@ -0,0 +1,44 @@
+package com.eventmanager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.eventmanager.service.TokenService;
+
+public class TokenServiceTest {
+  TokenService tokens = new TokenService("secreto-test", Duration.ofHours(1));
+
+  @Test
+  void emitido_se_verifica() {
+    var usuario = tokens.verificar(tokens.emitir(42L, "anap")).orElseThrow();
+    assertEquals(42L, usuario.id());
+    assertEquals("anap", usuario.username());
+  }
+
+  @Test
+  void rechaza_payload_manipulado() {
+    String[] partes = tokens.emitir(42L, "anap").split("\\.");
+    String otro = tokens.emitir(1L, "admin").split("\\.")[1];
+    assertTrue(tokens.verificar(partes[0] + "." + otro + "." + partes[2]).isEmpty());
+  }
+
+  @Test
+  void rechaza_otra_clave() {
+    var ajeno = new TokenService("otro-secreto", Duration.ofHours(1));
+    assertTrue(tokens.verificar(ajeno.emitir(42L, "anap")).isEmpty());
+  }
+
+  @Test
+  void rechaza_caducado() {
+    var corto = new TokenService("secreto-test", Duration.ofSeconds(-1));
+    assertTrue(corto.verificar(corto.emitir(42L, "anap")).isEmpty());
+  }
+
+  @Test
+  void rechaza_formato_antiguo() {
+    assertTrue(tokens.verificar("token-42").isEmpty());
+  }
+}
@@ -0,0 +1,193 @@
+package com.eventmanager.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Usuarios virtuales que lanzan contra la API una mezcla ponderada de operaciones durante un
+// tiempo fijo. Cada usuario es un cliente sembrado con su propio Random(semilla + i), así que con
+// la misma semilla la secuencia de operaciones que intenta cada uno es la misma.
+// Las muestras del calentamiento se descartan.
+public final class EjecutorCarga {
+  private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+  public enum Operacion {
+    SIGNUP("POST /api/auth/signup"),
+    LOGIN("POST /api/auth/login"),
+    LISTAR("GET /api/events"),
+    JOIN("POST /api/events/join"),
+    LEAVE("POST /api/events/leave");
+
+    final String endpoint;
+
+    Operacion(String endpoint) { this.endpoint = endpoint; }
+  }
+
+  public record Config(int usuarios, Duration calentamiento, Duration duracion, long semilla,
+                       Map<Operacion, Integer> mezcla, String prefijo) {
+    public static Config desdePropiedades() {
+      return new Config(
+          Integer.getInteger("carga.usuarios", 32),
+          Duration.parse(System.getProperty("carga.calentamiento", "PT5S")),
+          Duration.parse(System.getProperty("carga.duracion", "PT30S")),
+          Long.getLong("carga.semilla", 42L),
+          parsearMezcla(System.getProperty("carga.mezcla", "listar=50,join=20,leave=15,login=10,signup=5")),
+          System.getProperty("carga.prefijo", "carga"));
+    }
+  }
+
+  private final String base;
+  private final GeneradorDatos.Datos datos;
+  private final Config cfg;
+  private final HttpClient http = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+  private final InformeCarga informe = new InformeCarga();
+  private final Operacion[] ruleta;
+
+  public EjecutorCarga(String base, GeneradorDatos.Datos datos, Config cfg) {
+    this.base = base;
+    this.datos = datos;
+    this.cfg = cfg;
+    // Una casilla por punto de peso: elegir operación es un nextInt
+    List<Operacion> casillas = new ArrayList<>();
+    cfg.mezcla().forEach((op, peso) -> { for (int i = 0; i < peso; i++) casillas.add(op); });
+    this.ruleta = casillas.toArray(Operacion[]::new);
+  }
+
+  public InformeCarga ejecutar() throws InterruptedException {
+    // join y leave actúan sobre el usuario del token: cada usuario inicia sesión una vez antes de
+    // empezar a contar el tiempo
+    String[] tokens = new String[cfg.usuarios()];
+    try (ExecutorService sesiones = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < cfg.usuarios(); i++) {
+        int usuario = i;
+        sesiones.submit(() -> tokens[usuario] = iniciarSesion(username(usuario)));
+      }
+    }
+    long inicio = System.nanoTime();
+    long medir = inicio + cfg.calentamiento().toNanos();
+    long fin = medir + cfg.duracion().toNanos();
+    try (ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < cfg.usuarios(); i++) {
+        int usuario = i;
+        if (tokens[usuario] != null) usuarios.submit(() -> usuario(usuario, tokens[usuario], medir, fin));
+      }
+      usuarios.shutdown();
+      usuarios.awaitTermination(cfg.calentamiento().plus(cfg.duracion()).toSeconds() + 60, TimeUnit.SECONDS);
+    }
+    return informe;
+  }
+
+  private void usuario(int i, String token, long medir, long fin) {
+    Random rnd = new Random(cfg.semilla() + i);
+    String username = username(i);
+    List<Long> apuntado = new ArrayList<>();
+    int altas = 0;
+
+    while (System.nanoTime() < fin) {
+      Operacion op = ruleta[rnd.nextInt(ruleta.length)];
+      // Sin eventos de los que salir, el leave se convierte en join
+      if (op == Operacion.LEAVE && apuntado.isEmpty()) op = Operacion.JOIN;
+      HttpRequest peticion = switch (op) {
+        case LISTAR -> get("/api/events");
+        case LOGIN -> post("/api/auth/login",
+            "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"" + GeneradorDatos.PASSWORD + "\"}");
+        case SIGNUP -> {
+          String nuevo = cfg.prefijo() + "_alta_" + i + "_" + altas++;
+          yield post("/api/auth/signup", "{\"nombre\":\"Alta\",\"apellidos\":\"Carga\",\"username\":\"" + nuevo
+              + "\",\"correo\":\"" + nuevo + "@carga.local\",\"fechaNacimiento\":\"1990-01-01\","
+              + "\"ciudad\":\"Barcelona\",\"idioma\":\"es\",\"password\":\"" + GeneradorDatos.PASSWORD + "\"}");
+        }
+        case JOIN -> {
+          Long eventoId = datos.eventoIds().get(rnd.nextInt(datos.eventoIds().size()));
+          apuntado.add(eventoId);
+          yield post("/api/events/join", "{\"idEvento\":" + eventoId + "}", token);
+        }
+        case LEAVE -> {
+          Long eventoId = apuntado.remove(rnd.nextInt(apuntado.size()));
+          yield post("/api/events/leave", "{\"idEvento\":" + eventoId + "}", token);
+        }
+      };
+
+      long t0 = System.nanoTime();
+      int estado;
+      try {
+        estado = http.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception ex) {
+        estado = -1;
+      }
+      long t1 = System.nanoTime();
+      // Un join rechazado (aforo completo, ya apuntado) no deja al usuario dentro
+      if (op == Operacion.JOIN && estado != 200) apuntado.remove(apuntado.size() - 1);
+      if (t0 >= medir && t1 <= fin) informe.registrar(op.endpoint, t1 - t0, estado);
+    }
+  }
+
+  private String username(int i) {
+    return datos.usernames().get(i % datos.usernames().size());
+  }
+
+  private String iniciarSesion(String username) {
+    try {
+      var respuesta = http.send(post("/api/auth/login",
+          "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"" + GeneradorDatos.PASSWORD + "\"}"),
+          HttpResponse.BodyHandlers.ofString());
+      Matcher m = TOKEN.matcher(respuesta.body());
+      return respuesta.statusCode() == 200 && m.find() ? m.group(1) : null;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (Exception ex) {
+      return null;
+    }
+  }
+
+  private HttpRequest get(String ruta) {
+    return HttpRequest.newBuilder(URI.create(base + ruta))
+        .timeout(Duration.ofSeconds(30))
+        .header("Accept", "application/json")
+        .GET().build();
+  }
+
+  private HttpRequest post(String ruta, String json) {
+    return HttpRequest.newBuilder(URI.create(base + ruta))
+        .timeout(Duration.ofSeconds(30))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+  }
+
+  private HttpRequest post(String ruta, String json, String token) {
+    return HttpRequest.newBuilder(URI.create(base + ruta))
+        .timeout(Duration.ofSeconds(30))
+        .header("Content-Type", "application/json")
+        .header("Authorization", "Bearer " + token)
+        .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+  }
+
+  // "listar=50,join=20" -> {LISTAR=50, JOIN=20}
+  static Map<Operacion, Integer> parsearMezcla(String texto) {
+    Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+    for (String parte : texto.split(",")) {
+      String[] kv = parte.trim().split("=");
+      pesos.put(Operacion.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+    }
+    return pesos;
+  }
+}
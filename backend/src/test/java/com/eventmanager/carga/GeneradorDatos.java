@@ -0,0 +1,105 @@
+package com.eventmanager.carga;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Siembra clientes, eventos y participaciones con una semilla fija: misma semilla, mismos datos.
+// Inserta por JDBC en lotes (vale para H2 y Postgres) y devuelve los ids para que la carga los use.
+// Solo rellena las columnas derivadas de restricciones (max_personas...), que son las que consultan
+// las reservas; el JSON "restricciones" queda a null.
+public final class GeneradorDatos {
+  public static final String PASSWORD = "Carga!2025";
+  private static final int LOTE = 1000;
+  private static final Integer[] AFOROS = {null, 10, 50, 200};
+  private static final String[] CIUDADES = {"Barcelona", "Madrid", "Valencia", "Sevilla", "Bilbao"};
+  private static final String[] TAGS = {"musica", "deporte", "cine", "teatro", "viajes", "gastronomia"};
+
+  public record Config(int clientes, int eventos, int participaciones, long semilla, String prefijo) {
+    public static Config desdePropiedades() {
+      return new Config(
+          Integer.getInteger("carga.clientes", 1000),
+          Integer.getInteger("carga.eventos", 2000),
+          Integer.getInteger("carga.participaciones", 5000),
+          Long.getLong("carga.semilla", 42L),
+          System.getProperty("carga.prefijo", "carga"));
+    }
+  }
+
+  public record Datos(List<Long> clienteIds, List<String> usernames, List<Long> eventoIds) {}
+
+  private GeneradorDatos() {}
+
+  public static Datos sembrar(JdbcTemplate jdbc, PasswordEncoder enc, Config cfg) {
+    Random rnd = new Random(cfg.semilla());
+    // Un único hash para todos: hacer miles de BCrypt alargaría la siembra sin aportar nada
+    String hash = enc.encode(PASSWORD);
+
+    List<Object[]> clientes = new ArrayList<>(cfg.clientes());
+    for (int i = 0; i < cfg.clientes(); i++) {
+      String username = cfg.prefijo() + "_" + i;
+      clientes.add(new Object[] {"Nombre" + i, "Apellidos" + i, username, username + "@carga.local",
+          Date.valueOf(LocalDate.of(1960, 1, 1).plusDays(rnd.nextInt(15_000))),
+          CIUDADES[rnd.nextInt(CIUDADES.length)], rnd.nextBoolean() ? "es" : "en", hash});
+    }
+    jdbc.batchUpdate("INSERT INTO cliente (nombre, apellidos, username, correo, fecha_nacimiento, ciudad, idioma, "
+        + "password_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", clientes, LOTE, GeneradorDatos::asignar);
+    List<Long> clienteIds = jdbc.queryForList(
+        "SELECT id FROM cliente WHERE correo LIKE ? ORDER BY id", Long.class, cfg.prefijo() + "\\_%@carga.local");
+    List<String> usernames = clientes.stream().map(c -> (String) c[2]).toList();
+
+    // Participaciones por índice (evento, cliente) sin repetir y sin pasar del aforo
+    Integer[] aforo = new Integer[cfg.eventos()];
+    int[] apuntados = new int[cfg.eventos()];
+    for (int e = 0; e < cfg.eventos(); e++) aforo[e] = AFOROS[rnd.nextInt(AFOROS.length)];
+    Set<Long> pares = new HashSet<>();
+    List<int[]> participaciones = new ArrayList<>(cfg.participaciones());
+    for (int intentos = 0; participaciones.size() < cfg.participaciones() && intentos < cfg.participaciones() * 10; intentos++) {
+      int e = rnd.nextInt(cfg.eventos());
+      int c = rnd.nextInt(cfg.clientes());
+      if ((aforo[e] != null && apuntados[e] >= aforo[e]) || !pares.add((long) e * cfg.clientes() + c)) continue;
+      apuntados[e]++;
+      participaciones.add(new int[] {e, c});
+    }
+
+    List<Object[]> eventos = new ArrayList<>(cfg.eventos());
+    for (int e = 0; e < cfg.eventos(); e++) {
+      eventos.add(new Object[] {Date.valueOf(LocalDate.now().plusDays(1 + rnd.nextInt(365))),
+          Time.valueOf(LocalTime.of(8 + rnd.nextInt(14), rnd.nextBoolean() ? 0 : 30)),
+          CIUDADES[rnd.nextInt(CIUDADES.length)], "Evento " + e, cfg.prefijo(),
+          clienteIds.get(rnd.nextInt(clienteIds.size())), aforo[e], apuntados[e],
+          TAGS[rnd.nextInt(TAGS.length)]});
+    }
+    jdbc.batchUpdate("INSERT INTO evento (fecha, hora, lugar, titulo, descripcion, id_creador, max_personas, "
+        + "num_participantes, tags, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ARRAY[CAST(? AS VARCHAR)], 0)",
+        eventos, LOTE, GeneradorDatos::asignar);
+    List<Long> eventoIds = jdbc.queryForList(
+        "SELECT id FROM evento WHERE descripcion = ? ORDER BY id", Long.class, cfg.prefijo());
+
+    jdbc.batchUpdate("INSERT INTO evento_cliente (evento_id, cliente_id) VALUES (?, ?)", participaciones, LOTE,
+        (ps, p) -> {
+          ps.setLong(1, eventoIds.get(p[0]));
+          ps.setLong(2, clienteIds.get(p[1]));
+        });
+    return new Datos(clienteIds, usernames, eventoIds);
+  }
+
+  private static void asignar(PreparedStatement ps, Object[] fila) throws SQLException {
+    for (int i = 0; i < fila.length; i++) {
+      if (fila[i] == null) ps.setNull(i + 1, Types.NULL);
+      else ps.setObject(i + 1, fila[i]);
+    }
+  }
+}
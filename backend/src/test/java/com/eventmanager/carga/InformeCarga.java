@@ -0,0 +1,92 @@
+package com.eventmanager.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Latencias y códigos de respuesta por endpoint. Guarda todas las muestras (una carga local son
+// decenas de miles) y calcula los percentiles exactos al final.
+public final class InformeCarga {
+
+  public record Fila(String endpoint, long peticiones, long respuestas4xx, long errores,
+                     double porSegundo, double p50Ms, double p90Ms, double p99Ms, double maxMs) {}
+
+  private static final class Muestras {
+    private long[] nanos = new long[1024];
+    private int n;
+    private final AtomicLong respuestas4xx = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+
+    synchronized void anadir(long v) {
+      if (n == nanos.length) nanos = Arrays.copyOf(nanos, n * 2);
+      nanos[n++] = v;
+    }
+
+    synchronized long[] ordenadas() {
+      long[] copia = Arrays.copyOf(nanos, n);
+      Arrays.sort(copia);
+      return copia;
+    }
+  }
+
+  private final Map<String, Muestras> porEndpoint = new ConcurrentHashMap<>();
+
+  // estado < 0 = la petición no llegó a tener respuesta (timeout, conexión...)
+  public void registrar(String endpoint, long nanos, int estado) {
+    Muestras m = porEndpoint.computeIfAbsent(endpoint, k -> new Muestras());
+    m.anadir(nanos);
+    if (estado < 0 || estado >= 500) m.errores.incrementAndGet();
+    else if (estado >= 400) m.respuestas4xx.incrementAndGet();
+  }
+
+  public List<Fila> resumen(Duration duracion) {
+    double segundos = duracion.toNanos() / 1e9;
+    List<Fila> filas = new ArrayList<>();
+    porEndpoint.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(e -> {
+      long[] v = e.getValue().ordenadas();
+      filas.add(new Fila(e.getKey(), v.length, e.getValue().respuestas4xx.get(), e.getValue().errores.get(),
+          v.length / segundos, ms(percentil(v, 50)), ms(percentil(v, 90)), ms(percentil(v, 99)),
+          ms(v.length == 0 ? 0 : v[v.length - 1])));
+    });
+    return filas;
+  }
+
+  public void imprimir(List<Fila> filas, PrintStream out) {
+    out.printf("%-26s %9s %6s %7s %9s %9s %9s %9s %9s%n",
+        "endpoint", "peticiones", "4xx", "errores", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+    for (Fila f : filas) {
+      out.printf("%-26s %9d %6d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", f.endpoint(), f.peticiones(),
+          f.respuestas4xx(), f.errores(), f.porSegundo(), f.p50Ms(), f.p90Ms(), f.p99Ms(), f.maxMs());
+    }
+  }
+
+  public void guardarJson(List<Fila> filas, Map<String, Object> parametros, Path destino) throws IOException {
+    Files.createDirectories(destino.getParent());
+    new ObjectMapper().findAndRegisterModules()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+        .writeValue(destino.toFile(), Map.of("parametros", parametros, "endpoints", filas));
+  }
+
+  // Método nearest-rank
+  private static long percentil(long[] ordenadas, int p) {
+    if (ordenadas.length == 0) return 0;
+    int i = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+    return ordenadas[Math.max(0, i)];
+  }
+
+  private static double ms(long nanos) {
+    return nanos / 1e6;
+  }
+}
@@ -25,8 +25,7 @@ export default function EventCard({
       });
     }
   }
-  console.log("particiapntes:", event.participants)
-  const currentParticipants = event.participants ? event.participants.length : 0;
+  const currentParticipants = event.participantCount ?? (event.participants ? event.participants.length : 0);
   const availableSpots = event.capacity - currentParticipants;
 
   return (
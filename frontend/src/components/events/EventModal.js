@@ -19,7 +19,7 @@ export default function EventModal({ event, isOpen, onClose, isEnrolled, isFull,
       });
     }
   }
-  const currentParticipants = event.participants ? event.participants.length : 0;
+  const currentParticipants = event.participantCount ?? (event.participants ? event.participants.length : 0);
   const availableSpots = event.capacity - currentParticipants;
 
   const handleBackdropClick = (e) => {
@@ -193,7 +193,7 @@ export default function EventPage() {
         return;
       }
 
-      if (event.participants.length >= event.capacity) {
+      if ((event.participantCount ?? event.participants.length) >= event.capacity) {
         setBanner({ type: 'error', message: 'El evento está completo. No puedes apuntarte.' });
         setTimeout(() => setBanner({ type: 'success', message: '' }), 3000);
         return;
@@ -570,7 +570,7 @@ export default function EventPage() {
                 <div className="events-grid">
                   {filteredEvents.map(event => {
                     const isEnrolled = event.isEnrolled || false;
-                    const isFull = event.participants.length >= event.capacity;
+                    const isFull = (event.participantCount ?? event.participants.length) >= event.capacity;
 
                     return (
                       <EventCard
@@ -604,7 +604,7 @@ export default function EventPage() {
           isOpen={isModalOpen}
           onClose={handleCloseModal}
           isEnrolled={selectedEvent.isEnrolled || false}
-          isFull={(selectedEvent.participants || []).length >= selectedEvent.capacity}
+          isFull={(selectedEvent.participantCount ?? (selectedEvent.participants || []).length) >= selectedEvent.capacity}
           onJoin={async () => {
             await handleJoinEvent(selectedEvent.id);
           }}
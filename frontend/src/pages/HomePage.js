@@ -1,6 +1,6 @@
 // src/pages/HomePage.js
 import React, { useEffect, useState, useCallback } from "react";
-import { getEvents, joinEvent, leaveEvent } from "../services/eventService";
+import { getEvents, joinEvent, leaveEvent, subscribeToEventChanges } from "../services/eventService";
 import userService from '../services/userService';
 import { mockEvents } from "../mocks/events.mock";
 import EventCard from "../components/events/EventCard";
@@ -124,6 +124,18 @@ export default function HomePage() {
     })();
   }, []);
 
+  // Contadores en vivo desde el feed de cambios; las altas (o si se pierden cambios) recargan
+  useEffect(() => {
+    const reload = () =>
+      getEvents().then(setEvents).catch(error => console.error('Error recargando eventos:', error));
+    return subscribeToEventChanges({
+      onParticipants: (eventId, count) =>
+        setEvents(prev => prev.map(ev => (ev.id === eventId ? { ...ev, participantCount: count } : ev))),
+      onCreated: reload,
+      onResync: reload,
+    });
+  }, []);
+
   // Calcular tags disponibles según los eventos cargados
   useEffect(() => {
     const tagsSet = new Set();
@@ -248,7 +260,7 @@ export default function HomePage() {
       }
       
       // Verificar si ya está lleno
-      if (event.participants.length >= event.capacity) {
+      if ((event.participantCount ?? event.participants.length) >= event.capacity) {
         setBanner({ type: "error", message: "El evento está completo. No puedes apuntarte." });
         setTimeout(() => setBanner({ type: "success", message: "" }), 3000);
         return;
@@ -686,7 +698,7 @@ export default function HomePage() {
               <div className="events-grid">
                 {filteredEvents.map(event => {
                   const isEnrolled = event.isEnrolled || false;
-                  const isFull = event.participants.length >= event.capacity;
+                  const isFull = (event.participantCount ?? event.participants.length) >= event.capacity;
                   
                   return (
                     <EventCard
@@ -747,7 +759,7 @@ export default function HomePage() {
           isOpen={isModalOpen}
           onClose={handleCloseModal}
           isEnrolled={selectedEvent.isEnrolled || false}
-          isFull={selectedEvent.participants.length >= selectedEvent.capacity}
+          isFull={(selectedEvent.participantCount ?? selectedEvent.participants.length) >= selectedEvent.capacity}
           onJoin={async () => {
             await handleJoinEvent(selectedEvent.id);
             // Recargar eventos y actualizar el evento seleccionado
@@ -348,7 +348,7 @@ export default function ProfilePage() {
                           })()}
                         </span>
                         <span className="event-participants">
-                          {event.participants.length} / {event.capacity} participantes
+                          {event.participantCount ?? event.participants.length} / {event.capacity} participantes
                         </span>
                       </div>
                       <p className="event-description">{event.description}</p>
@@ -27,7 +27,7 @@ const authService = {
     } catch (error) {
       return {
         success: false,
-        error: error.response?.data?.message || 'Error al registrar usuario'
+        error: error.response?.data?.message || error.response?.data?.error || 'Error al registrar usuario'
       };
     }
   },
@@ -60,6 +60,12 @@ function normalizeParticipants(participantIds) {
   return participantIds.map((id) => id?.toString()).filter(Boolean);
 }
 
+// Los listados del backend vienen en vista compacta: numParticipantes y unido (si el usuario del
+// token está apuntado) en lugar de la lista de ids. La lista completa está en /events/{id}/participants.
+function countParticipants(event, participants) {
+  return typeof event.numParticipantes === "number" ? event.numParticipantes : participants.length;
+}
+
 function buildIsoDate(fecha, hora) {
   if (!fecha) return new Date().toISOString();
 
@@ -109,26 +115,6 @@ export async function getEvents() {
 
   const currentUserId = localStorage.getItem("userId");
   const currentUserIdStr = currentUserId ? currentUserId.toString() : null;
-  let enrolledIds = new Set();
-
-  if (currentUserIdStr) {
-    try {
-      const userEventsRes = await fetch(`${config.API_BASE_URL}/events/my-events`, {
-        headers: authHeaders(),
-      });
-      if (userEventsRes.ok) {
-        const userEvents = await userEventsRes.json();
-        enrolledIds = new Set(
-          userEvents
-            .map((evt) => evt.id)
-            .filter((id) => id !== undefined && id !== null)
-            .map((id) => id.toString())
-        );
-      }
-    } catch (error) {
-      console.warn("No se pudieron cargar los eventos del usuario para calcular isEnrolled:", error);
-    }
-  }
 
   const transformed = await Promise.all(
     data.map(async (event) => {
@@ -138,14 +124,15 @@ export async function getEvents() {
       const startDate = buildIsoDate(event.fecha, event.hora);
       const languages = normalizeLanguages(event.idiomasPermitidos);
 
+      const participantCount = countParticipants(event, participants);
+
       const capacity =
         typeof event.maxPersonas === "number" && !Number.isNaN(event.maxPersonas)
           ? event.maxPersonas
-          : Math.max(participants.length, 10);
+          : Math.max(participantCount, 10);
 
       const isEnrolled =
-        !!currentUserIdStr &&
-        (enrolledIds.has(event.id?.toString()) || participants.includes(currentUserIdStr));
+        !!currentUserIdStr && (event.unido === true || participants.includes(currentUserIdStr));
 
       const fallbackId =
         event.id !== undefined && event.id !== null
@@ -162,6 +149,7 @@ export async function getEvents() {
         imageUrl,
         capacity,
         participants,
+        participantCount,
         languages: languages.length ? languages : ["es"],
         tags,
         isEnrolled,
@@ -174,6 +162,81 @@ export async function getEvents() {
   );
 }
 
+// Feed de cambios (SSE, GET /events/changes): altas de eventos y nuevos contadores de participantes
+// sin sondear el listado. "desbordado" significa que se han perdido cambios y toca recargar.
+// EventSource se reconecta solo. Devuelve una función para cerrar la conexión.
+export function subscribeToEventChanges({ onParticipants, onCreated, onResync } = {}) {
+  const config = getConfig();
+  if (config.USE_MOCKS || typeof EventSource === "undefined") return () => {};
+
+  const source = new EventSource(`${config.API_BASE_URL}/events/changes`);
+  const listen = (type, handler) =>
+    source.addEventListener(type, (msg) => {
+      try {
+        handler(JSON.parse(msg.data));
+      } catch (error) {
+        console.warn("Cambio de evento no válido:", msg.data, error);
+      }
+    });
+
+  listen("participantes", (c) => onParticipants?.(c.idEvento.toString(), c.numParticipantes));
+  listen("creado", (c) => onCreated?.(c));
+  listen("desbordado", () => onResync?.());
+  return () => source.close();
+}
+
+// Búsqueda paginada en servidor (GET /events/search). Devuelve { events, nextCursor }.
+export async function searchEvents(filters = {}, cursor = null, limit = 20) {
+  const config = getConfig();
+  const params = new URLSearchParams();
+  if (filters.searchText) params.set("q", filters.searchText);
+  if (filters.location) params.set("lugar", filters.location);
+  if (filters.language) params.set("idioma", filters.language);
+  if (filters.age) params.set("edad", filters.age);
+  if (filters.from) params.set("desde", filters.from);
+  if (filters.to) params.set("hasta", filters.to);
+  (filters.tags || []).forEach((tag) => params.append("tags", tag));
+  if (cursor) params.set("cursor", cursor);
+  params.set("limite", limit);
+
+  const res = await fetch(`${config.API_BASE_URL}/events/search?${params.toString()}`, {
+    headers: authHeaders(),
+  });
+  if (!res.ok) throw new Error("No se pudieron buscar los eventos");
+  const data = await res.json();
+
+  const currentUserId = localStorage.getItem("userId");
+  const events = await Promise.all(
+    (data.eventos || []).map(async (event) => {
+      const tags = normalizeTags(event.tags);
+      const participants = normalizeParticipants(event.participantesIds);
+      const languages = normalizeLanguages(event.idiomasPermitidos);
+
+      return {
+        id: event.id?.toString() ?? `tmp-${Math.random().toString(36).slice(2)}`,
+        name: event.titulo ?? "Evento sin título",
+        location: event.lugar ?? "Ubicación por confirmar",
+        startDate: buildIsoDate(event.fecha, event.hora),
+        description: event.descripcion ?? "",
+        restrictions: event.edadMinima ? `Edad mínima: ${event.edadMinima} años` : "",
+        imageUrl: await chooseImageForTags(tags, DEFAULT_EVENT_IMAGE),
+        capacity:
+          typeof event.maxPersonas === "number" && !Number.isNaN(event.maxPersonas)
+            ? event.maxPersonas
+            : Math.max(countParticipants(event, participants), 10),
+        participants,
+        participantCount: countParticipants(event, participants),
+        languages: languages.length ? languages : ["es"],
+        tags,
+        isEnrolled:
+          !!currentUserId && (event.unido === true || participants.includes(currentUserId.toString())),
+      };
+    })
+  );
+
+  return { events, nextCursor: data.siguienteCursor ?? null };
+}
+
 export async function createEvent(eventData) {
   const config = getConfig();
   
@@ -265,8 +328,7 @@ export async function joinEvent(eventId) {
       errorLower.includes("ya") ||
       errorLower.includes("already") ||
       errorLower.includes("duplicate") ||
-      errorLower.includes("existe") ||
-      res.status === 409
+      errorLower.includes("existe")
     ) {
       throw new Error("Ya estás apuntado a este evento");
     }
@@ -342,8 +404,9 @@ export async function getUserEvents() {
         capacity:
           typeof event.maxPersonas === "number" && !Number.isNaN(event.maxPersonas)
             ? event.maxPersonas
-            : Math.max(participants.length, 10),
+            : Math.max(countParticipants(event, participants), 10),
         participants,
+        participantCount: countParticipants(event, participants),
         languages: normalizeLanguages(event.idiomasPermitidos),
         tags,
       };
@@ -390,8 +453,9 @@ export async function getMyCreatedEvents() {
         capacity:
           typeof event.maxPersonas === "number" && !Number.isNaN(event.maxPersonas)
             ? event.maxPersonas
-            : Math.max(participants.length, 10),
+            : Math.max(countParticipants(event, participants), 10),
         participants,
+        participantCount: countParticipants(event, participants),
         languages: normalizeLanguages(event.idiomasPermitidos),
         tags,
       };